@@ -1,14 +1,27 @@
 package iVenue;
 
+import iVenue.config.Diagnostics;
+import iVenue.config.IndexManager;
 import iVenue.config.MongoDb;
 import iVenue.models.User;
 import iVenue.models.Admin;
 import iVenue.models.Customer;
 import iVenue.models.VerifiedUser;
+import iVenue.repositories.Stores;
 import iVenue.repositories.UserStore;
+import iVenue.services.AmenityAdmin;
+import iVenue.services.BookingMigrator;
+import iVenue.services.BookingPipeline;
+import iVenue.services.IoExecutor;
+import iVenue.services.VenueAdmin;
+import iVenue.services.VenueMedia;
+import iVenue.services.WriteBehindQueue;
 import iVenue.ui.AdminDashboard;
 import iVenue.ui.CustomerDashboard;
 import iVenue.ui.CustomersPanel;
+import iVenue.ui.FxAsync;
+import iVenue.ui.FxStallMonitor;
+import iVenue.ui.ImagePipeline;
 
 import com.mongodb.client.MongoDatabase;
 import iVenue.ui.RegistrationsPanel;
@@ -22,17 +35,34 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+
 public class Main extends Application {
 
     private MongoDatabase db;
 
     @Override
     public void start(Stage stage) {
-        // Connect to MongoDB
-        System.out.println("Connecting to MongoDB...");
-        db = MongoDb.getDatabase();
-        System.out.println("MongoDB connected successfully.\n");
+        if (Stores.isInMemory()) {
+            System.out.println("Using the in-memory storage engine (no MongoDB connection).\n");
+        } else {
+            // Connect to MongoDB
+            System.out.println("Connecting to MongoDB...");
+            db = MongoDb.getDatabase();
+            MongoDb.warmUp();
+            System.out.println("MongoDB connected successfully.\n");
+            IndexManager.ensureIndexesAsync();
+        }
         UserStore.ensureAdminExists();
+        BookingMigrator.startAsync();
+        IoExecutor.executor().execute(VenueAdmin::backfillNameKeys);
+        // Venue photos are read as pre-scaled renditions from the media store
+        ImagePipeline.register(VenueMedia.SCHEME, (ref, w, h) -> {
+            byte[] jpeg = VenueMedia.read(ref, w, h);
+            if (jpeg == null) throw new FileNotFoundException(ref);
+            return new ByteArrayInputStream(jpeg);
+        });
 
         Label title = new Label("iVenue BOOKING SYSTEM");
         title.setFont(new Font("Arial", 32));
@@ -59,19 +89,20 @@ public class Main extends Application {
         root.setStyle("-fx-background-color: #D3D3D3; -fx-padding: 40px;");
 
         Scene scene = new Scene(root, 900, 600);
+        FxStallMonitor.install(scene);
         stage.setScene(scene);
         stage.setTitle("iVenue Booking System");
         stage.show();
         stage.setMaximized(true);
 
         // LOGIN BUTTON: choose Admin or Customer
-        loginBtn.setOnAction(e -> showLoginChoice(stage));
+        loginBtn.setOnAction(e -> showLoginChoice(stage, loginBtn));
 
         // REGISTER BUTTON: open customer registration UI
         registerBtn.setOnAction(e -> RegistrationsPanel.openRegistration(stage));
     }
 
-    private void showLoginChoice(Stage stage) {
+    private void showLoginChoice(Stage stage, Button loginBtn) {
         ChoiceDialog<String> dialog = new ChoiceDialog<>("Customer", "Admin", "Customer");
         dialog.setTitle("Login Type");
         dialog.setHeaderText("Choose login type:");
@@ -79,45 +110,64 @@ public class Main extends Application {
 
         dialog.showAndWait().ifPresent(type -> {
             VerifiedUser auth = new VerifiedUser();
-            User user;
-            try {
-                user = auth.loginGui(stage); // GUI login dialog
-            } catch (UnsupportedOperationException ex) {
-                Alert fallback = new Alert(Alert.AlertType.INFORMATION, "GUI login not implemented yet.");
-                fallback.initOwner(stage);
-                fallback.showAndWait();
-                return;
-            }
+            // GUI login dialog; the credential check itself runs off the FX thread
+            loginBtn.setDisable(true);
+            FxAsync.then(auth.loginGuiAsync(stage), user -> {
+                loginBtn.setDisable(false);
+                openDashboard(stage, type, user);
+            }, error -> {
+                loginBtn.setDisable(false);
+                FxAsync.showError("Login failed", error);
+            });
+        });
+    }
 
-            if (user == null) {
-                Alert alert = new Alert(Alert.AlertType.ERROR, "Invalid credentials.");
+    private void openDashboard(Stage stage, String type, User user) {
+        if (user == null) {
+            Alert alert = new Alert(Alert.AlertType.ERROR, "Invalid credentials.");
+            alert.initOwner(stage);
+            alert.showAndWait();
+            return;
+        }
+
+        Stage mainStage = stage; // reference to main login stage
+
+        if ("Admin".equalsIgnoreCase(type)) {
+            if (user instanceof Admin) {
+                AdminDashboard.display((Admin) user, mainStage);
+                mainStage.hide();
+            } else {
+                Alert alert = new Alert(Alert.AlertType.ERROR, "You are not an admin.");
                 alert.initOwner(stage);
                 alert.showAndWait();
-                return;
             }
-
-            Stage mainStage = stage; // reference to main login stage
-
-            if ("Admin".equalsIgnoreCase(type)) {
-                if (user instanceof Admin) {
-                    AdminDashboard.display((Admin) user, mainStage);
-                    mainStage.hide();
-                } else {
-                    Alert alert = new Alert(Alert.AlertType.ERROR, "You are not an admin.");
-                    alert.initOwner(stage);
-                    alert.showAndWait();
-                }
-            } else { // Customer
-                if (user instanceof Customer) {
-                    CustomerDashboard.display((Customer) user, mainStage);
-                    mainStage.hide();
-                } else {
-                    Alert alert = new Alert(Alert.AlertType.ERROR, "You are not a customer.");
-                    alert.initOwner(stage);
-                    alert.showAndWait();
-                }
+        } else { // Customer
+            if (user instanceof Customer) {
+                CustomerDashboard.display((Customer) user, mainStage);
+                mainStage.hide();
+            } else {
+                Alert alert = new Alert(Alert.AlertType.ERROR, "You are not a customer.");
+                alert.initOwner(stage);
+                alert.showAndWait();
             }
-        });
+        }
+    }
+
+    @Override
+    public void stop() {
+        // Drain in-flight background calls, then release pooled connections
+        IoExecutor.shutdown();
+        WriteBehindQueue.shutdownAll(5_000);
+        if (Diagnostics.ENABLED) {
+            Diagnostics.log(WriteBehindQueue.summaryAll());
+            Diagnostics.log(ImagePipeline.summary());
+            Diagnostics.log(FxStallMonitor.summary());
+            Diagnostics.log(String.valueOf(BookingPipeline.latency()));
+            Diagnostics.log(BookingMigrator.progress());
+            Diagnostics.log(String.valueOf(VenueAdmin.catalog()));
+            Diagnostics.log(String.valueOf(AmenityAdmin.catalog()));
+        }
+        MongoDb.close();
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,17 @@
+package iVenue.config;
+
+/**
+ * Switch for developer diagnostics (UI stall reports, index build stats, the exit summary).
+ * Off by default; run with -Divenue.debug=true to print them to stdout.
+ */
+public final class Diagnostics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("ivenue.debug");
+
+    private Diagnostics() {}
+
+    /** Print one diagnostic line when diagnostics are enabled. */
+    public static void log(String message) {
+        if (ENABLED) System.out.println(message);
+    }
+}
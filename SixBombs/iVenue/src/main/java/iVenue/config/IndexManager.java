@@ -0,0 +1,173 @@
+package iVenue.config;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declares the indexes every collection needs and creates the missing ones at startup.
+ * Also checks the query shapes the app issues and reports any that no index supports.
+ */
+public class IndexManager {
+
+    private static final Map<String, List<IndexSpec>> INDEXES = new LinkedHashMap<>();
+    private static final Map<String, List<List<String>>> QUERY_SHAPES = new LinkedHashMap<>();
+
+    static {
+        // ==============================
+        // Required indexes
+        // ==============================
+        index("venues", true, "venueId");
+        index("venues", false, "availability", "venueId");
+        index("venues", false, "nameKey", "venueId");
+        index("venues", false, "price", "venueId");
+        index("venues", false, "capacity", "venueId");
+
+        index("amenities", true, "amenityId");
+
+        index("users", true, "userId");
+        index("users", true, "username");
+        index("users", false, "userType");
+
+        index("bookings", true, "bookingId");
+        index("bookings", false, "venueId", "bookingStatus", "paymentStatus");
+        index("bookings", false, "userId", "paymentStatus");
+        index("bookings", false, "schemaVersion", "bookingId");
+
+        index("reservations", true, "key");
+        index("reservations", false, "venueId", "day");
+        index("reservations", false, "bookingId");
+        index("reservations", false, "day", "venueId");
+
+        index("venue_calendars", true, "key");
+        index("venue_calendars", false, "venueId", "year");
+
+        index("booking_history", false, "username", "type", "timestamp", "bookingId");
+
+        // ==============================
+        // Query shapes issued by services and panels (equality fields)
+        // ==============================
+        shape("venues", "venueId");
+        shape("venues", "venueId", "availability");
+        shape("venues", "price");
+        shape("venues", "availability");
+        shape("amenities", "amenityId");
+        shape("users", "userId");
+        shape("users", "userId", "userType");
+        shape("users", "username");
+        shape("users", "username", "password");
+        shape("users", "userType");
+        shape("bookings", "bookingId");
+        shape("bookings", "bookingId", "userId");
+        shape("bookings", "venueId");
+        shape("bookings", "venueId", "bookingStatus", "paymentStatus");
+        shape("bookings", "userId");
+        shape("bookings", "userId", "paymentStatus");
+        shape("reservations", "key");
+        shape("reservations", "venueId");
+        shape("reservations", "bookingId");
+        shape("venue_calendars", "key");
+        shape("venue_calendars", "venueId");
+        shape("booking_history", "username", "type");
+    }
+
+    private static void index(String collection, boolean unique, String... fields) {
+        INDEXES.computeIfAbsent(collection, c -> new ArrayList<>()).add(new IndexSpec(List.of(fields), unique));
+    }
+
+    private static void shape(String collection, String... fields) {
+        QUERY_SHAPES.computeIfAbsent(collection, c -> new ArrayList<>()).add(List.of(fields));
+    }
+
+    /** Create missing indexes on a background thread so startup is not held up. */
+    public static void ensureIndexesAsync() {
+        Thread t = new Thread(IndexManager::ensureIndexes, "index-bootstrap");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** Create every declared index that does not exist yet, then report unsupported query shapes. */
+    public static void ensureIndexes() {
+        MongoDatabase database = MongoDb.getDatabase();
+        Map<String, List<Document>> live = new LinkedHashMap<>();
+
+        for (Map.Entry<String, List<IndexSpec>> entry : INDEXES.entrySet()) {
+            MongoCollection<Document> collection = database.getCollection(entry.getKey());
+            List<Document> existing = collection.listIndexes().into(new ArrayList<>());
+            live.put(entry.getKey(), existing);
+
+            for (IndexSpec spec : entry.getValue()) {
+                if (hasIndex(existing, spec.keys())) continue;
+                try {
+                    collection.createIndex(spec.keys(), new IndexOptions().unique(spec.unique()).background(true));
+                    existing.add(new Document("key", spec.keys()));
+                    Diagnostics.log("Created index " + entry.getKey() + " " + spec.keys().toJson());
+                } catch (MongoException e) {
+                    // Typically duplicate values blocking a unique index; the app still works without it
+                    System.err.println("Could not create index " + entry.getKey() + " " + spec.keys().toJson()
+                            + ": " + e.getMessage());
+                }
+            }
+        }
+
+        for (String problem : verifyQueryShapes(database, live)) {
+            System.err.println("Unindexed query: " + problem);
+        }
+    }
+
+    /**
+     * Check every declared query shape against the indexes the server actually has (listIndexes),
+     * so an index that failed to build or was dropped shows up here.
+     * A shape is supported when an index's leading key is one of its equality fields.
+     *
+     * @return one description per unsupported shape (empty when all are covered)
+     */
+    public static List<String> verifyQueryShapes() {
+        return verifyQueryShapes(MongoDb.getDatabase(), new LinkedHashMap<>());
+    }
+
+    /** Same, reusing index lists already fetched per collection and fetching the rest. */
+    private static List<String> verifyQueryShapes(MongoDatabase database, Map<String, List<Document>> live) {
+        List<String> problems = new ArrayList<>();
+        for (Map.Entry<String, List<List<String>>> entry : QUERY_SHAPES.entrySet()) {
+            List<Document> indexes = live.computeIfAbsent(entry.getKey(),
+                    c -> database.getCollection(c).listIndexes().into(new ArrayList<>()));
+            for (List<String> fields : entry.getValue()) {
+                boolean supported = indexes.stream().anyMatch(i -> fields.contains(leadingKey(i)));
+                if (!supported) problems.add(entry.getKey() + " " + fields);
+            }
+        }
+        return problems;
+    }
+
+    private static String leadingKey(Document index) {
+        Document key = index.get("key", Document.class);
+        return key != null && !key.isEmpty() ? key.keySet().iterator().next() : null;
+    }
+
+    private static boolean hasIndex(List<Document> existing, Document keys) {
+        for (Document index : existing) {
+            Document key = index.get("key", Document.class);
+            if (key != null && new ArrayList<>(key.keySet()).equals(new ArrayList<>(keys.keySet()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** One declared index: ascending keys in order, optionally unique. */
+    private record IndexSpec(List<String> fields, boolean unique) {
+        Document keys() {
+            Document keys = new Document();
+            for (String f : fields) keys.append(f, 1);
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package iVenue.config;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.ConnectionPoolListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDB client profile loaded from mongodb.properties on the classpath.
+ * Every key can be overridden with a system property. The connection string holds the
+ * credentials, so it is not shipped: it comes from the IVENUE_MONGO_URI environment variable
+ * or the ivenue.mongo.uri system property.
+ */
+public class MongoSettings {
+
+    private static final String RESOURCE = "/mongodb.properties";
+
+    private final Properties props = new Properties();
+
+    public MongoSettings() {
+        try (InputStream in = MongoSettings.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) props.load(in);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Connection string from IVENUE_MONGO_URI or -Divenue.mongo.uri, or null when neither is set. */
+    public String getUri() {
+        String env = System.getenv("IVENUE_MONGO_URI");
+        if (env != null && !env.isBlank()) return env;
+        String uri = get("ivenue.mongo.uri", null);
+        return uri != null && !uri.isBlank() ? uri : null;
+    }
+
+    public String getDatabaseName() {
+        return get("ivenue.mongo.database", "iVenue");
+    }
+
+    public int getMinPoolSize() {
+        return getInt("ivenue.mongo.pool.minSize", 0);
+    }
+
+    /** Build driver settings for this profile, reporting pool events to the given listener. */
+    public MongoClientSettings toClientSettings(ConnectionPoolListener poolListener) {
+        String uri = getUri();
+        if (uri == null) {
+            throw new IllegalStateException("No MongoDB connection string configured: set the IVENUE_MONGO_URI "
+                    + "environment variable or the ivenue.mongo.uri system property "
+                    + "(or run with -Divenue.store=memory)");
+        }
+
+        return MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .applyToConnectionPoolSettings(pool -> pool
+                        .minSize(getMinPoolSize())
+                        .maxSize(getInt("ivenue.mongo.pool.maxSize", 100))
+                        .maxConnecting(getInt("ivenue.mongo.pool.maxConnecting", 2))
+                        .maxWaitTime(getInt("ivenue.mongo.pool.maxWaitMs", 120000), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(getInt("ivenue.mongo.pool.maxIdleMs", 0), TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(poolListener))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(getInt("ivenue.mongo.serverSelectionTimeoutMs", 30000), TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(getInt("ivenue.mongo.connectTimeoutMs", 10000), TimeUnit.MILLISECONDS)
+                        .readTimeout(getInt("ivenue.mongo.socketTimeoutMs", 0), TimeUnit.MILLISECONDS))
+                .build();
+    }
+
+    private String get(String key, String def) {
+        return System.getProperty(key, props.getProperty(key, def));
+    }
+
+    private int getInt(String key, int def) {
+        String value = get(key, null);
+        if (value == null) return def;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value + " (using " + def + ")");
+            return def;
+        }
+    }
+}
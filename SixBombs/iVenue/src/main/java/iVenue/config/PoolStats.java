@@ -0,0 +1,94 @@
+package iVenue.config;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection pool statistics collected from driver events.
+ * Used to size the pool (ivenue.mongo.pool.*) from real numbers.
+ */
+public class PoolStats implements ConnectionPoolListener {
+
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final AtomicInteger peakWaiting = new AtomicInteger();
+    private final AtomicLong checkouts = new AtomicLong();
+    private final AtomicLong checkoutFailures = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        open.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        open.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        peakWaiting.accumulateAndGet(waiting.incrementAndGet(), Math::max);
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        waiting.decrementAndGet();
+        checkouts.incrementAndGet();
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+
+        long wait = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        totalWaitNanos.addAndGet(wait);
+        maxWaitNanos.accumulateAndGet(wait, Math::max);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        waiting.decrementAndGet();
+        checkoutFailures.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        inUse.decrementAndGet();
+    }
+
+    // ==============================
+    // GETTERS
+    // ==============================
+    public int getOpenConnections() { return open.get(); }
+    public int getInUse() { return inUse.get(); }
+    public int getWaiting() { return waiting.get(); }
+    public int getPeakInUse() { return peakInUse.get(); }
+    public int getPeakWaiting() { return peakWaiting.get(); }
+    public long getCheckouts() { return checkouts.get(); }
+    public long getCheckoutFailures() { return checkoutFailures.get(); }
+
+    public double getAverageWaitMillis() {
+        long n = checkouts.get();
+        return n == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / n;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("open=%d inUse=%d (peak %d) waiting=%d (peak %d) checkouts=%d failures=%d wait avg=%.2fms max=%.2fms",
+                getOpenConnections(), getInUse(), getPeakInUse(), getWaiting(), getPeakWaiting(),
+                getCheckouts(), getCheckoutFailures(), getAverageWaitMillis(), getMaxWaitMillis());
+    }
+}
@@ -22,9 +22,12 @@ public class Admin extends User{
     private final CustomerAdmin customerAdmin;
 
     public Admin() {
-        super(VerifiedUser.loadAdminFromDb().getUsername(),
-                VerifiedUser.loadAdminFromDb().getPassword(),
-                VerifiedUser.loadAdminFromDb().getUserId());
+        this(VerifiedUser.loadAdminFromDb());
+    }
+
+    /** Load the admin row once, not once per field */
+    private Admin(VerifiedUser account) {
+        super(account.getUsername(), account.getPassword(), account.getUserId());
         this.bookingAdmin = new BookingAdmin();
         this.venueAdmin = new VenueAdmin();
         this.amenityAdmin = new AmenityAdmin();
@@ -43,10 +46,7 @@ public class Admin extends User{
     public boolean deleteUser(int userId) {
         // Call UserStore delete, return true if deleted
         if (userId <= 0) return false;
-        var doc = UserStore.getById(userId);
-        if (doc == null) return false; // user not found
-        UserStore.delete(userId); // void method
-        return true;
+        return UserStore.delete(userId); // false if user not found
     }
 
     // ==============================
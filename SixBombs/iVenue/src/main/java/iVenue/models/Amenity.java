@@ -1,10 +1,6 @@
 package iVenue.models;
 
-import com.mongodb.client.MongoCollection;
-import com.mongodb.client.MongoDatabase;
-import org.bson.Document;
-import iVenue.config.MongoDb;
-import java.util.ArrayList;
+import iVenue.services.AmenityAdmin;
 import java.util.List;
 
 public class Amenity {
@@ -23,6 +19,11 @@ public class Amenity {
         this.price = price;
     }
 
+    /** Copy of another amenity, e.g. of a cached catalog row. */
+    public Amenity(Amenity other) {
+        this(other.amenityId, other.name, other.description, other.quantity, other.price);
+    }
+
     // === Getters and Setters ===
     public int getAmenityId() { return amenityId; }
     public void setAmenityId(int amenityId) { this.amenityId = amenityId; }
@@ -37,37 +38,12 @@ public class Amenity {
 
     // === GUI-ready list of all amenities ===
     public static List<Amenity> listAmenities() {
-        List<Amenity> amenities = new ArrayList<>();
-        MongoDatabase database = MongoDb.getDatabase();
-        MongoCollection<Document> collection = database.getCollection("amenities");
-
-        for (Document doc : collection.find()) {
-            amenities.add(new Amenity(
-                    doc.getInteger("amenityId"),
-                    doc.getString("name"),
-                    doc.getString("description"),
-                    doc.getInteger("quantity"),
-                    doc.getDouble("price")
-            ));
-        }
-        return amenities;
+        return new AmenityAdmin().getAll();
     }
 
     // === Get single amenity by ID ===
     public static Amenity getAmenity(int amenityId) {
-        MongoDatabase database = MongoDb.getDatabase();
-        MongoCollection<Document> collection = database.getCollection("amenities");
-        Document doc = collection.find(new Document("amenityId", amenityId)).first();
-        if (doc != null) {
-            return new Amenity(
-                    doc.getInteger("amenityId"),
-                    doc.getString("name"),
-                    doc.getString("description"),
-                    doc.getInteger("quantity"),
-                    doc.getDouble("price")
-            );
-        }
-        return null;
+        return new AmenityAdmin().getById(amenityId);
     }
 
     // === Check availability by quantity ===
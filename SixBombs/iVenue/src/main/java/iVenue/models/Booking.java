@@ -1,14 +1,21 @@
 package iVenue.models;
 
-import iVenue.services.VenueAdmin;
-import iVenue.config.MongoDb;
+import iVenue.services.BookingCommand;
+import iVenue.services.BookingPipeline;
+import iVenue.services.ReservationEngine;
+import iVenue.repositories.BookingSchema;
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.Stores;
+import iVenue.repositories.codecs.BookingSummaryCodec;
+import iVenue.repositories.codecs.ModelCodecs;
 
-import com.mongodb.client.MongoCollection;
 import org.bson.Document;
 
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 
 public class Booking {
 
@@ -62,70 +69,20 @@ public class Booking {
     // ==============================
     public static Booking createBookingGUI(Customer customer, Venue venue,
                                            List<AmenitySelection> selectedAmenities,
-                                           String purpose, boolean payNow, boolean lockVenue) {
+                                           String purpose, boolean payNow) {
         if (customer == null || venue == null) return null;
 
-        MongoCollection<Document> collection = MongoDb.getDatabase().getCollection("bookings");
-
-        // Generate bookingId
-        int maxId = 0;
-        Document last = collection.find().sort(new Document("bookingId", -1)).first();
-        if (last != null) maxId = last.getInteger("bookingId");
-
-        // Map selected amenities to Document
-        LinkedList<Document> amenitiesDocs = new LinkedList<>();
-        if (selectedAmenities != null) {
-            for (AmenitySelection sel : selectedAmenities) {
-                amenitiesDocs.add(new Document("amenityId", sel.getAmenityId())
-                        .append("quantity", sel.getQuantity())
-                        .append("price", sel.getPrice() * sel.getQuantity()));
-            }
+        // Same pipeline as the booking form, dated today. Nothing is paid here: payNow only confirms
+        // the booking, payment is recorded later through payBookingGUI
+        try {
+            Booking booking = BookingPipeline.submit(new BookingCommand(customer, venue, LocalDate.now(),
+                    PaymentStatus.UNPAID, payNow ? BookingStatus.BOOKED : BookingStatus.PENDING, selectedAmenities, purpose));
+            bookings.add(booking);
+            return booking;
+        } catch (IllegalStateException e) {
+            // Venue already booked today
+            return null;
         }
-
-        PaymentStatus paymentStatus = payNow ? PaymentStatus.UNPAID : PaymentStatus.UNPAID;
-        BookingStatus bookingStatus = payNow ? BookingStatus.BOOKED : BookingStatus.PENDING;
-
-        // Lock venue if requested
-        MongoDb.getDatabase().getCollection("venues")
-                .updateOne(new Document("venueId", venue.getVenueId()),
-                        new Document("$set", new Document("availability", !lockVenue)));
-
-        // Build bookedBy document
-        Document userDoc = MongoDb.getDatabase().getCollection("users")
-                .find(new Document("userId", customer.getUserId())).first();
-
-        Document bookedBy = new Document("userId", customer.getUserId())
-                .append("username", customer.getUsername())
-                .append("firstName", userDoc != null ? userDoc.getString("firstName") : customer.getFirstName())
-                .append("lastName", userDoc != null ? userDoc.getString("lastName") : customer.getLastName())
-                .append("contactNumber", userDoc != null ? userDoc.getString("contactNumber") : customer.getContactNumber())
-                .append("email", userDoc != null ? userDoc.getString("email") : customer.getEmail());
-
-        // Insert booking document
-        Document bookingDoc = new Document("bookingId", maxId + 1)
-                .append("venueId", venue.getVenueId())
-                .append("venueName", venue.getName())
-                .append("userId", customer.getUserId())
-                .append("bookedBy", bookedBy)
-                .append("date", new Date().toString())
-                .append("paymentStatus", paymentStatus.name())
-                .append("bookingStatus", bookingStatus.name())
-                .append("purpose", purpose)
-                .append("amenities", amenitiesDocs)
-                .append("price", venue.getPrice())
-                .append("isFree", venue.isFree());
-
-        collection.insertOne(bookingDoc);
-
-        // Create Booking object
-        Booking booking = new Booking(maxId + 1, venue, new Date(),
-                paymentStatus, bookingStatus, purpose, customer.getUsername());
-
-        // Populate Amenity objects if needed
-        booking.setAmenities(new LinkedList<>());
-
-        bookings.add(booking);
-        return booking;
     }
 
     // ==============================
@@ -134,25 +91,12 @@ public class Booking {
     public static boolean cancelBookingGUI(Customer customer, int bookingId) {
         if (customer == null) return false;
 
-        MongoCollection<Document> collection = MongoDb.getDatabase().getCollection("bookings");
-        Document doc = collection.find(new Document("bookingId", bookingId)
-                .append("userId", customer.getUserId())).first();
+        // Remove from active bookings and free the reserved day(s) together; the removed doc feeds the history update
+        Document doc = ReservationEngine.deleteAndRelease(Stores.get("bookings"), new Document("bookingId", bookingId)
+                .append("userId", customer.getUserId()));
 
         if (doc == null) return false;
 
-        // Update booking status
-        collection.updateOne(
-                new Document("bookingId", bookingId),
-                new Document("$set", new Document("bookingStatus", BookingStatus.CANCELLED.name())
-                        .append("paymentStatus", PaymentStatus.CANCELLED.name()))
-        );
-
-        // Mark venue available
-        int venueId = doc.getInteger("venueId");
-        MongoDb.getDatabase().getCollection("venues")
-                .updateOne(new Document("venueId", venueId),
-                        new Document("$set", new Document("availability", true)));
-
         // Add to BookingHistory
         Booking snapshot = new Booking(
                 bookingId,
@@ -161,13 +105,10 @@ public class Booking {
                 PaymentStatus.CANCELLED,
                 BookingStatus.CANCELLED,
                 doc.getString("purpose"),
-                doc.get("bookedBy") instanceof Document bb ? bb.getString("username") : "N/A"
+                Objects.requireNonNullElse(BookingSchema.username(doc), "N/A")
         );
         BookingHistory.addDeleted(snapshot);
 
-        // Remove from active bookings
-        collection.deleteOne(new Document("bookingId", bookingId));
-
         return true;
     }
 
@@ -175,17 +116,14 @@ public class Booking {
     // PAY BOOKING (GUI-ready)
     // ==============================
     public static boolean payBookingGUI(Customer customer, int bookingId, boolean fullPayment) {
-        MongoCollection<Document> collection = MongoDb.getDatabase().getCollection("bookings");
-        Document doc = collection.find(new Document("bookingId", bookingId)
-                .append("userId", customer.getUserId())).first();
+        DocumentStore collection = Stores.get("bookings");
+        Document doc = BookingSchema.upcast(collection.findOne(new Document("bookingId", bookingId)
+                .append("userId", customer.getUserId())));
         if (doc == null) return false;
 
         if (PaymentStatus.PAID.name().equalsIgnoreCase(doc.getString("paymentStatus"))) return false;
 
         double total = 0;
-        int venueId = doc.getInteger("venueId");
-        VenueAdmin venueAdmin = new VenueAdmin();
-        Venue venue = venueAdmin.getById(venueId);
 
         if (doc.containsKey("amenities")) {
             List<Document> amenitiesList = doc.getList("amenities", Document.class);
@@ -209,22 +147,10 @@ public class Booking {
     // FINISH BOOKING (GUI-ready + history)
     // ==============================
     public static boolean finishBookingGUI(int bookingId) {
-        MongoCollection<Document> collection = MongoDb.getDatabase().getCollection("bookings");
-        Document doc = collection.find(new Document("bookingId", bookingId)).first();
+        // Remove from active bookings and free the reserved day(s) together; the removed doc feeds the history update
+        Document doc = ReservationEngine.deleteAndRelease(Stores.get("bookings"), new Document("bookingId", bookingId));
         if (doc == null) return false;
 
-        // Update status to FINISHED
-        collection.updateOne(
-                new Document("bookingId", bookingId),
-                new Document("$set", new Document("bookingStatus", BookingStatus.FINISHED.name()))
-        );
-
-        // Mark venue available
-        int venueId = doc.getInteger("venueId");
-        MongoDb.getDatabase().getCollection("venues")
-                .updateOne(new Document("venueId", venueId),
-                        new Document("$set", new Document("availability", true)));
-
         // Add to BookingHistory
         Booking snapshot = new Booking(
                 bookingId,
@@ -233,12 +159,9 @@ public class Booking {
                 PaymentStatus.valueOf(doc.getString("paymentStatus")),
                 BookingStatus.FINISHED,
                 doc.getString("purpose"),
-                doc.get("bookedBy") instanceof Document bb ? bb.getString("username") : "N/A"
+                Objects.requireNonNullElse(BookingSchema.username(doc), "N/A")
         );
         BookingHistory.addFinished(snapshot);
-
-        // Remove from active bookings
-        collection.deleteOne(new Document("bookingId", bookingId));
         return true;
     }
 
@@ -246,8 +169,15 @@ public class Booking {
     // VIEW BOOKINGS (returns data for GUI table)
     // ==============================
     public static List<Document> viewBookingsGUI(Customer customer) {
-        MongoCollection<Document> collection = MongoDb.getDatabase().getCollection("bookings");
-        return collection.find(new Document("userId", customer.getUserId())).into(new LinkedList<>());
+        DocumentStore collection = Stores.get("bookings");
+        return new LinkedList<>(collection.find(new Document("userId", customer.getUserId())));
+    }
+
+    /** Table rows for the customer's bookings, without the amenities and bookedBy sub-documents */
+    public static List<BookingSummary> viewBookingSummaries(Customer customer) {
+        DocumentStore collection = Stores.get("bookings");
+        return collection.find(new Document("userId", customer.getUserId()),
+                ModelCodecs.projection(BookingSummaryCodec.FIELDS), BookingSummary.class);
     }
 
     // ==============================
@@ -1,54 +1,64 @@
 package iVenue.models;
 
-import java.util.Queue;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
-import com.mongodb.client.MongoCollection;
 import org.bson.Document;
-import iVenue.config.MongoDb;
-
-
+import iVenue.repositories.BookingSchema;
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.Stores;
+import iVenue.repositories.codecs.ModelCodecs;
+import iVenue.services.Page;
+import iVenue.services.WriteBehindQueue;
+
+
+/**
+ * Finished and cancelled bookings, read straight from "booking_history".
+ *
+ * Customer reads are keyset pages on the (username, type, timestamp, bookingId) index, newest first,
+ * so a history screen costs one page however long the history is. The first page of each
+ * (customer, type) is kept in a small LRU (-Divenue.history.cachedCustomers, 0 disables it)
+ * that the customer's own writes invalidate once stored.
+ *
+ * Writes go through a WriteBehindQueue, so a new entry shows up in reads within one batch window
+ * (flush() waits for it).
+ */
 public class BookingHistory {
 
-    private static final Queue<Booking> finishedQueue = new LinkedList<>();
-    private static final Queue<Booking> deletedQueue = new LinkedList<>();
-    private static final MongoCollection<Document> collection = MongoDb.getDatabase().getCollection("booking_history");
+    public static final String FINISHED = "finished";
+    public static final String CANCELLED = "cancelled";
+    public static final int PAGE_SIZE = 50;
 
-    static {
-        loadHistory();
-    }
+    private static final int CACHED_CUSTOMERS = Integer.getInteger("ivenue.history.cachedCustomers", 256);
+    private static final Document NEWEST_FIRST = new Document("timestamp", -1).append("bookingId", -1);
 
-    private static void loadHistory() {
-        loadQueue(finishedQueue, "finished");
-        loadQueue(deletedQueue, "cancelled");
-    }
+    private static final DocumentStore collection = Stores.get("booking_history");
 
-    private static void loadQueue(Queue<Booking> queue, String type) {
-        for (Document doc : collection.find(new Document("type", type))) {
-            PaymentStatus ps = parsePaymentStatus(doc.getString("paymentStatus"));
-            BookingStatus bs = parseBookingStatus(doc.getString("bookingStatus"));
-            Booking b = new Booking(
-                    doc.getInteger("bookingId"),
-                    null,
-                    null,
-                    ps,
-                    bs,
-                    doc.getString("purpose"),
-                    doc.getString("username")
-            );
-            queue.offer(b);
-        }
-    }
+    /** "username|type" -> first page; bounded, least recently used entries go first */
+    private static final Map<String, Page<Booking>> FIRST_PAGES = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Page<Booking>> eldest) {
+                    return size() > CACHED_CUSTOMERS;
+                }
+            });
+    /** Bumped before each stored batch evicts its pages; a read that overlapped one does not cache its page */
+    private static final AtomicLong GENERATION = new AtomicLong();
 
-    private static PaymentStatus parsePaymentStatus(String s) {
-        if (s == null) return PaymentStatus.UNPAID;
-        for (PaymentStatus ps : PaymentStatus.values()) {
-            if (ps.name().equalsIgnoreCase(s)) return ps;
-        }
-        return PaymentStatus.UNPAID;
-    }
+    /** History is append-only: cancel/finish enqueue the record and return, the queue batches the inserts */
+    private static final WriteBehindQueue WRITER = new WriteBehindQueue(collection, WriteBehindQueue.DEFAULT_CAPACITY,
+            batch -> {
+                GENERATION.incrementAndGet();
+                batch.forEach(doc -> FIRST_PAGES.remove(cacheKey(doc.getString("username"), doc.getString("type"))));
+            });
+
+    /** Position after the last row of a page (newest-first order). */
+    public record Cursor(Date timestamp, int bookingId) {}
 
     private static BookingStatus parseBookingStatus(String s) {
         if (s == null) return BookingStatus.PENDING;
@@ -66,71 +76,128 @@ public class BookingHistory {
                 .append("bookingStatus", booking.getBookingStatus().name())
                 .append("purpose", booking.getPurpose())
                 .append("username", booking.getUsername())
-                .append("timestamp", new java.util.Date());
-        collection.insertOne(doc);
+                .append("timestamp", new Date());
+        WRITER.submit(doc);
     }
 
     // ==============================
     // Finished bookings
     // ==============================
-    public static synchronized void addFinished(Booking booking) {
-        if (booking == null) return;
-        finishedQueue.offer(booking);
-        writeHistory(booking, "finished");
+    public static void addFinished(Booking booking) {
+        writeHistory(booking, FINISHED);
     }
 
-    public static synchronized List<Booking> listFinishedByCustomer(Customer customer) {
+    public static List<Booking> listFinishedByCustomer(Customer customer) {
         if (customer == null) return new ArrayList<>();
-        List<Booking> result = new ArrayList<>();
-        for (Booking b : finishedQueue) {
-            if (b.getUsername() != null && b.getUsername().equals(customer.getUsername())) result.add(b);
-        }
-        return result;
-    }
-
-    public static synchronized List<Booking> listFinished() {
-        return new ArrayList<>(finishedQueue);
+        return listAll(customer.getUsername(), FINISHED);
     }
 
     // ==============================
     // Deleted / Cancelled bookings
     // ==============================
-    public static synchronized void addDeleted(Booking booking) {
-        if (booking == null) return;
-        deletedQueue.offer(booking);
-        writeHistory(booking, "cancelled");
+    public static void addDeleted(Booking booking) {
+        writeHistory(booking, CANCELLED);
     }
 
-    public static synchronized List<Booking> listDeletedByCustomer(Customer customer) {
+    public static List<Booking> listDeletedByCustomer(Customer customer) {
         if (customer == null) return new ArrayList<>();
-        List<Booking> result = new ArrayList<>();
-        for (Booking b : deletedQueue) {
-            if (b.getUsername() != null && b.getUsername().equals(customer.getUsername())) result.add(b);
+        return listAll(customer.getUsername(), CANCELLED);
+    }
+
+    /** Wait until every history record added so far is stored. */
+    public static void flush() {
+        WRITER.flush();
+    }
+
+    /** Queue depth, batches and flush latency of the history writer. */
+    public static WriteBehindQueue writer() {
+        return WRITER;
+    }
+
+    // ==============================
+    // Paged reads
+    // ==============================
+
+    /**
+     * One page of a customer's history of one type, newest first.
+     *
+     * @param afterKey null for the first page, otherwise the previous page's getNextKey()
+     */
+    public static Page<Booking> pageByCustomer(String username, String type, Object afterKey, int limit) {
+        if (username == null) return new Page<>(new ArrayList<>(), null, false);
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive");
+
+        boolean cacheable = afterKey == null && limit == PAGE_SIZE && CACHED_CUSTOMERS > 0;
+        long generation = GENERATION.get();
+        if (cacheable) {
+            Page<Booking> cached = FIRST_PAGES.get(cacheKey(username, type));
+            if (cached != null) return cached;
         }
+
+        Document filter = new Document("username", username).append("type", type);
+        if (afterKey instanceof Cursor c) {
+            filter = new Document("$and", List.of(filter, new Document("$or", List.of(
+                    new Document("timestamp", new Document("$lt", c.timestamp())),
+                    new Document("timestamp", c.timestamp()).append("bookingId", new Document("$lt", c.bookingId()))))));
+        }
+
+        // One extra row tells whether another page exists; rows stay documents until the cursor is read
+        List<Document> rows = collection.findSorted(filter, NEWEST_FIRST, limit + 1, Document.class);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) rows = rows.subList(0, limit);
+
+        List<Booking> items = new ArrayList<>(rows.size());
+        for (Document row : rows) items.add(ModelCodecs.decode(row, Booking.class));
+        Object nextKey = afterKey;
+        if (!rows.isEmpty()) {
+            Document last = rows.get(rows.size() - 1);
+            nextKey = new Cursor(last.getDate("timestamp"), last.getInteger("bookingId", 0));
+        }
+
+        Page<Booking> page = new Page<>(Collections.unmodifiableList(items), nextKey, hasMore);
+        if (cacheable) {
+            // A batch stored while we were reading may not be in these rows; its eviction already ran, so don't cache them
+            synchronized (FIRST_PAGES) {
+                if (GENERATION.get() == generation) FIRST_PAGES.put(cacheKey(username, type), page);
+            }
+        }
+        return page;
+    }
+
+    /** Whole history of one type for a customer, walked page by page (indexed; never the whole collection). */
+    private static List<Booking> listAll(String username, String type) {
+        List<Booking> result = new ArrayList<>();
+        Object key = null;
+        Page<Booking> page;
+        do {
+            page = pageByCustomer(username, type, key, PAGE_SIZE);
+            result.addAll(page.getItems());
+            key = page.getNextKey();
+        } while (page.hasMore());
         return result;
     }
 
-    public static synchronized List<Booking> listDeleted() {
-        return new ArrayList<>(deletedQueue);
+    private static String cacheKey(String username, String type) {
+        return username + "|" + type;
     }
 
     // ==============================
     // Unpaid / Downpayment bookings from active bookings collection
     // ==============================
-    public static synchronized List<Booking> listUnpaidFromBookings(Customer customer) {
+    public static List<Booking> listUnpaidFromBookings(Customer customer) {
         if (customer == null) return new ArrayList<>();
         return getBookingsByPaymentStatus(customer.getUserId(), PaymentStatus.UNPAID);
     }
 
-    public static synchronized List<Booking> listDownPaymentsFromBookings(Customer customer) {
+    public static List<Booking> listDownPaymentsFromBookings(Customer customer) {
         if (customer == null) return new ArrayList<>();
         List<Booking> result = new ArrayList<>();
-        MongoCollection<Document> coll = MongoDb.getDatabase().getCollection("bookings");
+        DocumentStore coll = Stores.get("bookings");
         for (Document doc : coll.find(new Document("userId", customer.getUserId()))) {
             if (doc.containsKey("downPayment") || doc.containsKey("partialPaid")) {
                 Integer id = doc.getInteger("bookingId");
                 String purpose = doc.getString("purpose");
-                String uname = extractUsername(doc);
+                String uname = BookingSchema.username(doc);
                 BookingStatus bs = parseBookingStatus(doc.getString("bookingStatus"));
                 Booking b = new Booking(id != null ? id : 0, null, null, PaymentStatus.DOWNPAID, bs, purpose, uname);
                 result.add(b);
@@ -141,11 +208,11 @@ public class BookingHistory {
 
     private static List<Booking> getBookingsByPaymentStatus(int userId, PaymentStatus status) {
         List<Booking> result = new ArrayList<>();
-        MongoCollection<Document> coll = MongoDb.getDatabase().getCollection("bookings");
+        DocumentStore coll = Stores.get("bookings");
         for (Document doc : coll.find(new Document("userId", userId).append("paymentStatus", status.name()))) {
             Integer id = doc.getInteger("bookingId");
             String purpose = doc.getString("purpose");
-            String uname = extractUsername(doc);
+            String uname = BookingSchema.username(doc);
             BookingStatus bs = parseBookingStatus(doc.getString("bookingStatus"));
             Booking b = new Booking(id != null ? id : 0, null, null, status, bs, purpose, uname);
             result.add(b);
@@ -153,17 +220,10 @@ public class BookingHistory {
         return result;
     }
 
-    private static String extractUsername(Document doc) {
-        if (doc.containsKey("bookedBy") && doc.get("bookedBy") instanceof Document bb) {
-            return bb.getString("username");
-        }
-        return null;
-    }
-
     // ==============================
     // GUI-ready combined methods
     // ==============================
-    public static synchronized List<Booking> listAllFinishedAndDeleted(Customer customer) {
+    public static List<Booking> listAllFinishedAndDeleted(Customer customer) {
         List<Booking> combined = new ArrayList<>();
         combined.addAll(listFinishedByCustomer(customer));
         combined.addAll(listDeletedByCustomer(customer));
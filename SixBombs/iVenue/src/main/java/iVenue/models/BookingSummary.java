@@ -0,0 +1,31 @@
+package iVenue.models;
+
+/**
+ * Lightweight booking row for the "My Bookings" table.
+ * Leaves out the embedded amenities and bookedBy sub-documents.
+ */
+public class BookingSummary {
+    private final int bookingId;
+    private final int venueId;
+    private final String venueName;
+    private final String purpose;
+    private final BookingStatus bookingStatus;
+    private final PaymentStatus paymentStatus;
+
+    public BookingSummary(int bookingId, int venueId, String venueName, String purpose,
+                          BookingStatus bookingStatus, PaymentStatus paymentStatus) {
+        this.bookingId = bookingId;
+        this.venueId = venueId;
+        this.venueName = venueName;
+        this.purpose = purpose;
+        this.bookingStatus = bookingStatus;
+        this.paymentStatus = paymentStatus;
+    }
+
+    public int getBookingId() { return bookingId; }
+    public int getVenueId() { return venueId; }
+    public String getVenueName() { return venueName; }
+    public String getPurpose() { return purpose; }
+    public BookingStatus getBookingStatus() { return bookingStatus; }
+    public PaymentStatus getPaymentStatus() { return paymentStatus; }
+}
@@ -1,12 +1,18 @@
 package iVenue.models;
+import iVenue.services.BatchLoader;
 import iVenue.services.VenueAdmin;
 
 
-import iVenue.config.MongoDb;
+import iVenue.repositories.BookingSchema;
+import iVenue.repositories.Stores;
 import iVenue.repositories.UserStore;
 import org.bson.Document;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Customer extends User implements Payment {
     private String firstName;
@@ -51,8 +57,8 @@ public class Customer extends User implements Payment {
     // CUSTOMER ACTIONS (GUI)
     // ==============================
     public Booking createBooking(Venue venue, List<Booking.AmenitySelection> selectedAmenities,
-                                 String purpose, boolean payNow, boolean lockVenue) {
-        return Booking.createBookingGUI(this, venue, selectedAmenities, purpose, payNow, lockVenue);
+                                 String purpose, boolean payNow) {
+        return Booking.createBookingGUI(this, venue, selectedAmenities, purpose, payNow);
     }
 
     public boolean cancelBooking(int bookingId) {
@@ -100,17 +106,7 @@ public class Customer extends User implements Payment {
         if (username != null && !username.isEmpty()) customer.setUsername(username);
         if (password != null && password.length() >= 6) customer.setPassword(password);
 
-        Document updates = new Document()
-                .append("firstName", customer.getFirstName())
-                .append("lastName", customer.getLastName())
-                .append("contactNumber", customer.getContactNumber())
-                .append("email", customer.getEmail())
-                .append("username", customer.getUsername())
-                .append("password", customer.getPassword());
-
-        MongoDb.getDatabase().getCollection("users")
-                .updateOne(new Document("userId", customer.getUserId()),
-                        new Document("$set", updates));
+        UserStore.updateCustomer(customer);
     }
 
     // ==============================
@@ -118,16 +114,39 @@ public class Customer extends User implements Payment {
     // ==============================
     @Override
     public double calculatePayment(int bookingId) {
-        var collection = MongoDb.getDatabase().getCollection("bookings");
-        var doc = collection.find(new Document("bookingId", bookingId)).first();
+        var collection = Stores.get("bookings");
+        var doc = collection.findOne(new Document("bookingId", bookingId));
         if (doc == null) return 0;
+        return calculatePayment(doc, new VenueAdmin().loader());
+    }
+
+    /**
+     * Totals for many bookings at once: one query for the bookings and one for their venues.
+     */
+    public Map<Integer, Double> calculatePayments(Collection<Integer> bookingIds) {
+        Map<Integer, Double> totals = new LinkedHashMap<>();
+        if (bookingIds == null || bookingIds.isEmpty()) return totals;
+
+        List<Document> docs = Stores.get("bookings")
+                .find(new Document("bookingId", new Document("$in", new ArrayList<>(bookingIds))));
+
+        BatchLoader<Venue> venues = new VenueAdmin().loader();
+        for (Document doc : docs) {
+            if (doc.get("venueId") instanceof Integer venueId) venues.queue(venueId);
+        }
+        for (Document doc : docs) {
+            totals.put(doc.getInteger("bookingId"), calculatePayment(doc, venues));
+        }
+        return totals;
+    }
 
+    private double calculatePayment(Document raw, BatchLoader<Venue> venues) {
+        Document doc = BookingSchema.upcast(raw);
         double total = 0;
 
         Integer venueId = doc.getInteger("venueId");
         if (venueId != null) {
-            VenueAdmin venueAdmin = new VenueAdmin();
-            Venue v = venueAdmin.getById(venueId);
+            Venue v = venues.load(venueId);
             if (v != null) total += v.getPrice();
         }
 
@@ -1,11 +1,8 @@
 package iVenue.models;
 
-import com.mongodb.client.MongoCollection;
-import iVenue.config.MongoDb;
-import org.bson.Document;
+import iVenue.services.ReservationEngine;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,6 +15,8 @@ public class Venue {
     private String location;
     private double price;
     private boolean isFree;
+    /** Where the venue's photo is (file path, URL or stored image reference); null for none */
+    private String imageRef;
 
     public Venue(int venueId, String name, String description, int capacity, boolean availability, String location, double price) {
         this.venueId = venueId;
@@ -30,6 +29,19 @@ public class Venue {
         this.isFree = (this.price == 0);
     }
 
+    /** Copy of another venue, e.g. of a cached catalog row. */
+    public Venue(Venue other) {
+        this.venueId = other.venueId;
+        this.name = other.name;
+        this.description = other.description;
+        this.capacity = other.capacity;
+        this.availability = other.availability;
+        this.location = other.location;
+        this.price = other.price;
+        this.isFree = other.isFree;
+        this.imageRef = other.imageRef;
+    }
+
     // ================= Getters & Setters =================
     public int getVenueId() { return venueId; }
     public void setVenueId(int venueId) { this.venueId = venueId; }
@@ -57,24 +69,15 @@ public class Venue {
 
     public String getPriceLabel() { return (price == 0) ? "FREE" : "₱" + price; }
 
+    public String getImageRef() { return imageRef; }
+    public void setImageRef(String imageRef) { this.imageRef = imageRef; }
+
     // ================= MongoDB Helper Methods =================
 
     /**
-     * Fetch booked dates for this venue from the bookings collection.
-     * Returns a List of LocalDate.
+     * Reserved days of this venue, in order (see ReservationEngine).
      */
     public List<LocalDate> getBookedDates() {
-        List<LocalDate> bookedDates = new ArrayList<>();
-        MongoCollection<Document> collection = MongoDb.getDatabase().getCollection("bookings");
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-        for (Document doc : collection.find(new Document("venueId", this.venueId))) {
-            if (doc.containsKey("date")) {
-                String dateStr = doc.getString("date").split(" ")[0]; // yyyy-MM-dd
-                bookedDates.add(LocalDate.parse(dateStr, formatter));
-            }
-        }
-
-        return bookedDates;
+        return new ArrayList<>(ReservationEngine.bookedDays(venueId, LocalDate.MIN, LocalDate.MAX));
     }
 }
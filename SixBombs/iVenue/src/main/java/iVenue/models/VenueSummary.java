@@ -0,0 +1,31 @@
+package iVenue.models;
+
+/**
+ * Lightweight venue row for card and carousel screens: only the fields they display.
+ * Fetch the full Venue by ID when the user opens one.
+ */
+public class VenueSummary {
+    private final int venueId;
+    private final String name;
+    private final double price;
+    private final String imageRef;
+
+    public VenueSummary(int venueId, String name, double price) {
+        this(venueId, name, price, null);
+    }
+
+    public VenueSummary(int venueId, String name, double price, String imageRef) {
+        this.venueId = venueId;
+        this.name = name;
+        this.price = Math.max(price, 0);
+        this.imageRef = imageRef;
+    }
+
+    public int getVenueId() { return venueId; }
+    public String getName() { return name; }
+    public double getPrice() { return price; }
+    public String getImageRef() { return imageRef; }
+    public boolean isFree() { return price == 0; }
+
+    public String getPriceLabel() { return isFree() ? "FREE" : "₱" + price; }
+}
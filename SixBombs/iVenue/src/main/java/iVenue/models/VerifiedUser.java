@@ -1,13 +1,18 @@
 package iVenue.models;
 
 import iVenue.repositories.UserStore;
-import iVenue.config.MongoDb;
-import com.mongodb.client.MongoCollection;
+import iVenue.services.AsyncUsers;
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.Stores;
 import org.bson.Document;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import javafx.stage.Stage;
+import javafx.util.Pair;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * VerifiedUser handles authentication for admins and other non-customer users.
@@ -27,8 +32,8 @@ public class VerifiedUser extends User {
      * Loads the default admin from MongoDB.
      */
     public static VerifiedUser loadAdminFromDb() {
-        MongoCollection<Document> collection = MongoDb.getDatabase().getCollection("users");
-        Document doc = collection.find(new Document("userType", "admin")).first();
+        DocumentStore collection = Stores.get("users");
+        Document doc = collection.findOne(new Document("userType", "admin"));
         if (doc == null) return null;
 
         String username = doc.getString("username");
@@ -42,7 +47,24 @@ public class VerifiedUser extends User {
      * Shows a GUI login dialog and returns the authenticated User (Admin or Customer) or null.
      */
     public User loginGui(Stage owner) {
-        Dialog<User> dialog = new Dialog<>();
+        return askCredentials(owner)
+                .map(c -> UserStore.findByCredentials(c.getKey(), c.getValue()))
+                .orElse(null);
+    }
+
+    /**
+     * Same dialog, but the credential check runs on the I/O pool so the FX thread never waits on it.
+     * Completes with null when the dialog is cancelled or the credentials are wrong.
+     */
+    public CompletableFuture<User> loginGuiAsync(Stage owner) {
+        return askCredentials(owner)
+                .map(c -> AsyncUsers.findByCredentials(c.getKey(), c.getValue()))
+                .orElse(CompletableFuture.completedFuture(null));
+    }
+
+    /** Username/password dialog; empty when cancelled. */
+    private Optional<Pair<String, String>> askCredentials(Stage owner) {
+        Dialog<Pair<String, String>> dialog = new Dialog<>();
         dialog.initOwner(owner);
         dialog.setTitle("Login");
         dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
@@ -66,14 +88,11 @@ public class VerifiedUser extends User {
 
         dialog.setResultConverter(button -> {
             if (button == ButtonType.OK) {
-                return UserStore.findByCredentials(
-                        usernameField.getText().trim(),
-                        passwordField.getText()
-                );
+                return new Pair<>(usernameField.getText().trim(), passwordField.getText());
             }
             return null;
         });
 
-        return dialog.showAndWait().orElse(null);
+        return dialog.showAndWait();
     }
 }
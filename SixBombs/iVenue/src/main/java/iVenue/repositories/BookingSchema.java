@@ -0,0 +1,147 @@
+package iVenue.repositories;
+
+import org.bson.Document;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Versioned shape of "bookings" documents.
+ *
+ * Version 2 (current, written by every writer):
+ *   date                 BSON Date at 00:00 UTC of the booked day
+ *   bookedBy             sub-document with at least "username"
+ *   price, total, amountPaid, amenities[].price   doubles; amenities[].quantity int
+ *   schemaVersion        2
+ * Version 1 is everything older (no schemaVersion): date as Date.toString() text, "yyyy-MM-dd..."
+ * text or a Date at local midnight, bookedBy as a plain username, numbers of any numeric type.
+ *
+ * Readers of raw documents call upcast() and only ever see the current shape;
+ * BookingMigrator rewrites the stored documents in the background with the same upcasters.
+ */
+public final class BookingSchema {
+
+    public static final int CURRENT_VERSION = 2;
+
+    /** from-version -> step to the next version; steps receive a copy they may change */
+    private static final Map<Integer, UnaryOperator<Document>> UPCASTERS = Map.of(
+            1, BookingSchema::v1ToV2);
+
+    /** Month, day and year picked out of Date.toString() text ("EEE MMM dd HH:mm:ss zzz yyyy") */
+    private static final DateTimeFormatter DATE_TO_STRING = DateTimeFormatter.ofPattern("MMM d yyyy", Locale.ENGLISH);
+
+    private BookingSchema() {}
+
+    // ==============================
+    // UPCASTING
+    // ==============================
+    public static int versionOf(Document doc) {
+        return doc.get("schemaVersion") instanceof Number n ? n.intValue() : 1;
+    }
+
+    /** The document in the current shape: the input itself when already current, otherwise an upcast copy. */
+    public static Document upcast(Document doc) {
+        if (doc == null) return null;
+        Document out = doc;
+        for (int v = versionOf(doc); v < CURRENT_VERSION; v++) {
+            out = UPCASTERS.get(v).apply(new Document(out));
+        }
+        return out;
+    }
+
+    private static Document v1ToV2(Document doc) {
+        Object rawDate = doc.get("date");
+        LocalDate day = legacyDay(rawDate);
+        if (day != null) {
+            doc.put("date", toStoredDay(day));
+        } else if (rawDate != null) {
+            // Unreadable: keep the original text out of the way of date queries
+            doc.remove("date");
+            doc.put("legacyDate", rawDate.toString());
+        }
+
+        if (doc.get("bookedBy") instanceof String username) doc.put("bookedBy", new Document("username", username));
+
+        for (String field : List.of("price", "total", "amountPaid")) {
+            if (doc.containsKey(field)) doc.put(field, toDouble(doc.get(field)));
+        }
+
+        if (doc.get("amenities") instanceof List<?> amenities) {
+            List<Document> normalized = new ArrayList<>();
+            for (Object a : amenities) {
+                if (!(a instanceof Document amenity)) continue;
+                Document copy = new Document(amenity);
+                copy.put("price", toDouble(amenity.get("price")));
+                if (amenity.containsKey("quantity")) copy.put("quantity", (int) toDouble(amenity.get("quantity")));
+                normalized.add(copy);
+            }
+            doc.put("amenities", normalized);
+        }
+
+        doc.put("schemaVersion", 2);
+        return doc;
+    }
+
+    /** Version 1 dates: Dates were written at local midnight, text in one of two formats. */
+    private static LocalDate legacyDay(Object value) {
+        if (value instanceof Date date) return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        if (value instanceof String s) return parseLegacyDay(s);
+        return null;
+    }
+
+    private static LocalDate parseLegacyDay(String s) {
+        try {
+            if (s.length() >= 10 && Character.isDigit(s.charAt(0))) return LocalDate.parse(s.substring(0, 10));
+            // The zone abbreviation is ambiguous and not needed: the text already is the writer's local day
+            String[] parts = s.trim().split("\\s+");
+            if (parts.length != 6) return null;
+            return LocalDate.parse(parts[1] + " " + parts[2] + " " + parts[5], DATE_TO_STRING);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number n) return n.doubleValue();
+        if (value instanceof String s) {
+            try {
+                return Double.parseDouble(s.trim());
+            } catch (NumberFormatException ignored) {}
+        }
+        return 0;
+    }
+
+    // ==============================
+    // CURRENT-SHAPE HELPERS
+    // ==============================
+
+    /** Stored form of a booked day: 00:00 UTC, so every reader gets the same day back. */
+    public static Date toStoredDay(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    /** Booked day of a raw booking document of any version, or null. */
+    public static LocalDate bookingDay(Document doc) {
+        Object date = upcast(doc).get("date");
+        return date instanceof Date d ? d.toInstant().atZone(ZoneOffset.UTC).toLocalDate() : null;
+    }
+
+    /** Username of whoever made the booking (any version), or null. */
+    public static String username(Document doc) {
+        return upcast(doc).get("bookedBy") instanceof Document bookedBy ? bookedBy.getString("username") : null;
+    }
+
+    /** Version 1 text date as the stored Date of that day (for codecs reading legacy rows), or null. */
+    public static Date parseLegacyDate(String text) {
+        LocalDate day = parseLegacyDay(text);
+        return day != null ? toStoredDay(day) : null;
+    }
+}
@@ -0,0 +1,22 @@
+package iVenue.repositories;
+
+/**
+ * Named monotonic counters backing IdAllocator.
+ */
+public interface CounterStore {
+
+    /**
+     * Atomically add delta to the counter (creating it at 0 first) and return the new value.
+     */
+    long increment(String name, long delta);
+
+    /**
+     * Raise the counter to at least the given value; never lowers it.
+     */
+    void raiseTo(String name, long value);
+
+    /**
+     * Current value of the counter without changing it, or 0 if it was never created.
+     */
+    long current(String name);
+}
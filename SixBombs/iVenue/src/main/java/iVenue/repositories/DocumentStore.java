@@ -0,0 +1,110 @@
+package iVenue.repositories;
+
+import org.bson.Document;
+
+import java.util.List;
+
+/**
+ * Storage SPI for one collection of documents.
+ * Services and model helpers go through this instead of MongoCollection so the
+ * booking logic can run against MongoDB or the in-memory engine (see Stores).
+ *
+ * Filters are MongoDB-style documents. Every engine supports field equality
+ * (dotted paths allowed) and the $in, $nin, $ne, $gt, $gte, $lt, $lte and $exists operators.
+ * Updates support $set, $unset, $inc and $bit (and/or/xor on long fields). Typed reads decode through ModelCodecs.
+ */
+public interface DocumentStore {
+
+    /**
+     * Collection name.
+     */
+    String getName();
+
+    /**
+     * Insert one document.
+     *
+     * @throws DuplicateKeyException if a unique field already holds the same value
+     */
+    void insert(Document doc);
+
+    /**
+     * Insert several documents in one round trip. Unordered: a document that fails does not stop the others.
+     *
+     * @throws DuplicateKeyException if every failure was a collision on a unique field (the rest are inserted)
+     */
+    void insertMany(List<Document> docs);
+
+    /**
+     * First document matching the filter, or null.
+     */
+    Document findOne(Document filter);
+
+    /**
+     * All documents matching the filter (an empty filter matches everything).
+     */
+    List<Document> find(Document filter);
+
+    /**
+     * First matching document decoded as a model type registered in ModelCodecs, or null.
+     */
+    <T> T findOne(Document filter, Class<T> type);
+
+    /**
+     * All matching documents decoded as a model type registered in ModelCodecs.
+     */
+    <T> List<T> find(Document filter, Class<T> type);
+
+    /**
+     * Matching documents with only the projected fields transferred, decoded as a model type.
+     * Projections are inclusion lists ({ field: 1 }), optionally with { _id: 0 }.
+     */
+    <T> List<T> find(Document filter, Document projection, Class<T> type);
+
+    /**
+     * Matching documents ordered by the sort spec ({ field: 1 | -1, ... }), at most limit of them,
+     * decoded as a model type. Backs keyset pagination: callers put the "after" bound in the filter.
+     */
+    <T> List<T> findSorted(Document filter, Document sort, int limit, Class<T> type);
+
+    /** Same as findSorted, returning only the fields in the projection (see ModelCodecs.projection). */
+    <T> List<T> findSorted(Document filter, Document projection, Document sort, int limit, Class<T> type);
+
+    /**
+     * Apply an update to the first matching document.
+     *
+     * @return number of matched documents (0 or 1)
+     */
+    long updateOne(Document filter, Document update);
+
+    /**
+     * Delete the first matching document.
+     *
+     * @return number of deleted documents (0 or 1)
+     */
+    long deleteOne(Document filter);
+
+    /**
+     * Delete every matching document.
+     *
+     * @return number of deleted documents
+     */
+    long deleteMany(Document filter);
+
+    /**
+     * Apply an update to the first matching document and return it in one round trip.
+     *
+     * @param returnUpdated true for the document after the update, false for the one before
+     * @return the document, or null when nothing matched
+     */
+    Document findOneAndUpdate(Document filter, Document update, boolean returnUpdated);
+
+    /**
+     * Delete the first matching document and return it in one round trip, or null when nothing matched.
+     */
+    Document findOneAndDelete(Document filter);
+
+    /**
+     * Highest integer value of a field across the collection, or 0 when empty.
+     */
+    int maxInt(String field);
+}
@@ -0,0 +1,17 @@
+package iVenue.repositories;
+
+/**
+ * Thrown by a DocumentStore when a write would break a unique field
+ * (username, or one of the entity ID fields).
+ */
+public class DuplicateKeyException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateKeyException(String message) {
+        super(message);
+    }
+
+    public DuplicateKeyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
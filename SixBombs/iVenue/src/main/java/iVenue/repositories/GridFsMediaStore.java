@@ -0,0 +1,49 @@
+package iVenue.repositories;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.model.GridFSDownloadOptions;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import org.bson.Document;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Media kept in a GridFS bucket ({bucket}.files / {bucket}.chunks); the file name is the lookup key.
+ * GridFS creates its filename index itself on the first upload.
+ */
+public class GridFsMediaStore implements MediaStore {
+
+    private final GridFSBucket bucket;
+
+    public GridFsMediaStore(MongoDatabase database, String bucketName) {
+        this.bucket = GridFSBuckets.create(database, bucketName);
+    }
+
+    @Override
+    public void put(String name, byte[] data, Document metadata) {
+        // Two clients storing the same content at once leave two revisions of identical bytes; reads take the newest
+        if (exists(name)) return;
+        bucket.uploadFromStream(name, new ByteArrayInputStream(data), new GridFSUploadOptions().metadata(metadata));
+    }
+
+    @Override
+    public byte[] get(String name) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            bucket.downloadToStream(name, out, new GridFSDownloadOptions().revision(-1));
+        } catch (MongoGridFSException e) {
+            // No file with that name
+            return null;
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public boolean exists(String name) {
+        return bucket.find(new Document("filename", name)).limit(1).first() != null;
+    }
+}
@@ -0,0 +1,78 @@
+package iVenue.repositories;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out unique integer IDs (venueId, amenityId, bookingId, userId).
+ *
+ * Each JVM reserves a block of IDs at a time from the counter store
+ * ("counters" collection in MongoDB), hi/lo style, so most inserts need no extra
+ * round trip and two clients booking at the same time never receive the same ID.
+ */
+public class IdAllocator {
+
+    static final int BLOCK_SIZE = 20;
+    private static final Map<String, Counter> COUNTER_BY_COLLECTION = new ConcurrentHashMap<>();
+
+    /** Next free ID for the given collection and its integer ID field. */
+    public static int next(String collection, String idField) {
+        return COUNTER_BY_COLLECTION
+                .computeIfAbsent(collection, c -> new Counter(c, idField))
+                .next();
+    }
+
+    // ==============================
+    // Per-collection counter
+    // ==============================
+    private static final class Counter {
+        private final String collection;
+        private final String idField;
+        private volatile Block block = new Block(1, 0); // empty, forces the first reservation
+        private boolean seeded;
+
+        Counter(String collection, String idField) {
+            this.collection = collection;
+            this.idField = idField;
+        }
+
+        int next() {
+            while (true) {
+                Block current = block;
+                int id = current.next.getAndIncrement();
+                if (id <= current.hi) return id;
+
+                // Block exhausted: only one thread reserves the next one, the rest retry on it
+                synchronized (this) {
+                    if (block == current) block = reserve();
+                }
+            }
+        }
+
+        private Block reserve() {
+            if (!seeded) {
+                seedFromExistingIds();
+                seeded = true;
+            }
+            int hi = (int) Stores.counters().increment(collection, BLOCK_SIZE);
+            return new Block(hi - BLOCK_SIZE + 1, hi);
+        }
+
+        /** Make sure the counter starts above IDs written before the counters collection existed. */
+        private void seedFromExistingIds() {
+            Stores.counters().raiseTo(collection, Stores.get(collection).maxInt(idField));
+        }
+    }
+
+    /** A reserved range of IDs [next, hi] owned by this JVM. */
+    private static final class Block {
+        private final AtomicInteger next;
+        private final int hi;
+
+        Block(int lo, int hi) {
+            this.next = new AtomicInteger(lo);
+            this.hi = hi;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package iVenue.repositories;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters held in process memory, for the in-memory storage engine.
+ */
+public class InMemoryCounterStore implements CounterStore {
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public long increment(String name, long delta) {
+        return counter(name).addAndGet(delta);
+    }
+
+    @Override
+    public void raiseTo(String name, long value) {
+        counter(name).accumulateAndGet(value, Math::max);
+    }
+
+    @Override
+    public long current(String name) {
+        AtomicLong counter = counters.get(name);
+        return counter != null ? counter.get() : 0;
+    }
+
+    private AtomicLong counter(String name) {
+        return counters.computeIfAbsent(name, n -> new AtomicLong());
+    }
+}
@@ -0,0 +1,547 @@
+package iVenue.repositories;
+
+import iVenue.repositories.codecs.ModelCodecs;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Fast in-process DocumentStore used for benchmarks and for running the app without a cluster.
+ *
+ * Rows are kept in insertion order under an int row id. Unique and indexed fields get a
+ * secondary index (value -> row ids) that equality and $in filters use to avoid full scans.
+ * Reads are lock-free; writes are serialized per store so unique checks and index updates stay atomic.
+ */
+public class InMemoryDocumentStore implements DocumentStore {
+
+    private final String name;
+    private final List<String> uniqueFields;
+    private final NavigableMap<Integer, Document> rows = new ConcurrentSkipListMap<>();
+    private final Map<String, Map<Object, NavigableSet<Integer>>> indexes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextRowId = new AtomicInteger();
+    private final Object writeLock = new Object();
+
+    /**
+     * @param name          collection name
+     * @param uniqueFields  fields that must be unique (also indexed)
+     * @param indexedFields extra fields to index for equality lookups
+     */
+    public InMemoryDocumentStore(String name, List<String> uniqueFields, List<String> indexedFields) {
+        this.name = name;
+        this.uniqueFields = List.copyOf(uniqueFields);
+        for (String f : uniqueFields) indexes.put(f, new ConcurrentHashMap<>());
+        for (String f : indexedFields) indexes.put(f, new ConcurrentHashMap<>());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    // ==============================
+    // WRITES
+    // ==============================
+    @Override
+    public void insert(Document doc) {
+        if (!doc.containsKey("_id")) doc.put("_id", new ObjectId());
+        Document copy = copy(doc);
+
+        synchronized (writeLock) {
+            for (String field : uniqueFields) {
+                Object value = getPath(copy, field);
+                if (value != null && !postings(field, value).isEmpty()) {
+                    throw new DuplicateKeyException(name + ": duplicate " + field + " " + value);
+                }
+            }
+            int rowId = nextRowId.incrementAndGet();
+            rows.put(rowId, copy);
+            for (String field : indexes.keySet()) addToIndex(field, getPath(copy, field), rowId);
+        }
+    }
+
+    @Override
+    public void insertMany(List<Document> docs) {
+        DuplicateKeyException first = null;
+        synchronized (writeLock) {
+            for (Document doc : docs) {
+                try {
+                    insert(doc);
+                } catch (DuplicateKeyException e) {
+                    if (first == null) first = e;
+                }
+            }
+        }
+        if (first != null) throw first;
+    }
+
+    @Override
+    public long updateOne(Document filter, Document update) {
+        synchronized (writeLock) {
+            Integer rowId = firstMatch(filter);
+            if (rowId == null) return 0;
+            updateRow(rowId, update);
+            return 1;
+        }
+    }
+
+    @Override
+    public Document findOneAndUpdate(Document filter, Document update, boolean returnUpdated) {
+        synchronized (writeLock) {
+            Integer rowId = firstMatch(filter);
+            if (rowId == null) return null;
+            Document old = rows.get(rowId);
+            Document updated = updateRow(rowId, update);
+            return copy(returnUpdated ? updated : old);
+        }
+    }
+
+    @Override
+    public long deleteOne(Document filter) {
+        return findOneAndDelete(filter) != null ? 1 : 0;
+    }
+
+    @Override
+    public long deleteMany(Document filter) {
+        synchronized (writeLock) {
+            List<Integer> matched = new ArrayList<>();
+            for (Integer rowId : candidates(filter)) {
+                Document doc = rows.get(rowId);
+                if (doc != null && matches(doc, filter)) matched.add(rowId);
+            }
+            for (Integer rowId : matched) {
+                Document old = rows.remove(rowId);
+                for (String field : indexes.keySet()) removeFromIndex(field, getPath(old, field), rowId);
+            }
+            return matched.size();
+        }
+    }
+
+    @Override
+    public Document findOneAndDelete(Document filter) {
+        synchronized (writeLock) {
+            Integer rowId = firstMatch(filter);
+            if (rowId == null) return null;
+
+            Document old = rows.remove(rowId);
+            for (String field : indexes.keySet()) removeFromIndex(field, getPath(old, field), rowId);
+            return copy(old);
+        }
+    }
+
+    /** Apply an update to one row and maintain the indexes. Caller holds the write lock. */
+    private Document updateRow(int rowId, Document update) {
+        Document old = rows.get(rowId);
+        Document updated = copy(old);
+        applyUpdate(updated, update);
+
+        for (String field : uniqueFields) {
+            Object value = getPath(updated, field);
+            if (value == null || valuesEqual(value, getPath(old, field))) continue;
+            if (!postings(field, value).isEmpty()) {
+                throw new DuplicateKeyException(name + ": duplicate " + field + " " + value);
+            }
+        }
+
+        for (String field : indexes.keySet()) {
+            Object before = getPath(old, field);
+            Object after = getPath(updated, field);
+            if (!Objects.equals(before, after)) {
+                removeFromIndex(field, before, rowId);
+                addToIndex(field, after, rowId);
+            }
+        }
+        rows.put(rowId, updated);
+        return updated;
+    }
+
+    // ==============================
+    // READS
+    // ==============================
+    @Override
+    public Document findOne(Document filter) {
+        Document doc = firstMatchingDoc(filter);
+        return doc != null ? copy(doc) : null;
+    }
+
+    @Override
+    public List<Document> find(Document filter) {
+        List<Document> out = new ArrayList<>();
+        for (Integer rowId : candidates(filter)) {
+            Document doc = rows.get(rowId);
+            if (doc != null && matches(doc, filter)) out.add(copy(doc));
+        }
+        return out;
+    }
+
+    @Override
+    public <T> T findOne(Document filter, Class<T> type) {
+        // Decode the document that matched; looking the row up again could see a concurrent delete
+        Document doc = firstMatchingDoc(filter);
+        return doc != null ? ModelCodecs.decode(doc, type) : null;
+    }
+
+    @Override
+    public <T> List<T> find(Document filter, Class<T> type) {
+        List<T> out = new ArrayList<>();
+        for (Integer rowId : candidates(filter)) {
+            Document doc = rows.get(rowId);
+            if (doc != null && matches(doc, filter)) out.add(ModelCodecs.decode(doc, type));
+        }
+        return out;
+    }
+
+    @Override
+    public <T> List<T> find(Document filter, Document projection, Class<T> type) {
+        List<T> out = new ArrayList<>();
+        for (Integer rowId : candidates(filter)) {
+            Document doc = rows.get(rowId);
+            if (doc != null && matches(doc, filter)) out.add(ModelCodecs.decode(project(doc, projection), type));
+        }
+        return out;
+    }
+
+    @Override
+    public <T> List<T> findSorted(Document filter, Document sort, int limit, Class<T> type) {
+        return findSorted(filter, null, sort, limit, type);
+    }
+
+    @Override
+    public <T> List<T> findSorted(Document filter, Document projection, Document sort, int limit, Class<T> type) {
+        List<Document> matched = new ArrayList<>();
+        for (Integer rowId : candidates(filter)) {
+            Document doc = rows.get(rowId);
+            if (doc != null && matches(doc, filter)) matched.add(doc);
+        }
+        matched.sort(sortOrder(sort));
+
+        List<T> out = new ArrayList<>();
+        for (Document doc : matched.subList(0, Math.min(limit, matched.size()))) {
+            out.add(ModelCodecs.decode(projection != null ? project(doc, projection) : doc, type));
+        }
+        return out;
+    }
+
+    @Override
+    public int maxInt(String field) {
+        int max = 0;
+        for (Document doc : rows.values()) {
+            if (getPath(doc, field) instanceof Number n) max = Math.max(max, n.intValue());
+        }
+        return max;
+    }
+
+    private Integer firstMatch(Document filter) {
+        for (Integer rowId : candidates(filter)) {
+            Document doc = rows.get(rowId);
+            if (doc != null && matches(doc, filter)) return rowId;
+        }
+        return null;
+    }
+
+    /** The first matching document itself, for reads that run without the write lock. */
+    private Document firstMatchingDoc(Document filter) {
+        for (Integer rowId : candidates(filter)) {
+            Document doc = rows.get(rowId);
+            if (doc != null && matches(doc, filter)) return doc;
+        }
+        return null;
+    }
+
+    /** Row ids that may match: the smallest index posting list among indexed equality/$in terms, else all rows. */
+    private Collection<Integer> candidates(Document filter) {
+        Collection<Integer> best = null;
+        for (Map.Entry<String, Object> e : filter.entrySet()) {
+            if (!indexes.containsKey(e.getKey())) continue;
+
+            Collection<Integer> ids;
+            if (e.getValue() instanceof Document op) {
+                if (!(op.size() == 1 && op.get("$in") instanceof List<?> values)) continue;
+                NavigableSet<Integer> union = new ConcurrentSkipListSet<>();
+                for (Object v : values) union.addAll(postings(e.getKey(), v));
+                ids = union;
+            } else {
+                ids = postings(e.getKey(), e.getValue());
+            }
+            if (best == null || ids.size() < best.size()) best = ids;
+        }
+        return best != null ? best : rows.keySet();
+    }
+
+    // ==============================
+    // INDEX MAINTENANCE
+    // ==============================
+    private NavigableSet<Integer> postings(String field, Object value) {
+        NavigableSet<Integer> ids = indexes.get(field).get(indexKey(value));
+        return ids != null ? ids : new ConcurrentSkipListSet<>();
+    }
+
+    private void addToIndex(String field, Object value, int rowId) {
+        if (value instanceof List<?> list) {
+            for (Object v : list) addToIndex(field, v, rowId);
+            return;
+        }
+        indexes.get(field).computeIfAbsent(indexKey(value), k -> new ConcurrentSkipListSet<>()).add(rowId);
+    }
+
+    private void removeFromIndex(String field, Object value, int rowId) {
+        if (value instanceof List<?> list) {
+            for (Object v : list) removeFromIndex(field, v, rowId);
+            return;
+        }
+        Map<Object, NavigableSet<Integer>> index = indexes.get(field);
+        Object key = indexKey(value);
+        NavigableSet<Integer> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(rowId);
+            if (ids.isEmpty()) index.remove(key);
+        }
+    }
+
+    /** Numbers compare by value in MongoDB (1 == 1L == 1.0), so index them the same way. */
+    private static Object indexKey(Object value) {
+        if (value == null) return NullKey.INSTANCE;
+        if (value instanceof Number n) {
+            double d = n.doubleValue();
+            return d == Math.rint(d) && !Double.isInfinite(d) ? (Object) n.longValue() : (Object) d;
+        }
+        return value;
+    }
+
+    private enum NullKey { INSTANCE }
+
+    // ==============================
+    // FILTER EVALUATION
+    // ==============================
+    static boolean matches(Document doc, Document filter) {
+        for (Map.Entry<String, Object> e : filter.entrySet()) {
+            String key = e.getKey();
+            Object expected = e.getValue();
+
+            if ("$and".equals(key)) {
+                for (Object sub : (List<?>) expected) if (!matches(doc, (Document) sub)) return false;
+                continue;
+            }
+            if ("$or".equals(key)) {
+                boolean any = false;
+                for (Object sub : (List<?>) expected) if (matches(doc, (Document) sub)) { any = true; break; }
+                if (!any) return false;
+                continue;
+            }
+
+            Object actual = getPath(doc, key);
+            if (expected instanceof Document op && isOperatorDoc(op)) {
+                if (!matchesOperators(actual, op, actual != null || doc.containsKey(key))) return false;
+            } else if (!fieldEquals(actual, expected)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isOperatorDoc(Document d) {
+        return !d.isEmpty() && d.keySet().iterator().next().startsWith("$");
+    }
+
+    private static boolean matchesOperators(Object actual, Document ops, boolean exists) {
+        for (Map.Entry<String, Object> op : ops.entrySet()) {
+            Object arg = op.getValue();
+            boolean ok = switch (op.getKey()) {
+                case "$in" -> ((List<?>) arg).stream().anyMatch(v -> fieldEquals(actual, v));
+                case "$nin" -> ((List<?>) arg).stream().noneMatch(v -> fieldEquals(actual, v));
+                case "$ne" -> !fieldEquals(actual, arg);
+                case "$gt" -> inRange(actual, arg, c -> c > 0);
+                case "$gte" -> inRange(actual, arg, c -> c >= 0);
+                case "$lt" -> inRange(actual, arg, c -> c < 0);
+                case "$lte" -> inRange(actual, arg, c -> c <= 0);
+                case "$exists" -> exists == Boolean.TRUE.equals(arg);
+                case "$regex" -> actual instanceof String s && regex((String) arg, ops.getString("$options")).matcher(s).find();
+                case "$options" -> true; // read by $regex
+                default -> throw new UnsupportedOperationException("In-memory store does not support " + op.getKey());
+            };
+            if (!ok) return false;
+        }
+        return true;
+    }
+
+    /** Compiled $regex patterns; the same few search patterns are matched against every row */
+    private static final Map<String, Pattern> REGEX_CACHE = new ConcurrentHashMap<>();
+
+    private static Pattern regex(String pattern, String options) {
+        String opts = options == null ? "" : options;
+        String key = opts + "/" + pattern;
+        Pattern compiled = REGEX_CACHE.get(key);
+        if (compiled != null) return compiled;
+
+        int flags = 0;
+        if (opts.contains("i")) flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        if (opts.contains("m")) flags |= Pattern.MULTILINE;
+        if (opts.contains("s")) flags |= Pattern.DOTALL;
+        compiled = Pattern.compile(pattern, flags);
+        if (REGEX_CACHE.size() >= 256) REGEX_CACHE.clear();
+        REGEX_CACHE.put(key, compiled);
+        return compiled;
+    }
+
+    /** Equality with MongoDB semantics: numbers by value, and an array matches if any element does. */
+    private static boolean fieldEquals(Object actual, Object expected) {
+        if (actual instanceof List<?> list && !(expected instanceof List)) {
+            for (Object v : list) if (valuesEqual(v, expected)) return true;
+            return false;
+        }
+        return valuesEqual(actual, expected);
+    }
+
+    private static boolean valuesEqual(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) return Double.compare(x.doubleValue(), y.doubleValue()) == 0;
+        return Objects.equals(a, b);
+    }
+
+    /** Range check; like MongoDB, values of different types (or missing values) never match. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static boolean inRange(Object actual, Object arg, IntPredicate test) {
+        if (actual instanceof Number x && arg instanceof Number y) return test.test(Double.compare(x.doubleValue(), y.doubleValue()));
+        if (actual instanceof Comparable c && arg != null && actual.getClass() == arg.getClass()) return test.test(c.compareTo(arg));
+        return false;
+    }
+
+    /** Comparator for a { field: 1 | -1 } sort spec; missing values sort first, as in MongoDB. */
+    private static Comparator<Document> sortOrder(Document sort) {
+        Comparator<Document> order = (a, b) -> 0;
+        for (Map.Entry<String, Object> e : sort.entrySet()) {
+            String field = e.getKey();
+            int direction = ((Number) e.getValue()).intValue() < 0 ? -1 : 1;
+            order = order.thenComparing((a, b) -> direction * compareValues(getPath(a, field), getPath(b, field)));
+        }
+        return order;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object a, Object b) {
+        if (a == null || b == null) return a == null ? (b == null ? 0 : -1) : 1;
+        if (a instanceof Number x && b instanceof Number y) return Double.compare(x.doubleValue(), y.doubleValue());
+        if (a instanceof Comparable c && a.getClass() == b.getClass()) return c.compareTo(b);
+        return a.getClass().getName().compareTo(b.getClass().getName());
+    }
+
+    // ==============================
+    // UPDATE APPLICATION
+    // ==============================
+    private static void applyUpdate(Document target, Document update) {
+        for (Map.Entry<String, Object> e : update.entrySet()) {
+            Document fields = (Document) e.getValue();
+            switch (e.getKey()) {
+                case "$set" -> fields.forEach((k, v) -> setPath(target, k, copyValue(v)));
+                case "$unset" -> fields.keySet().forEach(k -> unsetPath(target, k));
+                case "$inc" -> fields.forEach((k, v) -> setPath(target, k, add(getPath(target, k), (Number) v)));
+                case "$bit" -> fields.forEach((k, v) -> setPath(target, k, bitwise(getPath(target, k), (Document) v)));
+                default -> throw new UnsupportedOperationException("In-memory store does not support " + e.getKey());
+            }
+        }
+    }
+
+    private static Number add(Object current, Number delta) {
+        if (current == null) return delta;
+        Number n = (Number) current;
+        if (n instanceof Double || delta instanceof Double) return n.doubleValue() + delta.doubleValue();
+        if (n instanceof Long || delta instanceof Long) return n.longValue() + delta.longValue();
+        return n.intValue() + delta.intValue();
+    }
+
+    private static long bitwise(Object current, Document ops) {
+        long value = current instanceof Number n ? n.longValue() : 0L;
+        for (Map.Entry<String, Object> op : ops.entrySet()) {
+            long arg = ((Number) op.getValue()).longValue();
+            value = switch (op.getKey()) {
+                case "and" -> value & arg;
+                case "or" -> value | arg;
+                case "xor" -> value ^ arg;
+                default -> throw new UnsupportedOperationException("In-memory store does not support $bit " + op.getKey());
+            };
+        }
+        return value;
+    }
+
+    // ==============================
+    // DOCUMENT HELPERS
+    // ==============================
+    static Object getPath(Document doc, String path) {
+        if (path.indexOf('.') < 0) return doc.get(path);
+        Object cur = doc;
+        for (String part : path.split("\\.")) {
+            if (!(cur instanceof Document d)) return null;
+            cur = d.get(part);
+        }
+        return cur;
+    }
+
+    private static void setPath(Document doc, String path, Object value) {
+        String[] parts = path.split("\\.");
+        Document cur = doc;
+        for (int i = 0; i < parts.length - 1; i++) {
+            Object next = cur.get(parts[i]);
+            if (!(next instanceof Document)) {
+                next = new Document();
+                cur.put(parts[i], next);
+            }
+            cur = (Document) next;
+        }
+        cur.put(parts[parts.length - 1], value);
+    }
+
+    private static void unsetPath(Document doc, String path) {
+        String[] parts = path.split("\\.");
+        Document cur = doc;
+        for (int i = 0; i < parts.length - 1; i++) {
+            if (!(cur.get(parts[i]) instanceof Document next)) return;
+            cur = next;
+        }
+        cur.remove(parts[parts.length - 1]);
+    }
+
+    /** Apply an inclusion projection ({ field: 1 }, optional { _id: 0 }) to a copy of the row. */
+    private static Document project(Document doc, Document projection) {
+        if (projection == null || projection.isEmpty()) return copy(doc);
+        Document out = new Document();
+        boolean keepId = !Integer.valueOf(0).equals(projection.get("_id")) && !Boolean.FALSE.equals(projection.get("_id"));
+        if (keepId && doc.containsKey("_id")) out.put("_id", doc.get("_id"));
+        for (String field : projection.keySet()) {
+            if ("_id".equals(field)) continue;
+            Object value = getPath(doc, field);
+            if (value != null || doc.containsKey(field)) setPath(out, field, copyValue(value));
+        }
+        return out;
+    }
+
+    /** Deep copy so callers can never mutate stored rows. */
+    static Document copy(Document doc) {
+        Document out = new Document();
+        doc.forEach((k, v) -> out.put(k, copyValue(v)));
+        return out;
+    }
+
+    private static Object copyValue(Object v) {
+        if (v instanceof Document d) return copy(d);
+        if (v instanceof List<?> list) {
+            List<Object> out = new ArrayList<>(list.size());
+            for (Object o : list) out.add(copyValue(o));
+            return out;
+        }
+        if (v instanceof Date d) return new Date(d.getTime());
+        return v;
+    }
+}
@@ -0,0 +1,30 @@
+package iVenue.repositories;
+
+import org.bson.Document;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Media held in process memory, for the in-memory storage engine.
+ */
+public class InMemoryMediaStore implements MediaStore {
+
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(String name, byte[] data, Document metadata) {
+        files.putIfAbsent(name, data.clone());
+    }
+
+    @Override
+    public byte[] get(String name) {
+        byte[] data = files.get(name);
+        return data != null ? data.clone() : null;
+    }
+
+    @Override
+    public boolean exists(String name) {
+        return files.containsKey(name);
+    }
+}
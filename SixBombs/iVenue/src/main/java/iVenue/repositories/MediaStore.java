@@ -0,0 +1,25 @@
+package iVenue.repositories;
+
+import org.bson.Document;
+
+/**
+ * Binary files (venue photos and their renditions) stored by name.
+ * Callers name files after their content, so a name always refers to the same bytes.
+ */
+public interface MediaStore {
+
+    /**
+     * Store the bytes under name with descriptive metadata; does nothing if the name is already stored.
+     */
+    void put(String name, byte[] data, Document metadata);
+
+    /**
+     * The bytes stored under name, or null if there are none.
+     */
+    byte[] get(String name);
+
+    /**
+     * True if a file with this name is stored.
+     */
+    boolean exists(String name);
+}
@@ -0,0 +1,48 @@
+package iVenue.repositories;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOptions;
+import org.bson.Document;
+
+/**
+ * Counters kept in the "counters" collection as { _id: name, seq: value }.
+ */
+public class MongoCounterStore implements CounterStore {
+
+    private final MongoCollection<Document> counters;
+
+    public MongoCounterStore(MongoCollection<Document> counters) {
+        this.counters = counters;
+    }
+
+    @Override
+    public long increment(String name, long delta) {
+        Document counter = counters.findOneAndUpdate(
+                new Document("_id", name),
+                new Document("$inc", new Document("seq", delta)),
+                new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+        return ((Number) counter.get("seq")).longValue();
+    }
+
+    @Override
+    public void raiseTo(String name, long value) {
+        Document filter = new Document("_id", name);
+        Document update = new Document("$max", new Document("seq", value));
+        try {
+            counters.updateOne(filter, update, new UpdateOptions().upsert(true));
+        } catch (MongoWriteException | MongoCommandException e) {
+            // Another client created the counter at the same moment; $max on the existing doc is enough
+            counters.updateOne(filter, update);
+        }
+    }
+
+    @Override
+    public long current(String name) {
+        Document counter = counters.find(new Document("_id", name)).first();
+        return counter != null ? ((Number) counter.get("seq")).longValue() : 0;
+    }
+}
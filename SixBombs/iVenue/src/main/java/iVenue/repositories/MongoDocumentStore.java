@@ -0,0 +1,181 @@
+package iVenue.repositories;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoServerException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReturnDocument;
+import iVenue.repositories.codecs.ModelCodecs;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DocumentStore backed by a MongoDB collection. Filters and updates are passed through as-is.
+ * Calls made inside Transactions.inTransaction join that transaction's session.
+ */
+public class MongoDocumentStore implements DocumentStore {
+
+    private final MongoCollection<Document> collection;
+    private final Map<Class<?>, MongoCollection<?>> typed = new ConcurrentHashMap<>();
+
+    public MongoDocumentStore(MongoCollection<Document> collection) {
+        this.collection = collection.withCodecRegistry(ModelCodecs.REGISTRY);
+    }
+
+    /** Underlying collection, for engine-specific features such as index management. */
+    public MongoCollection<Document> getCollection() {
+        return collection;
+    }
+
+    @Override
+    public String getName() {
+        return collection.getNamespace().getCollectionName();
+    }
+
+    @Override
+    public void insert(Document doc) {
+        try {
+            ClientSession session = Transactions.currentSession();
+            if (session != null) collection.insertOne(session, doc);
+            else collection.insertOne(doc);
+        } catch (MongoWriteException | MongoCommandException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public void insertMany(List<Document> docs) {
+        if (docs.isEmpty()) return;
+        InsertManyOptions options = new InsertManyOptions().ordered(false);
+        try {
+            ClientSession session = Transactions.currentSession();
+            if (session != null) collection.insertMany(session, docs, options);
+            else collection.insertMany(docs, options);
+        } catch (MongoBulkWriteException e) {
+            // Only a pure dup-key failure is a DuplicateKeyException; anything else (or a mix) stays a driver error
+            List<BulkWriteError> errors = e.getWriteErrors();
+            boolean allDuplicates = !errors.isEmpty() && e.getWriteConcernError() == null
+                    && errors.stream().allMatch(error -> error.getCategory() == ErrorCategory.DUPLICATE_KEY);
+            if (allDuplicates) throw new DuplicateKeyException(errors.get(0).getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Document findOne(Document filter) {
+        return find(collection, filter).first();
+    }
+
+    @Override
+    public List<Document> find(Document filter) {
+        return find(collection, filter).into(new ArrayList<>());
+    }
+
+    @Override
+    public <T> T findOne(Document filter, Class<T> type) {
+        return find(typed(type), filter).first();
+    }
+
+    @Override
+    public <T> List<T> find(Document filter, Class<T> type) {
+        return find(typed(type), filter).into(new ArrayList<>());
+    }
+
+    @Override
+    public <T> List<T> find(Document filter, Document projection, Class<T> type) {
+        return find(typed(type), filter).projection(projection).into(new ArrayList<>());
+    }
+
+    @Override
+    public <T> List<T> findSorted(Document filter, Document sort, int limit, Class<T> type) {
+        return find(typed(type), filter).sort(sort).limit(limit).into(new ArrayList<>());
+    }
+
+    @Override
+    public <T> List<T> findSorted(Document filter, Document projection, Document sort, int limit, Class<T> type) {
+        return find(typed(type), filter).projection(projection).sort(sort).limit(limit).into(new ArrayList<>());
+    }
+
+    private static <T> FindIterable<T> find(MongoCollection<T> coll, Document filter) {
+        ClientSession session = Transactions.currentSession();
+        return session != null ? coll.find(session, filter) : coll.find(filter);
+    }
+
+    /** Same collection, decoding rows straight from BSON into the model (no intermediate Document). */
+    @SuppressWarnings("unchecked")
+    private <T> MongoCollection<T> typed(Class<T> type) {
+        return (MongoCollection<T>) typed.computeIfAbsent(type, collection::withDocumentClass);
+    }
+
+    @Override
+    public long updateOne(Document filter, Document update) {
+        try {
+            ClientSession session = Transactions.currentSession();
+            return (session != null ? collection.updateOne(session, filter, update) : collection.updateOne(filter, update))
+                    .getMatchedCount();
+        } catch (MongoWriteException | MongoCommandException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public long deleteOne(Document filter) {
+        ClientSession session = Transactions.currentSession();
+        return (session != null ? collection.deleteOne(session, filter) : collection.deleteOne(filter)).getDeletedCount();
+    }
+
+    @Override
+    public long deleteMany(Document filter) {
+        ClientSession session = Transactions.currentSession();
+        return (session != null ? collection.deleteMany(session, filter) : collection.deleteMany(filter)).getDeletedCount();
+    }
+
+    @Override
+    public Document findOneAndUpdate(Document filter, Document update, boolean returnUpdated) {
+        try {
+            FindOneAndUpdateOptions options = new FindOneAndUpdateOptions()
+                    .returnDocument(returnUpdated ? ReturnDocument.AFTER : ReturnDocument.BEFORE);
+            ClientSession session = Transactions.currentSession();
+            return session != null
+                    ? collection.findOneAndUpdate(session, filter, update, options)
+                    : collection.findOneAndUpdate(filter, update, options);
+        } catch (MongoWriteException | MongoCommandException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public Document findOneAndDelete(Document filter) {
+        ClientSession session = Transactions.currentSession();
+        return session != null ? collection.findOneAndDelete(session, filter) : collection.findOneAndDelete(filter);
+    }
+
+    @Override
+    public int maxInt(String field) {
+        Document last = collection.find().sort(new Document(field, -1)).first();
+        return last != null && last.get(field) instanceof Number n ? n.intValue() : 0;
+    }
+
+    /**
+     * Duplicate key errors as DuplicateKeyException. Plain writes report them as a MongoWriteException,
+     * findOneAndUpdate (and writes inside a transaction) as a MongoCommandException with code 11000.
+     */
+    private RuntimeException translate(MongoServerException e) {
+        if (ErrorCategory.fromErrorCode(e.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+            String message = e instanceof MongoWriteException write ? write.getError().getMessage() : e.getMessage();
+            return new DuplicateKeyException(message, e);
+        }
+        return e;
+    }
+}
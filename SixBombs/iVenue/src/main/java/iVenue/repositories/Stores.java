@@ -0,0 +1,81 @@
+package iVenue.repositories;
+
+import iVenue.config.MongoDb;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses the storage engine for the whole app and hands out one DocumentStore per collection.
+ *
+ * MongoDB is the default. Start with -Divenue.store=memory to run everything
+ * (services, model helpers, panels) against the in-memory engine instead.
+ */
+public class Stores {
+
+    private static final boolean IN_MEMORY = "memory".equalsIgnoreCase(System.getProperty("ivenue.store", "mongo"));
+    private static final Map<String, DocumentStore> STORES = new ConcurrentHashMap<>();
+    private static volatile CounterStore counters;
+    private static volatile MediaStore media;
+
+    public static boolean isInMemory() {
+        return IN_MEMORY;
+    }
+
+    /** Store for the named collection (venues, amenities, users, bookings, booking_history, ...). */
+    public static DocumentStore get(String collection) {
+        return STORES.computeIfAbsent(collection, Stores::create);
+    }
+
+    /** Counters used by IdAllocator. */
+    public static CounterStore counters() {
+        CounterStore c = counters;
+        if (c == null) {
+            synchronized (Stores.class) {
+                c = counters;
+                if (c == null) {
+                    c = IN_MEMORY
+                            ? new InMemoryCounterStore()
+                            : new MongoCounterStore(MongoDb.getDatabase().getCollection("counters"));
+                    counters = c;
+                }
+            }
+        }
+        return c;
+    }
+
+    /** Venue photos and their renditions (GridFS bucket "venue_media"). */
+    public static MediaStore media() {
+        MediaStore m = media;
+        if (m == null) {
+            synchronized (Stores.class) {
+                m = media;
+                if (m == null) {
+                    m = IN_MEMORY
+                            ? new InMemoryMediaStore()
+                            : new GridFsMediaStore(MongoDb.getDatabase(), "venue_media");
+                    media = m;
+                }
+            }
+        }
+        return m;
+    }
+
+    private static DocumentStore create(String collection) {
+        if (!IN_MEMORY) return new MongoDocumentStore(MongoDb.getDatabase().getCollection(collection));
+
+        // Same unique keys and lookup fields as the MongoDB indexes declared in IndexManager
+        return switch (collection) {
+            case "venues" -> new InMemoryDocumentStore(collection, List.of("venueId"), List.of("availability", "price"));
+            case "amenities" -> new InMemoryDocumentStore(collection, List.of("amenityId"), List.of());
+            case "users" -> new InMemoryDocumentStore(collection, List.of("userId", "username"), List.of("userType"));
+            case "bookings" -> new InMemoryDocumentStore(collection, List.of("bookingId"),
+                    List.of("venueId", "userId", "bookingStatus", "paymentStatus"));
+            case "reservations" -> new InMemoryDocumentStore(collection, List.of("key"), List.of("venueId", "bookingId"));
+            case "venue_calendars" -> new InMemoryDocumentStore(collection, List.of("key"), List.of("venueId"));
+            case "booking_history" -> new InMemoryDocumentStore(collection, List.of(), List.of("username"));
+            default -> new InMemoryDocumentStore(collection, List.of(), List.of());
+        };
+    }
+}
@@ -0,0 +1,134 @@
+package iVenue.repositories;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.TransactionOptions;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.ClientSession;
+import iVenue.config.MongoDb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Multi-document transactions across DocumentStores.
+ *
+ * With MongoDB the work runs inside ClientSession.withTransaction: the session is bound to the
+ * current thread and every MongoDocumentStore call made by the work joins it, so the writes
+ * commit or abort together (transient errors are retried by the driver, so the work must be
+ * safe to re-run). The in-memory engine has no rollback; there the work runs under one lock
+ * and the undo steps registered with onRollback are applied if it throws.
+ */
+public final class Transactions {
+
+    private static final TransactionOptions OPTIONS = TransactionOptions.builder()
+            .readConcern(ReadConcern.SNAPSHOT)
+            .writeConcern(WriteConcern.MAJORITY)
+            .build();
+
+    private static final Object IN_MEMORY_LOCK = new Object();
+
+    /** Per-thread state of the running transaction. */
+    private static final class Context {
+        final ClientSession session;
+        final List<Runnable> undo = new ArrayList<>();
+        final List<Runnable> afterCommit = new ArrayList<>();
+
+        Context(ClientSession session) {
+            this.session = session;
+        }
+    }
+
+    private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+
+    private Transactions() {}
+
+    /** Run the work as one transaction and return its result; exceptions abort it and are rethrown. */
+    public static <T> T inTransaction(Supplier<T> work) {
+        if (CURRENT.get() != null) return work.get(); // already inside one: join it
+
+        if (Stores.isInMemory()) {
+            synchronized (IN_MEMORY_LOCK) {
+                return runAttempt(null, work);
+            }
+        }
+
+        try (ClientSession session = MongoDb.getClient().startSession()) {
+            List<Runnable> afterCommit = new ArrayList<>();
+            T result = session.withTransaction(() -> {
+                afterCommit.clear();
+                Context ctx = new Context(session);
+                CURRENT.set(ctx);
+                try {
+                    T value = work.get();
+                    afterCommit.addAll(ctx.afterCommit);
+                    return value;
+                } finally {
+                    CURRENT.remove();
+                }
+            }, OPTIONS);
+            afterCommit.forEach(Runnable::run);
+            return result;
+        }
+    }
+
+    private static <T> T runAttempt(ClientSession session, Supplier<T> work) {
+        Context ctx = new Context(session);
+        CURRENT.set(ctx);
+        T value;
+        try {
+            value = work.get();
+        } catch (RuntimeException e) {
+            // Undo in reverse order of the steps that were applied
+            for (int i = ctx.undo.size() - 1; i >= 0; i--) {
+                try {
+                    ctx.undo.get(i).run();
+                } catch (RuntimeException undoFailure) {
+                    e.addSuppressed(undoFailure);
+                }
+            }
+            throw e;
+        } finally {
+            CURRENT.remove();
+        }
+        ctx.afterCommit.forEach(Runnable::run);
+        return value;
+    }
+
+    /**
+     * Run work on this thread outside the running transaction, if any: its reads see committed data
+     * and its writes commit on their own, whatever happens to the transaction.
+     */
+    public static <T> T outside(Supplier<T> work) {
+        Context ctx = CURRENT.get();
+        if (ctx == null) return work.get();
+        CURRENT.remove();
+        try {
+            return work.get();
+        } finally {
+            CURRENT.set(ctx);
+        }
+    }
+
+    /** Session of the transaction running on this thread, or null (MongoDocumentStore joins it). */
+    static ClientSession currentSession() {
+        Context ctx = CURRENT.get();
+        return ctx != null ? ctx.session : null;
+    }
+
+    /**
+     * Undo step for engines without rollback (in-memory). Ignored when MongoDB aborts the
+     * transaction itself; a no-op outside a transaction.
+     */
+    public static void onRollback(Runnable undo) {
+        Context ctx = CURRENT.get();
+        if (ctx != null && ctx.session == null) ctx.undo.add(undo);
+    }
+
+    /** Run once the transaction has committed (immediately when not in one), e.g. cache invalidation. */
+    public static void afterCommit(Runnable action) {
+        Context ctx = CURRENT.get();
+        if (ctx != null) ctx.afterCommit.add(action);
+        else action.run();
+    }
+}
@@ -1,9 +1,6 @@
 package iVenue.repositories;
 
-import com.mongodb.client.MongoCollection;
-import com.mongodb.client.MongoDatabase;
 import org.bson.Document;
-import iVenue.config.MongoDb;
 import iVenue.models.Admin;
 import iVenue.models.Customer;
 import iVenue.models.User;
@@ -11,27 +8,47 @@ import iVenue.models.User;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Every write to the "users" collection goes through here, so derived data (the customer search index)
+ * is kept current in one place: listeners hear about each committed write, and a version stamp
+ * ("users.version" in the counters store) lets them notice writes made by other clients.
+ */
 public class UserStore {
 
-    private static final MongoDatabase DATABASE = MongoDb.getDatabase();
-    private static final MongoCollection<Document> COLLECTION = DATABASE.getCollection("users");
+    private static final DocumentStore COLLECTION = Stores.get("users");
+    private static final String VERSION_KEY = "users.version";
+
+    /** Told about customer writes once they are stored, with the version stamp they moved the collection to. */
+    public interface Listener {
+        void saved(Customer customer, long version);
+
+        void deleted(int userId, long version);
+    }
+
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    public static void addListener(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /** Current version stamp of the users collection; every write through this class bumps it. */
+    public static long version() {
+        return Stores.counters().current(VERSION_KEY);
+    }
 
     /** Ensure default admin exists */
     public static void ensureAdminExists() {
-        Document adminDoc = COLLECTION.find(new Document("userType", "admin")).first();
+        Document adminDoc = COLLECTION.findOne(new Document("userType", "admin"));
         if (adminDoc == null) {
-            int maxId = 0;
-            Document last = COLLECTION.find().sort(new Document("userId", -1)).first();
-            if (last != null) maxId = last.getInteger("userId");
-
-            Document doc = new Document("userId", maxId + 1)
+            Document doc = new Document("userId", IdAllocator.next("users", "userId"))
                     .append("username", "admin")
                     .append("password", "admin123")
                     .append("userType", "admin")
                     .append("firstName", "System")
                     .append("lastName", "Administrator");
-            COLLECTION.insertOne(doc);
+            COLLECTION.insert(doc);
             System.out.println("Seeded default admin (username: admin, password: admin123)");
         }
     }
@@ -46,25 +63,53 @@ public class UserStore {
         String email = data.get("email");
 
         // Check duplicate
-        Document existing = COLLECTION.find(new Document("username", username)).first();
+        Document existing = COLLECTION.findOne(new Document("username", username));
         if (existing != null) return null;
 
-        int maxId = 0;
-        Document last = COLLECTION.find().sort(new Document("userId", -1)).first();
-        if (last != null) maxId = last.getInteger("userId");
+        Customer customer = new Customer(username, password, 0, firstName, lastName, contactNumber, email, "customer");
+        return insertCustomer(customer) ? customer : null;
+    }
 
-        Document doc = new Document("userId", maxId + 1)
-                .append("username", username)
-                .append("password", password)
-                .append("userType", "customer")
-                .append("firstName", firstName)
-                .append("lastName", lastName)
-                .append("contactNumber", contactNumber)
-                .append("email", email);
+    /**
+     * Store a new customer under a freshly allocated userId (set on the object).
+     * False when the username is taken (unique username index).
+     */
+    public static boolean insertCustomer(Customer customer) {
+        customer.setUserId(IdAllocator.next("users", "userId"));
 
-        COLLECTION.insertOne(doc);
+        Document doc = new Document("userId", customer.getUserId())
+                .append("username", customer.getUsername())
+                .append("password", customer.getPassword())
+                .append("userType", "customer")
+                .append("firstName", customer.getFirstName())
+                .append("lastName", customer.getLastName())
+                .append("contactNumber", customer.getContactNumber())
+                .append("email", customer.getEmail());
+
+        try {
+            COLLECTION.insert(doc);
+        } catch (DuplicateKeyException e) {
+            // Unique username index caught a concurrent registration of the same name
+            return false;
+        }
+        saved(customer);
+        return true;
+    }
 
-        return new Customer(username, password, maxId + 1, firstName, lastName, contactNumber, email, "customer");
+    /** Write the customer's profile fields; false if no such user exists. */
+    public static boolean updateCustomer(Customer customer) {
+        Document updates = new Document()
+                .append("username", customer.getUsername())
+                .append("password", customer.getPassword())
+                .append("firstName", customer.getFirstName())
+                .append("lastName", customer.getLastName())
+                .append("contactNumber", customer.getContactNumber())
+                .append("email", customer.getEmail());
+
+        boolean matched = COLLECTION.updateOne(new Document("userId", customer.getUserId()),
+                new Document("$set", updates)) > 0;
+        if (matched) saved(customer);
+        return matched;
     }
 
     /** GUI-friendly overload: accept direct fields instead of a Map */
@@ -82,29 +127,9 @@ public class UserStore {
 
     /** Find user by credentials */
     public static User findByCredentials(String username, String password) {
-        Document doc = COLLECTION.find(new Document("username", username)
-                .append("password", password)).first();
-        if (doc == null) return null;
-
-        String type = doc.getString("userType");
-        int id = doc.getInteger("userId");
-
-        if ("customer".equalsIgnoreCase(type)) {
-            return new Customer(
-                    username,
-                    password,
-                    id,
-                    doc.getString("firstName"),
-                    doc.getString("lastName"),
-                    doc.getString("contactNumber"),
-                    doc.getString("email"),
-                    type
-            );
-        } else if ("admin".equalsIgnoreCase(type)) {
-            return new Admin();
-        }
-
-        return null;
+        Customer user = COLLECTION.findOne(new Document("username", username)
+                .append("password", password), Customer.class);
+        return toUser(user);
     }
 
     /** Cast base User to Customer using MongoDB doc */
@@ -125,42 +150,61 @@ public class UserStore {
     /** Get all users (for GUI table) */
     public static List<User> getAll() {
         List<User> out = new ArrayList<>();
-        for (Document doc : COLLECTION.find()) {
-            String username = doc.getString("username");
-            String password = doc.getString("password");
-            String type = doc.getString("userType");
-            int id = doc.getInteger("userId");
-
-            if ("customer".equalsIgnoreCase(type)) {
-                out.add(new Customer(
-                        username,
-                        password,
-                        id,
-                        doc.getString("firstName"),
-                        doc.getString("lastName"),
-                        doc.getString("contactNumber"),
-                        doc.getString("email"),
-                        type
-                ));
-            } else if ("admin".equalsIgnoreCase(type)) {
-                out.add(new Admin());
-            }
+        for (Customer user : COLLECTION.find(new Document(), Customer.class)) {
+            User u = toUser(user);
+            if (u != null) out.add(u);
         }
         return out;
     }
 
+    /** Users decode as Customer; admin rows become the Admin facade, unknown types are dropped */
+    private static User toUser(Customer user) {
+        if (user == null) return null;
+        if ("customer".equalsIgnoreCase(user.getUserType())) return user;
+        if ("admin".equalsIgnoreCase(user.getUserType())) return new Admin();
+        return null;
+    }
+
     /** Get user by ID */
     public static User getById(int userId) {
-        Document doc = COLLECTION.find(new Document("userId", userId)).first();
+        Document doc = COLLECTION.findOne(new Document("userId", userId));
         if (doc == null) return null;
         return findByCredentials(doc.getString("username"), doc.getString("password"));
     }
 
     /** Delete user by ID */
     public static boolean delete(int userId) {
-        Document doc = COLLECTION.find(new Document("userId", userId)).first();
-        if (doc == null) return false;
-        COLLECTION.deleteOne(new Document("userId", userId));
-        return true;
+        return delete(new Document("userId", userId), userId);
+    }
+
+    /** Delete a customer by ID; admin accounts are left alone. */
+    public static boolean deleteCustomer(int userId) {
+        return delete(new Document("userId", userId).append("userType", new Document("$ne", "admin")), userId);
+    }
+
+    private static boolean delete(Document filter, int userId) {
+        boolean deleted = COLLECTION.deleteOne(filter) > 0;
+        if (deleted) Transactions.afterCommit(() -> {
+            long version = bumpVersion();
+            for (Listener l : LISTENERS) l.deleted(userId, version);
+        });
+        return deleted;
+    }
+
+    private static void saved(Customer customer) {
+        Transactions.afterCommit(() -> {
+            long version = bumpVersion();
+            for (Listener l : LISTENERS) l.saved(customer, version);
+        });
+    }
+
+    /** New version stamp, or -1 when the counter could not be written (listeners then fall back to reloading). */
+    private static long bumpVersion() {
+        try {
+            return Stores.counters().increment(VERSION_KEY, 1);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return -1;
+        }
     }
 }
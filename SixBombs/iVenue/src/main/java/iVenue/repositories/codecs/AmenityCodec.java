@@ -0,0 +1,55 @@
+package iVenue.repositories.codecs;
+
+import iVenue.models.Amenity;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import static iVenue.repositories.codecs.VenueCodec.writeString;
+
+/**
+ * Reads and writes "amenities" documents straight from/to BSON.
+ */
+public class AmenityCodec implements Codec<Amenity> {
+
+    @Override
+    public Amenity decode(BsonReader reader, DecoderContext context) {
+        int amenityId = 0, quantity = 0;
+        String name = null, description = null;
+        double price = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "amenityId" -> amenityId = BsonReads.readInt(reader, 0);
+                case "name" -> name = BsonReads.readString(reader);
+                case "description" -> description = BsonReads.readString(reader);
+                case "quantity" -> quantity = BsonReads.readInt(reader, 0);
+                case "price" -> price = BsonReads.readDouble(reader, 0);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new Amenity(amenityId, name, description, quantity, price);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Amenity amenity, EncoderContext context) {
+        writer.writeStartDocument();
+        writer.writeInt32("amenityId", amenity.getAmenityId());
+        writeString(writer, "name", amenity.getName());
+        writeString(writer, "description", amenity.getDescription());
+        writer.writeInt32("quantity", amenity.getQuantity());
+        writer.writeDouble("price", amenity.getPrice());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<Amenity> getEncoderClass() {
+        return Amenity.class;
+    }
+}
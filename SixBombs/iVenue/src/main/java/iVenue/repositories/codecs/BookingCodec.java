@@ -0,0 +1,84 @@
+package iVenue.repositories.codecs;
+
+import iVenue.models.Booking;
+import iVenue.models.BookingStatus;
+import iVenue.models.PaymentStatus;
+import iVenue.repositories.BookingSchema;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.util.Date;
+
+import static iVenue.repositories.codecs.VenueCodec.writeString;
+
+/**
+ * Reads "bookings" and "booking_history" documents as Booking.
+ *
+ * Decoding doubles as the read-side upcaster for typed reads (see BookingSchema): the username
+ * comes from "username" (history entries) or "bookedBy", a sub-document or, in version 1 rows,
+ * a plain string; version 1 text dates are parsed into the stored day.
+ * The venue is not resolved here; callers look it up when they need it.
+ */
+public class BookingCodec implements Codec<Booking> {
+
+    @Override
+    public Booking decode(BsonReader reader, DecoderContext context) {
+        int bookingId = 0;
+        Date date = null;
+        PaymentStatus paymentStatus = PaymentStatus.UNPAID;
+        BookingStatus bookingStatus = BookingStatus.PENDING;
+        String purpose = null, username = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "bookingId" -> bookingId = BsonReads.readInt(reader, 0);
+                case "date" -> date = reader.getCurrentBsonType() == BsonType.STRING
+                        ? BookingSchema.parseLegacyDate(reader.readString())
+                        : BsonReads.readDate(reader);
+                case "paymentStatus" -> paymentStatus = BsonReads.readEnum(reader, PaymentStatus.class, PaymentStatus.UNPAID);
+                case "bookingStatus" -> bookingStatus = BsonReads.readEnum(reader, BookingStatus.class, BookingStatus.PENDING);
+                case "purpose" -> purpose = BsonReads.readString(reader);
+                case "username" -> username = BsonReads.readString(reader);
+                case "bookedBy" -> {
+                    String bookedBy = reader.getCurrentBsonType() == BsonType.DOCUMENT
+                            ? BsonReads.readStringFromDocument(reader, "username")
+                            : BsonReads.readString(reader);
+                    if (username == null) username = bookedBy;
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new Booking(bookingId, null, date, paymentStatus, bookingStatus, purpose, username);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Booking booking, EncoderContext context) {
+        writer.writeStartDocument();
+        writer.writeInt32("bookingId", booking.getBookingId());
+        if (booking.getVenue() != null) {
+            writer.writeInt32("venueId", booking.getVenue().getVenueId());
+            writeString(writer, "venueName", booking.getVenue().getName());
+        }
+        if (booking.getDate() != null) writer.writeDateTime("date", booking.getDate().getTime());
+        writeString(writer, "paymentStatus", booking.getPaymentStatus() != null ? booking.getPaymentStatus().name() : null);
+        writeString(writer, "bookingStatus", booking.getBookingStatus() != null ? booking.getBookingStatus().name() : null);
+        writeString(writer, "purpose", booking.getPurpose());
+        writer.writeStartDocument("bookedBy");
+        writeString(writer, "username", booking.getUsername());
+        writer.writeEndDocument();
+        writer.writeInt32("schemaVersion", BookingSchema.CURRENT_VERSION);
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<Booking> getEncoderClass() {
+        return Booking.class;
+    }
+}
@@ -0,0 +1,63 @@
+package iVenue.repositories.codecs;
+
+import iVenue.models.BookingStatus;
+import iVenue.models.BookingSummary;
+import iVenue.models.PaymentStatus;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import static iVenue.repositories.codecs.VenueCodec.writeString;
+
+/**
+ * Reads the projected table-row view of "bookings" (no amenities or bookedBy).
+ */
+public class BookingSummaryCodec implements Codec<BookingSummary> {
+
+    /** Fields to project when reading BookingSummary rows. */
+    public static final String[] FIELDS = {"bookingId", "venueId", "venueName", "purpose", "bookingStatus", "paymentStatus"};
+
+    @Override
+    public BookingSummary decode(BsonReader reader, DecoderContext context) {
+        int bookingId = 0, venueId = 0;
+        String venueName = null, purpose = null;
+        BookingStatus bookingStatus = BookingStatus.PENDING;
+        PaymentStatus paymentStatus = PaymentStatus.UNPAID;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "bookingId" -> bookingId = BsonReads.readInt(reader, 0);
+                case "venueId" -> venueId = BsonReads.readInt(reader, 0);
+                case "venueName" -> venueName = BsonReads.readString(reader);
+                case "purpose" -> purpose = BsonReads.readString(reader);
+                case "bookingStatus" -> bookingStatus = BsonReads.readEnum(reader, BookingStatus.class, BookingStatus.PENDING);
+                case "paymentStatus" -> paymentStatus = BsonReads.readEnum(reader, PaymentStatus.class, PaymentStatus.UNPAID);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new BookingSummary(bookingId, venueId, venueName, purpose, bookingStatus, paymentStatus);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, BookingSummary b, EncoderContext context) {
+        writer.writeStartDocument();
+        writer.writeInt32("bookingId", b.getBookingId());
+        writer.writeInt32("venueId", b.getVenueId());
+        writeString(writer, "venueName", b.getVenueName());
+        writeString(writer, "purpose", b.getPurpose());
+        writeString(writer, "bookingStatus", b.getBookingStatus() != null ? b.getBookingStatus().name() : null);
+        writeString(writer, "paymentStatus", b.getPaymentStatus() != null ? b.getPaymentStatus().name() : null);
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<BookingSummary> getEncoderClass() {
+        return BookingSummary.class;
+    }
+}
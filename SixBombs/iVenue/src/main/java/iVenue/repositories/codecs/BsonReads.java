@@ -0,0 +1,75 @@
+package iVenue.repositories.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+
+import java.util.Date;
+
+/**
+ * Lenient field readers shared by the model codecs.
+ * Numbers are accepted in any BSON numeric type, and null or unexpected types fall back to a default.
+ */
+final class BsonReads {
+
+    private BsonReads() {
+    }
+
+    static int readInt(BsonReader reader, int def) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> (int) reader.readInt64();
+            case DOUBLE -> (int) reader.readDouble();
+            case DECIMAL128 -> reader.readDecimal128().intValue();
+            default -> skip(reader, def);
+        };
+    }
+
+    static double readDouble(BsonReader reader, double def) {
+        return switch (reader.getCurrentBsonType()) {
+            case DOUBLE -> reader.readDouble();
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            case DECIMAL128 -> reader.readDecimal128().doubleValue();
+            default -> skip(reader, def);
+        };
+    }
+
+    static boolean readBoolean(BsonReader reader, boolean def) {
+        return reader.getCurrentBsonType() == BsonType.BOOLEAN ? reader.readBoolean() : skip(reader, def);
+    }
+
+    static String readString(BsonReader reader) {
+        return reader.getCurrentBsonType() == BsonType.STRING ? reader.readString() : skip(reader, null);
+    }
+
+    static Date readDate(BsonReader reader) {
+        return reader.getCurrentBsonType() == BsonType.DATE_TIME ? new Date(reader.readDateTime()) : skip(reader, null);
+    }
+
+    static <E extends Enum<E>> E readEnum(BsonReader reader, Class<E> type, E def) {
+        String s = readString(reader);
+        if (s == null) return def;
+        for (E e : type.getEnumConstants()) {
+            if (e.name().equalsIgnoreCase(s)) return e;
+        }
+        return def;
+    }
+
+    /** Read one string field out of an embedded document, skipping everything else. */
+    static String readStringFromDocument(BsonReader reader, String field) {
+        if (reader.getCurrentBsonType() != BsonType.DOCUMENT) return skip(reader, null);
+        String value = null;
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (field.equals(reader.readName())) value = readString(reader);
+            else reader.skipValue();
+        }
+        reader.readEndDocument();
+        return value;
+    }
+
+    private static <T> T skip(BsonReader reader, T def) {
+        reader.skipValue();
+        return def;
+    }
+}
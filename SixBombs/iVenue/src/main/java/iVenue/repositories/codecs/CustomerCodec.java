@@ -0,0 +1,62 @@
+package iVenue.repositories.codecs;
+
+import iVenue.models.Customer;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import static iVenue.repositories.codecs.VenueCodec.writeString;
+
+/**
+ * Reads and writes "users" documents as Customer. Admin rows decode too (userType "admin"),
+ * so callers that need an Admin check getUserType().
+ */
+public class CustomerCodec implements Codec<Customer> {
+
+    @Override
+    public Customer decode(BsonReader reader, DecoderContext context) {
+        int userId = 0;
+        String username = null, password = null, firstName = null, lastName = null;
+        String contactNumber = null, email = null, userType = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "userId" -> userId = BsonReads.readInt(reader, 0);
+                case "username" -> username = BsonReads.readString(reader);
+                case "password" -> password = BsonReads.readString(reader);
+                case "firstName" -> firstName = BsonReads.readString(reader);
+                case "lastName" -> lastName = BsonReads.readString(reader);
+                case "contactNumber" -> contactNumber = BsonReads.readString(reader);
+                case "email" -> email = BsonReads.readString(reader);
+                case "userType" -> userType = BsonReads.readString(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new Customer(username, password, userId, firstName, lastName, contactNumber, email, userType);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Customer customer, EncoderContext context) {
+        writer.writeStartDocument();
+        writer.writeInt32("userId", customer.getUserId());
+        writeString(writer, "username", customer.getUsername());
+        writeString(writer, "password", customer.getPassword());
+        writeString(writer, "userType", customer.getUserType() != null ? customer.getUserType() : "customer");
+        writeString(writer, "firstName", customer.getFirstName());
+        writeString(writer, "lastName", customer.getLastName());
+        writeString(writer, "contactNumber", customer.getContactNumber());
+        writeString(writer, "email", customer.getEmail());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<Customer> getEncoderClass() {
+        return Customer.class;
+    }
+}
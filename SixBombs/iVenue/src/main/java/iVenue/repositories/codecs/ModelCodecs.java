@@ -0,0 +1,37 @@
+package iVenue.repositories.codecs;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonDocumentReader;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+/**
+ * Codec registry for the domain models (Venue, Amenity, Customer, Booking and history entries)
+ * and their projected list views (VenueSummary, BookingSummary)
+ * on top of the driver defaults, so collections can be read as MongoCollection&lt;Venue&gt; etc.
+ */
+public class ModelCodecs {
+
+    public static final CodecRegistry REGISTRY = CodecRegistries.fromRegistries(
+            CodecRegistries.fromCodecs(new VenueCodec(), new AmenityCodec(), new CustomerCodec(), new BookingCodec(),
+                    new VenueSummaryCodec(), new BookingSummaryCodec()),
+            MongoClientSettings.getDefaultCodecRegistry());
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    /** Inclusion projection for the given fields, without _id. */
+    public static Document projection(String... fields) {
+        Document projection = new Document("_id", 0);
+        for (String f : fields) projection.append(f, 1);
+        return projection;
+    }
+
+    /** Decode an already materialized Document (used by the in-memory engine). */
+    public static <T> T decode(Document doc, Class<T> type) {
+        if (doc == null) return null;
+        if (type == Document.class) return type.cast(doc);
+        return REGISTRY.get(type).decode(new BsonDocumentReader(doc.toBsonDocument(Document.class, REGISTRY)), DECODER_CONTEXT);
+    }
+}
@@ -0,0 +1,68 @@
+package iVenue.repositories.codecs;
+
+import iVenue.models.Venue;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Reads and writes "venues" documents straight from/to BSON.
+ */
+public class VenueCodec implements Codec<Venue> {
+
+    @Override
+    public Venue decode(BsonReader reader, DecoderContext context) {
+        int venueId = 0, capacity = 0;
+        String name = null, description = null, location = null, imageRef = null;
+        boolean availability = false;
+        double price = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "venueId" -> venueId = BsonReads.readInt(reader, 0);
+                case "name" -> name = BsonReads.readString(reader);
+                case "description" -> description = BsonReads.readString(reader);
+                case "capacity" -> capacity = BsonReads.readInt(reader, 0);
+                case "availability" -> availability = BsonReads.readBoolean(reader, false);
+                case "location" -> location = BsonReads.readString(reader);
+                case "price" -> price = BsonReads.readDouble(reader, 0);
+                case "imageRef" -> imageRef = BsonReads.readString(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        Venue venue = new Venue(venueId, name, description, capacity, availability, location, price);
+        venue.setImageRef(imageRef);
+        return venue;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Venue venue, EncoderContext context) {
+        writer.writeStartDocument();
+        writer.writeInt32("venueId", venue.getVenueId());
+        writeString(writer, "name", venue.getName());
+        writeString(writer, "description", venue.getDescription());
+        writer.writeInt32("capacity", venue.getCapacity());
+        writer.writeBoolean("availability", venue.isAvailability());
+        writeString(writer, "location", venue.getLocation());
+        writer.writeDouble("price", venue.getPrice());
+        writer.writeBoolean("isFree", venue.isFree());
+        if (venue.getImageRef() != null) writer.writeString("imageRef", venue.getImageRef());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<Venue> getEncoderClass() {
+        return Venue.class;
+    }
+
+    static void writeString(BsonWriter writer, String name, String value) {
+        if (value == null) writer.writeNull(name);
+        else writer.writeString(name, value);
+    }
+}
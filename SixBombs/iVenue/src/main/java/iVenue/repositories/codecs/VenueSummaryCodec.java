@@ -0,0 +1,56 @@
+package iVenue.repositories.codecs;
+
+import iVenue.models.VenueSummary;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import static iVenue.repositories.codecs.VenueCodec.writeString;
+
+/**
+ * Reads the projected { venueId, name, price, imageRef } view of "venues".
+ */
+public class VenueSummaryCodec implements Codec<VenueSummary> {
+
+    /** Fields to project when reading VenueSummary rows. */
+    public static final String[] FIELDS = {"venueId", "name", "price", "imageRef"};
+
+    @Override
+    public VenueSummary decode(BsonReader reader, DecoderContext context) {
+        int venueId = 0;
+        String name = null, imageRef = null;
+        double price = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "venueId" -> venueId = BsonReads.readInt(reader, 0);
+                case "name" -> name = BsonReads.readString(reader);
+                case "price" -> price = BsonReads.readDouble(reader, 0);
+                case "imageRef" -> imageRef = BsonReads.readString(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new VenueSummary(venueId, name, price, imageRef);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, VenueSummary venue, EncoderContext context) {
+        writer.writeStartDocument();
+        writer.writeInt32("venueId", venue.getVenueId());
+        writeString(writer, "name", venue.getName());
+        writer.writeDouble("price", venue.getPrice());
+        if (venue.getImageRef() != null) writer.writeString("imageRef", venue.getImageRef());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<VenueSummary> getEncoderClass() {
+        return VenueSummary.class;
+    }
+}
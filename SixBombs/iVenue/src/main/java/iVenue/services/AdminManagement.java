@@ -1,5 +1,7 @@
 package iVenue.services;
 
+import org.bson.Document;
+
 import java.util.List;
 
 /**
@@ -41,6 +43,17 @@ public interface AdminManagement<T> {
      */
     List<T> getAll();
 
+    /**
+     * Get one page of entities (for large tables), using keyset pagination on a unique indexed field.
+     *
+     * @param afterKey value of the sort field on the last row already shown (Page.getNextKey()), or null for the first page
+     * @param limit    maximum number of rows in the page
+     * @param sort     single-field sort such as { "userId": 1 }; null sorts by ID ascending
+     * @param filter   additional MongoDB-style filter, or null
+     * @return the rows and the key to continue from
+     */
+    Page<T> page(Object afterKey, int limit, Document sort, Document filter);
+
     /**
      * Get an entity by its ID.
      *
@@ -0,0 +1,124 @@
+package iVenue.services;
+
+import org.bson.Document;
+import iVenue.models.Amenity;
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.IdAllocator;
+import iVenue.repositories.Stores;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class AmenityAdmin implements AdminManagement<Amenity> {
+
+    private final DocumentStore store;
+
+    /** Unique, indexed fields the admin tables can page by */
+    private static final Map<String, Function<Amenity, Object>> PAGE_KEYS = Map.of(
+            "amenityId", Amenity::getAmenityId);
+
+    /** Amenity catalog shared by every AmenityAdmin; the write paths below invalidate it */
+    private static final CatalogCache<Amenity> CATALOG = new CatalogCache<>("amenities",
+            () -> Stores.get("amenities").find(new Document(), Amenity.class),
+            ids -> Stores.get("amenities").find(new Document("amenityId", new Document("$in", new ArrayList<>(ids))), Amenity.class),
+            Amenity::getAmenityId, Amenity::new, CatalogCache.DEFAULT_MAX_ENTRIES, CatalogCache.DEFAULT_TTL_MILLIS);
+
+    /** Name search; the write paths below keep it current */
+    private static final SearchIndex<Amenity> SEARCH = new SearchIndex<>("amenities", Amenity::getAmenityId,
+            () -> Stores.get("amenities").find(new Document(), Amenity.class), List.of(Amenity::getName));
+
+    public AmenityAdmin() {
+        this(Stores.get("amenities"));
+    }
+
+    /** Writes go to the given store instead of "amenities"; getAll/getById still read the shared catalog. */
+    public AmenityAdmin(DocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean create(Amenity amenity) {
+        if (amenity == null) return false;
+
+        amenity.setAmenityId(IdAllocator.next("amenities", "amenityId"));
+
+        Document doc = new Document("amenityId", amenity.getAmenityId())
+                .append("name", amenity.getName())
+                .append("description", amenity.getDescription())
+                .append("quantity", amenity.getQuantity())
+                .append("price", amenity.getPrice());
+
+        store.insert(doc);
+        SEARCH.put(amenity);
+        SEARCH.advanceTo(CATALOG.invalidate(amenity.getAmenityId()));
+        return true;
+    }
+
+    @Override
+    public boolean update(Amenity amenity) {
+        if (amenity == null) return false;
+
+        Document updateFields = new Document()
+                .append("name", amenity.getName())
+                .append("description", amenity.getDescription())
+                .append("quantity", amenity.getQuantity())
+                .append("price", amenity.getPrice());
+
+        boolean matched = store.updateOne(new Document("amenityId", amenity.getAmenityId()), new Document("$set", updateFields)) > 0;
+        if (matched) {
+            SEARCH.put(amenity);
+            SEARCH.advanceTo(CATALOG.invalidate(amenity.getAmenityId()));
+        }
+        return matched;
+    }
+
+    @Override
+    public boolean delete(int id) {
+        boolean deleted = store.deleteOne(new Document("amenityId", id)) > 0;
+        if (deleted) {
+            SEARCH.remove(id);
+            SEARCH.advanceTo(CATALOG.invalidate(id));
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<Amenity> getAll() {
+        return CATALOG.getAll();
+    }
+
+    @Override
+    public Amenity getById(int id) {
+        return CATALOG.getById(id);
+    }
+
+    /** All amenities whose ID is in the collection; uncached ones are fetched in one query */
+    public List<Amenity> getByIds(Collection<Integer> ids) {
+        return new ArrayList<>(CATALOG.getByIds(ids).values());
+    }
+
+    /** Amenities whose name matches the text, best first; tolerates typos */
+    public List<Amenity> search(String text, int limit) {
+        // Reload if another client changed the catalog since the index was built
+        SEARCH.syncTo(CATALOG.getVersion());
+        return SEARCH.search(text, limit);
+    }
+
+    /** Hit/miss counters of the shared amenity catalog */
+    public static CatalogCache<Amenity> catalog() {
+        return CATALOG;
+    }
+
+    /** Batching, memoizing getById for one request scope (see BatchLoader) */
+    public BatchLoader<Amenity> loader() {
+        return new BatchLoader<>(this::getByIds, Amenity::getAmenityId);
+    }
+
+    @Override
+    public Page<Amenity> page(Object afterKey, int limit, Document sort, Document filter) {
+        return Pages.seek(store, Amenity.class, PAGE_KEYS, "amenityId", null, afterKey, limit, sort, filter);
+    }
+}
@@ -0,0 +1,45 @@
+package iVenue.services;
+
+import org.bson.Document;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking view of an AdminManagement service: every call runs on the IoExecutor.
+ * Panels chain their UI updates onto the returned futures (see ui.FxAsync).
+ *
+ * @param <T> the type of entity managed
+ */
+public class AsyncAdmin<T> {
+
+    private final AdminManagement<T> service;
+
+    public AsyncAdmin(AdminManagement<T> service) {
+        this.service = service;
+    }
+
+    public CompletableFuture<Boolean> create(T entity) {
+        return IoExecutor.supply(() -> service.create(entity));
+    }
+
+    public CompletableFuture<Boolean> update(T entity) {
+        return IoExecutor.supply(() -> service.update(entity));
+    }
+
+    public CompletableFuture<Boolean> delete(int id) {
+        return IoExecutor.supply(() -> service.delete(id));
+    }
+
+    public CompletableFuture<List<T>> getAll() {
+        return IoExecutor.supply(service::getAll);
+    }
+
+    public CompletableFuture<T> getById(int id) {
+        return IoExecutor.supply(() -> service.getById(id));
+    }
+
+    public CompletableFuture<Page<T>> page(Object afterKey, int limit, Document sort, Document filter) {
+        return IoExecutor.supply(() -> service.page(afterKey, limit, sort, filter));
+    }
+}
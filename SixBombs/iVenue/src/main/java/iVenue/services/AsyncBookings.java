@@ -0,0 +1,44 @@
+package iVenue.services;
+
+import iVenue.models.Booking;
+import iVenue.models.BookingSummary;
+import iVenue.models.Customer;
+import iVenue.models.Venue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking versions of the Booking static operations, run on the IoExecutor.
+ */
+public final class AsyncBookings {
+
+    private AsyncBookings() {}
+
+    public static CompletableFuture<Booking> createBooking(Customer customer, Venue venue,
+                                                           List<Booking.AmenitySelection> selectedAmenities,
+                                                           String purpose, boolean payNow) {
+        return IoExecutor.supply(() -> Booking.createBookingGUI(customer, venue, selectedAmenities, purpose, payNow));
+    }
+
+    /** Place a booking through the single-transaction pipeline */
+    public static CompletableFuture<Booking> submit(BookingCommand command) {
+        return IoExecutor.supply(() -> BookingPipeline.submit(command));
+    }
+
+    public static CompletableFuture<Boolean> cancelBooking(Customer customer, int bookingId) {
+        return IoExecutor.supply(() -> Booking.cancelBookingGUI(customer, bookingId));
+    }
+
+    public static CompletableFuture<Boolean> payBooking(Customer customer, int bookingId, boolean fullPayment) {
+        return IoExecutor.supply(() -> Booking.payBookingGUI(customer, bookingId, fullPayment));
+    }
+
+    public static CompletableFuture<Boolean> finishBooking(int bookingId) {
+        return IoExecutor.supply(() -> Booking.finishBookingGUI(bookingId));
+    }
+
+    public static CompletableFuture<List<BookingSummary>> viewBookingSummaries(Customer customer) {
+        return IoExecutor.supply(() -> Booking.viewBookingSummaries(customer));
+    }
+}
@@ -0,0 +1,37 @@
+package iVenue.services;
+
+import iVenue.models.Customer;
+import iVenue.models.User;
+import iVenue.repositories.UserStore;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking UserStore operations (and customer registration), run on the IoExecutor.
+ */
+public final class AsyncUsers {
+
+    private AsyncUsers() {}
+
+    public static CompletableFuture<User> findByCredentials(String username, String password) {
+        return IoExecutor.supply(() -> UserStore.findByCredentials(username, password));
+    }
+
+    public static CompletableFuture<Customer> registerCustomer(String username, String password, String firstName,
+                                                               String lastName, String contactNumber, String email) {
+        return IoExecutor.supply(() -> Customer.registerCustomerGUI(username, password, firstName, lastName, contactNumber, email));
+    }
+
+    public static CompletableFuture<List<User>> getAll() {
+        return IoExecutor.supply(UserStore::getAll);
+    }
+
+    public static CompletableFuture<User> getById(int userId) {
+        return IoExecutor.supply(() -> UserStore.getById(userId));
+    }
+
+    public static CompletableFuture<Boolean> delete(int userId) {
+        return IoExecutor.supply(() -> UserStore.delete(userId));
+    }
+}
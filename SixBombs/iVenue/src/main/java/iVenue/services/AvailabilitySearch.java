@@ -0,0 +1,119 @@
+package iVenue.services;
+
+import iVenue.models.Venue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * "Which venues are free on these dates, for N guests, at most P, in location L" in one call.
+ *
+ * Listed venues from the VenueAdmin catalog are kept in two sorted arrays, by capacity and by price,
+ * rebuilt only when the catalog's version stamp moves (so also for catalogs too large for CatalogCache). Each search binary-searches both ranges,
+ * scans the narrower one, checks the other criteria per row and drops venues that hold a reservation
+ * in the requested days (one query over the reservations' day index).
+ */
+public final class AvailabilitySearch {
+
+    /** Sorted views of the catalog at one version. */
+    private record Index(long version, Venue[] byCapacity, int[] capacities, Venue[] byPrice, double[] prices) {
+
+        static Index build(long version, List<Venue> venues) {
+            Venue[] listed = venues.stream().filter(Venue::isAvailability).toArray(Venue[]::new);
+
+            Venue[] byCapacity = listed.clone();
+            Arrays.sort(byCapacity, Comparator.comparingInt(Venue::getCapacity));
+            int[] capacities = new int[byCapacity.length];
+            for (int i = 0; i < byCapacity.length; i++) capacities[i] = byCapacity[i].getCapacity();
+
+            Venue[] byPrice = listed.clone();
+            Arrays.sort(byPrice, Comparator.comparingDouble(Venue::getPrice));
+            double[] prices = new double[byPrice.length];
+            for (int i = 0; i < byPrice.length; i++) prices[i] = byPrice[i].getPrice();
+
+            return new Index(version, byCapacity, capacities, byPrice, prices);
+        }
+    }
+
+    private static volatile Index index;
+
+    private AvailabilitySearch() {}
+
+    /**
+     * Listed venues with no reservation in [from, to), ordered by price.
+     *
+     * @param minCapacity guests to fit; 0 for any
+     * @param maxPrice    upper price bound, or null for any
+     * @param location    case-insensitive part of the location, or null/blank for any
+     */
+    public static List<Venue> search(LocalDate from, LocalDate to, int minCapacity, Double maxPrice, String location) {
+        if (from == null || to == null || !to.isAfter(from)) throw new IllegalArgumentException("Invalid date range");
+
+        Index idx = index(VenueAdmin.catalog());
+        String place = location == null || location.isBlank() ? null : location.trim().toLowerCase(Locale.ROOT);
+
+        // Both range lookups are O(log n); only the narrower range is scanned
+        int capacityStart = firstAtLeast(idx.capacities(), minCapacity);
+        int priceEnd = maxPrice == null ? idx.prices().length : firstAbove(idx.prices(), maxPrice);
+        boolean scanCapacity = idx.capacities().length - capacityStart <= priceEnd;
+
+        List<Venue> candidates = new ArrayList<>();
+        if (scanCapacity) {
+            for (int i = capacityStart; i < idx.byCapacity().length; i++) {
+                Venue v = idx.byCapacity()[i];
+                if ((maxPrice == null || v.getPrice() <= maxPrice) && inLocation(v, place)) candidates.add(v);
+            }
+        } else {
+            for (int i = 0; i < priceEnd; i++) {
+                Venue v = idx.byPrice()[i];
+                if (v.getCapacity() >= minCapacity && inLocation(v, place)) candidates.add(v);
+            }
+        }
+        if (candidates.isEmpty()) return candidates;
+
+        Set<Integer> busy = ReservationEngine.busyVenues(from, to);
+        List<Venue> out = new ArrayList<>(candidates.size());
+        for (Venue v : candidates) if (!busy.contains(v.getVenueId())) out.add(new Venue(v)); // index rows are shared
+        out.sort(Comparator.comparingDouble(Venue::getPrice).thenComparingInt(Venue::getVenueId));
+        return out;
+    }
+
+    private static Index index(CatalogCache<Venue> catalog) {
+        long version = catalog.getVersion();
+        Index idx = index;
+        if (idx == null || idx.version() != version) {
+            idx = Index.build(version, catalog.getAll());
+            index = idx;
+        }
+        return idx;
+    }
+
+    private static boolean inLocation(Venue v, String place) {
+        return place == null || (v.getLocation() != null && v.getLocation().toLowerCase(Locale.ROOT).contains(place));
+    }
+
+    /** First position whose value is >= key (length when none). */
+    private static int firstAtLeast(int[] values, int key) {
+        int lo = 0, hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /** First position whose value is > key (length when none). */
+    private static int firstAbove(double[] values, double key) {
+        int lo = 0, hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] <= key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
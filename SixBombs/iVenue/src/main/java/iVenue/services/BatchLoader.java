@@ -0,0 +1,81 @@
+package iVenue.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * DataLoader-style batching for ID lookups within one request scope (a screen load, a payment run).
+ *
+ * IDs passed to queue() or loadMany() are fetched together by the batch function (one $in query)
+ * and memoized, so N lookups for the same scope cost one round trip instead of N.
+ * Create a new loader per scope: it never invalidates, and it is not thread-safe.
+ *
+ * @param <T> the entity type
+ */
+public class BatchLoader<T> {
+
+    private final Function<Collection<Integer>, List<T>> batchFn;
+    private final ToIntFunction<T> idOf;
+    private final Map<Integer, T> cache = new HashMap<>();
+    private final Set<Integer> pending = new LinkedHashSet<>();
+    private int queryCount;
+
+    /**
+     * @param batchFn fetches all entities whose ID is in the given collection (missing IDs are simply absent)
+     * @param idOf    reads the ID back from a fetched entity
+     */
+    public BatchLoader(Function<Collection<Integer>, List<T>> batchFn, ToIntFunction<T> idOf) {
+        this.batchFn = batchFn;
+        this.idOf = idOf;
+    }
+
+    /** Remember an ID for the next dispatch without querying yet. */
+    public void queue(int id) {
+        if (!cache.containsKey(id)) pending.add(id);
+    }
+
+    /** Entity for the ID, or null; also fetches everything queued so far in the same query. */
+    public T load(int id) {
+        queue(id);
+        dispatch();
+        return cache.get(id);
+    }
+
+    /** Entities by ID, in request order; IDs that do not exist are left out. */
+    public Map<Integer, T> loadMany(Collection<Integer> ids) {
+        for (Integer id : ids) queue(id);
+        dispatch();
+
+        Map<Integer, T> out = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            T value = cache.get(id);
+            if (value != null) out.put(id, value);
+        }
+        return out;
+    }
+
+    /** Fetch all queued IDs in one batch. */
+    public void dispatch() {
+        if (pending.isEmpty()) return;
+        List<Integer> keys = new ArrayList<>(pending);
+        pending.clear();
+
+        // Misses are memoized too, so a missing ID is not asked for again
+        for (Integer key : keys) cache.put(key, null);
+        for (T value : batchFn.apply(keys)) cache.put(idOf.applyAsInt(value), value);
+        queryCount++;
+    }
+
+    /** Number of batch queries issued so far. */
+    public int getQueryCount() {
+        return queryCount;
+    }
+}
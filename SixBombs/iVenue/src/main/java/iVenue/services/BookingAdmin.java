@@ -0,0 +1,136 @@
+package iVenue.services;
+
+import iVenue.models.*;
+import iVenue.repositories.BookingSchema;
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.IdAllocator;
+import iVenue.repositories.Stores;
+import iVenue.repositories.Transactions;
+import org.bson.Document;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class BookingAdmin implements AdminManagement<Booking> {
+
+    private final DocumentStore store;
+
+    /** Unique, indexed fields the admin tables can page by */
+    private static final Map<String, Function<Booking, Object>> PAGE_KEYS = Map.of(
+            "bookingId", Booking::getBookingId);
+
+    public BookingAdmin() {
+        this(Stores.get("bookings"));
+    }
+
+    /** Bookings kept in the given store instead of the shared "bookings" collection. */
+    public BookingAdmin(DocumentStore store) {
+        this.store = store;
+    }
+
+    // Create booking (GUI-friendly)
+    @Override
+    public boolean create(Booking booking) {
+        if (booking == null || booking.getVenue() == null) return false;
+
+        booking.setBookingId(IdAllocator.next("bookings", "bookingId"));
+
+        // Build amenities docs
+        List<Document> amenityDocs = new ArrayList<>();
+        if (booking.getAmenities() != null) {
+            for (Amenity a : booking.getAmenities()) {
+                amenityDocs.add(new Document("amenityId", a.getAmenityId())
+                        .append("name", a.getName())
+                        .append("price", a.getPrice())
+                        .append("quantity", a.getQuantity()));
+            }
+        }
+
+        // Build MongoDB document
+        Document doc = new Document("bookingId", booking.getBookingId())
+                .append("venueId", booking.getVenue().getVenueId())
+                .append("venueName", booking.getVenue().getName())
+                .append("date", BookingSchema.toStoredDay(booking.getDate() != null
+                        ? booking.getDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate()
+                        : LocalDate.now()))
+                .append("paymentStatus", booking.getPaymentStatus().name())
+                .append("bookingStatus", booking.getBookingStatus().name())
+                .append("purpose", booking.getPurpose())
+                .append("bookedBy", new Document("username", booking.getUsername()))
+                .append("amenities", amenityDocs)
+                .append("price", booking.getVenue().getPrice())
+                .append("isFree", booking.getVenue().isFree())
+                .append("schemaVersion", BookingSchema.CURRENT_VERSION);
+
+        store.insert(doc);
+        return true;
+    }
+
+    // Update booking status (GUI-friendly)
+    @Override
+    public boolean update(Booking booking) {
+        if (booking == null) return false;
+
+        Document filter = new Document("bookingId", booking.getBookingId());
+        Document update = new Document("$set", new Document("bookingStatus", booking.getBookingStatus().name())
+                .append("paymentStatus", booking.getPaymentStatus().name()));
+
+        // Matched count is 0 when the booking does not exist; no separate lookup needed
+        if (booking.getBookingStatus() != BookingStatus.FINISHED &&
+                booking.getBookingStatus() != BookingStatus.CANCELLED) {
+            return store.updateOne(filter, update) > 0;
+        }
+
+        // Finished or cancelled: the status change and the freed day(s) commit together
+        return Transactions.inTransaction(() -> {
+            Document before = store.findOneAndUpdate(filter, update, false);
+            if (before == null) return false;
+            Transactions.onRollback(() -> store.updateOne(filter, new Document("$set",
+                    new Document("bookingStatus", before.get("bookingStatus"))
+                            .append("paymentStatus", before.get("paymentStatus")))));
+            ReservationEngine.release(booking.getBookingId());
+            return true;
+        });
+    }
+
+    // Delete booking by ID
+    @Override
+    public boolean delete(int bookingId) {
+        // Delete and free the reserved day(s) together; the removed document feeds the history update
+        Document doc = ReservationEngine.deleteAndRelease(store, new Document("bookingId", bookingId));
+        if (doc == null) return false;
+
+        // Record deleted history
+        Booking snapshot = new Booking(
+                bookingId,
+                null,
+                null,
+                PaymentStatus.valueOf(doc.getString("paymentStatus")),
+                BookingStatus.valueOf(doc.getString("bookingStatus")),
+                doc.getString("purpose"),
+                BookingSchema.username(doc)
+        );
+        BookingHistory.addDeleted(snapshot);
+        return true;
+    }
+
+    // Fetch all bookings
+    public List<Booking> getAll() {
+        // Venue object can be fetched separately if needed
+        return store.find(new Document(), Booking.class);
+    }
+
+    // Fetch single booking by ID
+    public Booking getById(int bookingId) {
+        return store.findOne(new Document("bookingId", bookingId), Booking.class);
+    }
+
+    @Override
+    public Page<Booking> page(Object afterKey, int limit, Document sort, Document filter) {
+        return Pages.seek(store, Booking.class, PAGE_KEYS, "bookingId", null, afterKey, limit, sort, filter);
+    }
+}
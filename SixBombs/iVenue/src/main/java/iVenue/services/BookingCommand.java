@@ -0,0 +1,53 @@
+package iVenue.services;
+
+import iVenue.models.Booking;
+import iVenue.models.BookingStatus;
+import iVenue.models.Customer;
+import iVenue.models.PaymentStatus;
+import iVenue.models.Venue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Everything needed to place a booking, collected up front so BookingPipeline can write it in one go.
+ * The customer is the logged-in session's profile; it is copied into bookedBy as-is.
+ */
+public class BookingCommand {
+    private final Customer customer;
+    private final Venue venue;
+    private final LocalDate date;
+    private final PaymentStatus payment;
+    private final BookingStatus status;
+    private final List<Booking.AmenitySelection> amenities;
+    private final String purpose;
+
+    /**
+     * @param payment PAID or DOWNPAID for a confirmed booking, UNPAID for a pending one
+     */
+    public BookingCommand(Customer customer, Venue venue, LocalDate date, PaymentStatus payment,
+                          List<Booking.AmenitySelection> amenities, String purpose) {
+        this(customer, venue, date, payment,
+                payment == PaymentStatus.UNPAID ? BookingStatus.PENDING : BookingStatus.BOOKED, amenities, purpose);
+    }
+
+    /** Booking with an explicit status, e.g. confirmed (BOOKED) but still UNPAID. */
+    public BookingCommand(Customer customer, Venue venue, LocalDate date, PaymentStatus payment, BookingStatus status,
+                          List<Booking.AmenitySelection> amenities, String purpose) {
+        this.customer = customer;
+        this.venue = venue;
+        this.date = date;
+        this.payment = payment;
+        this.status = status;
+        this.amenities = amenities != null ? amenities : List.of();
+        this.purpose = purpose;
+    }
+
+    public Customer getCustomer() { return customer; }
+    public Venue getVenue() { return venue; }
+    public LocalDate getDate() { return date; }
+    public PaymentStatus getPayment() { return payment; }
+    public BookingStatus getStatus() { return status; }
+    public List<Booking.AmenitySelection> getAmenities() { return amenities; }
+    public String getPurpose() { return purpose; }
+}
@@ -0,0 +1,127 @@
+package iVenue.services;
+
+import iVenue.config.Diagnostics;
+import iVenue.repositories.BookingSchema;
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.Stores;
+import iVenue.repositories.codecs.ModelCodecs;
+import org.bson.Document;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background rewrite of legacy "bookings" documents into the current BookingSchema shape.
+ *
+ * Walks the outdated documents in bookingId order, BATCH_SIZE at a time with a short pause between
+ * batches, and writes each one back with a conditional update that only applies if the changed fields
+ * still hold the values that were read. The app keeps running meanwhile (readers upcast on the fly),
+ * and a concurrent write makes the migrator skip that row instead of overwriting it; the next run
+ * picks it up. Progress is printed after every batch and available from progress().
+ */
+public final class BookingMigrator {
+
+    /** Overridable with -Divenue.migrate.batchSize / -Divenue.migrate.pauseMs */
+    public static final int BATCH_SIZE = Integer.getInteger("ivenue.migrate.batchSize", 200);
+    private static final long PAUSE_MILLIS = Long.getLong("ivenue.migrate.pauseMs", 50);
+
+    private static final AtomicLong pending = new AtomicLong();
+    private static final AtomicLong migrated = new AtomicLong();
+    private static final AtomicLong skipped = new AtomicLong();
+    private static final AtomicLong failed = new AtomicLong();
+    private static volatile String state = "not started";
+
+    private BookingMigrator() {}
+
+    /** Run the migration on a daemon thread so startup is not held up. */
+    public static void startAsync() {
+        Thread t = new Thread(BookingMigrator::run, "booking-migrator");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** Migrate every outdated booking; safe to run again (already current rows are not read). */
+    public static void run() {
+        run(Stores.get("bookings"));
+    }
+
+    /** Same, on the given store (tests). */
+    static void run(DocumentStore store) {
+        Document outdated = new Document("$or", List.of(
+                new Document("schemaVersion", new Document("$exists", false)),
+                new Document("schemaVersion", new Document("$lt", BookingSchema.CURRENT_VERSION))));
+
+        try {
+            state = "running";
+            pending.set(store.find(outdated, ModelCodecs.projection("bookingId"), Document.class).size());
+            if (pending.get() == 0) {
+                state = "done";
+                return;
+            }
+
+            int after = Integer.MIN_VALUE;
+            while (true) {
+                Document filter = new Document("$and", List.of(outdated,
+                        new Document("bookingId", new Document("$gt", after))));
+                List<Document> batch = store.findSorted(filter, new Document("bookingId", 1), BATCH_SIZE, Document.class);
+                if (batch.isEmpty()) break;
+
+                for (Document doc : batch) {
+                    after = doc.getInteger("bookingId");
+                    migrate(store, doc);
+                }
+                Diagnostics.log(progress());
+                Thread.sleep(PAUSE_MILLIS);
+            }
+            state = "done";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = "interrupted";
+        } catch (Exception e) {
+            e.printStackTrace();
+            state = "failed: " + e.getMessage();
+        }
+        Diagnostics.log(progress());
+    }
+
+    private static void migrate(DocumentStore store, Document doc) {
+        try {
+            Document current = BookingSchema.upcast(doc);
+
+            // Only the fields the upcasters changed are written, guarded by their old values
+            Document filter = new Document("bookingId", doc.get("bookingId"));
+            Document set = new Document();
+            Document unset = new Document();
+            for (Map.Entry<String, Object> e : current.entrySet()) {
+                if (Objects.equals(e.getValue(), doc.get(e.getKey()))) continue;
+                set.append(e.getKey(), e.getValue());
+                filter.append(e.getKey(), doc.containsKey(e.getKey())
+                        ? doc.get(e.getKey()) : new Document("$exists", false));
+            }
+            for (String field : doc.keySet()) {
+                if (current.containsKey(field)) continue;
+                unset.append(field, "");
+                filter.append(field, doc.get(field));
+            }
+
+            Document update = new Document("$set", set);
+            if (!unset.isEmpty()) update.append("$unset", unset);
+            if (store.updateOne(filter, update) > 0) migrated.incrementAndGet();
+            else skipped.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            e.printStackTrace();
+        }
+    }
+
+    public static long getMigrated() { return migrated.get(); }
+    public static long getSkipped() { return skipped.get(); }
+    public static long getFailed() { return failed.get(); }
+
+    public static String progress() {
+        return "booking schema migration (" + state + "): " + migrated + "/" + pending + " migrated, "
+                + skipped + " skipped (changed concurrently), " + failed + " failed";
+    }
+}
@@ -0,0 +1,103 @@
+package iVenue.services;
+
+import iVenue.models.Booking;
+import iVenue.models.BookingStatus;
+import iVenue.models.Customer;
+import iVenue.models.Venue;
+import iVenue.repositories.BookingSchema;
+import iVenue.repositories.IdAllocator;
+import iVenue.repositories.Stores;
+import iVenue.repositories.Transactions;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Places a booking from a BookingCommand with the fewest possible round trips:
+ *   1. booking ID from the local IdAllocator block (no round trip most of the time)
+ *   2. in one transaction: read of the venue (it must still exist and be listed), reservation of the
+ *      chosen day (ReservationEngine) + insert of the complete booking
+ * The booking is written with its final date and payment status, and the venue name and price as stored
+ * at that moment. bookedBy comes from the session's customer profile, so there is no users read
+ * and no follow-up patch.
+ */
+public final class BookingPipeline {
+
+    private static final LatencyStats LATENCY = new LatencyStats("booking");
+
+    private BookingPipeline() {}
+
+    /**
+     * @return the created booking
+     * @throws IllegalArgumentException when the command is incomplete
+     * @throws IllegalStateException    when the venue no longer exists, is not available, or is already booked on that day
+     */
+    public static Booking submit(BookingCommand command) {
+        if (command == null || command.getCustomer() == null || command.getVenue() == null || command.getDate() == null) {
+            throw new IllegalArgumentException("Customer, venue and date are required");
+        }
+
+        long start = System.nanoTime();
+        try {
+            int bookingId = IdAllocator.next("bookings", "bookingId");
+            BookingStatus status = command.getStatus();
+            Date date = BookingSchema.toStoredDay(command.getDate());
+            int venueId = command.getVenue().getVenueId();
+
+            // The venue the customer picked may have been deleted or unlisted since the screen loaded
+            Venue venue = Transactions.inTransaction(() -> {
+                Venue stored = Stores.get("venues").findOne(new Document("venueId", venueId), Venue.class);
+                if (stored == null) throw new IllegalStateException("This venue no longer exists");
+                if (!stored.isAvailability()) throw new IllegalStateException(stored.getName() + " is not available for booking");
+
+                ReservationEngine.reserve(venueId, command.getDate(), command.getDate().plusDays(1), bookingId);
+                Stores.get("bookings").insert(toDocument(bookingId, command, stored, status, date));
+                return stored;
+            });
+
+            return new Booking(bookingId, venue, date, command.getPayment(), status,
+                    command.getPurpose(), command.getCustomer().getUsername());
+        } finally {
+            LATENCY.record(System.nanoTime() - start);
+        }
+    }
+
+    /** p50/p99 of submit() since startup. */
+    public static LatencyStats latency() {
+        return LATENCY;
+    }
+
+    private static Document toDocument(int bookingId, BookingCommand command, Venue venue, BookingStatus status, Date date) {
+        Customer customer = command.getCustomer();
+
+        List<Document> amenitiesDocs = new ArrayList<>();
+        for (Booking.AmenitySelection sel : command.getAmenities()) {
+            amenitiesDocs.add(new Document("amenityId", sel.getAmenityId())
+                    .append("quantity", sel.getQuantity())
+                    .append("price", sel.getPrice() * sel.getQuantity()));
+        }
+
+        Document bookedBy = new Document("userId", customer.getUserId())
+                .append("username", customer.getUsername())
+                .append("firstName", customer.getFirstName())
+                .append("lastName", customer.getLastName())
+                .append("contactNumber", customer.getContactNumber())
+                .append("email", customer.getEmail());
+
+        return new Document("bookingId", bookingId)
+                .append("venueId", venue.getVenueId())
+                .append("venueName", venue.getName())
+                .append("userId", customer.getUserId())
+                .append("bookedBy", bookedBy)
+                .append("date", date)
+                .append("paymentStatus", command.getPayment().name())
+                .append("bookingStatus", status.name())
+                .append("purpose", command.getPurpose())
+                .append("amenities", amenitiesDocs)
+                .append("price", venue.getPrice())
+                .append("isFree", venue.isFree())
+                .append("schemaVersion", BookingSchema.CURRENT_VERSION);
+    }
+}
@@ -0,0 +1,271 @@
+package iVenue.services;
+
+import iVenue.repositories.Stores;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Shared read-through cache for a rarely changing catalog (venues, amenities).
+ *
+ * Freshness is tracked with a version stamp kept in the counters store ("catalog.&lt;name&gt;"):
+ * every service write path calls invalidate(id), which bumps the stamp and drops the local copy.
+ * Once a snapshot is older than the TTL it is still served while one background refresh
+ * re-reads the stamp and reloads only if another writer changed it (stale-while-revalidate).
+ *
+ * Catalogs larger than maxEntries are not held as a whole; single lookups then go through a
+ * bounded LRU of individual rows instead.
+ *
+ * The cached rows are mutable model objects shared by every caller, so reads hand out copies:
+ * editing a returned row never changes what the next caller sees.
+ */
+public class CatalogCache<T> {
+
+    /** Defaults for the catalogs, overridable with -Divenue.catalog.maxEntries / -Divenue.catalog.ttlSeconds */
+    public static final int DEFAULT_MAX_ENTRIES = Integer.getInteger("ivenue.catalog.maxEntries", 5_000);
+    public static final long DEFAULT_TTL_MILLIS = Long.getLong("ivenue.catalog.ttlSeconds", 300) * 1000;
+
+    private static final ExecutorService REFRESHER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "catalog-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Immutable view of the whole catalog at one version. */
+    private record Snapshot<T>(List<T> all, Map<Integer, T> byId, long version, long loadedAt) {}
+
+    private record Entry<T>(T value, long loadedAt) {}
+
+    private final String name;
+    private final String versionKey;
+    private final Supplier<List<T>> loadAll;
+    private final Function<Collection<Integer>, List<T>> loadByIds;
+    private final ToIntFunction<T> idOf;
+    private final UnaryOperator<T> copyOf;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private volatile Snapshot<T> snapshot;
+    private volatile boolean overCapacity;
+    private final Map<Integer, Entry<T>> rows;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+
+    public CatalogCache(String name, Supplier<List<T>> loadAll, Function<Collection<Integer>, List<T>> loadByIds,
+                        ToIntFunction<T> idOf, UnaryOperator<T> copyOf, int maxEntries, long ttlMillis) {
+        this.name = name;
+        this.versionKey = "catalog." + name;
+        this.loadAll = loadAll;
+        this.loadByIds = loadByIds;
+        this.idOf = idOf;
+        this.copyOf = copyOf;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.rows = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry<T>> eldest) {
+                return size() > CatalogCache.this.maxEntries;
+            }
+        });
+    }
+
+    // ==============================
+    // READS
+    // ==============================
+
+    /** Whole catalog, as copies the caller may keep or edit. */
+    public List<T> getAll() {
+        Snapshot<T> s = current();
+        if (s != null) {
+            List<T> out = new ArrayList<>(s.all().size());
+            for (T value : s.all()) out.add(copyOf.apply(value));
+            return out;
+        }
+
+        // Too large to keep: every call reads through, and caches again once the catalog has shrunk
+        misses.incrementAndGet();
+        List<T> all = loadAll.get();
+        if (all.size() <= maxEntries) overCapacity = false;
+        return all;
+    }
+
+    public T getById(int id) {
+        Map<Integer, T> found = getByIds(List.of(id));
+        return found.get(id);
+    }
+
+    /** Copies of the rows by ID; IDs that do not exist are left out. Uncached IDs are fetched in one batch. */
+    public Map<Integer, T> getByIds(Collection<Integer> ids) {
+        Map<Integer, T> out = new HashMap<>();
+        Snapshot<T> s = current();
+        if (s != null) {
+            for (Integer id : ids) {
+                T value = s.byId().get(id);
+                if (value != null) out.put(id, copyOf.apply(value));
+            }
+            return out;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            Entry<T> e = rows.get(id);
+            if (e != null && now - e.loadedAt() <= ttlMillis) {
+                hits.incrementAndGet();
+                out.put(id, copyOf.apply(e.value()));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            misses.incrementAndGet();
+            for (T value : loadByIds.apply(missing)) {
+                int id = idOf.applyAsInt(value);
+                rows.put(id, new Entry<>(copyOf.apply(value), now));
+                out.put(id, value);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Version stamp of the catalog: the cached snapshot's, or the stored stamp (one counter read)
+     * when the catalog is too large to cache. Lets derived indexes tell when to rebuild.
+     */
+    public long getVersion() {
+        Snapshot<T> s = current();
+        return s != null ? s.version() : Stores.counters().current(versionKey);
+    }
+
+    /** True when the last load found more rows than the cache keeps as a whole. */
+    public boolean isOverCapacity() {
+        return overCapacity;
+    }
+
+    /**
+     * Usable snapshot, loading it on first use or after invalidation; null when the catalog is too large.
+     * Expired snapshots are returned as-is and refreshed in the background.
+     */
+    private Snapshot<T> current() {
+        Snapshot<T> s = snapshot;
+        if (s == null) {
+            if (overCapacity) return null;
+            misses.incrementAndGet();
+            return reload();
+        }
+        if (System.currentTimeMillis() - s.loadedAt() > ttlMillis) {
+            staleHits.incrementAndGet();
+            revalidateAsync();
+        } else {
+            hits.incrementAndGet();
+        }
+        return s;
+    }
+
+    private synchronized Snapshot<T> reload() {
+        // Another caller may have finished loading while we waited for the lock
+        if (snapshot != null) return snapshot;
+        if (overCapacity) return null;
+        snapshot = load();
+        return snapshot;
+    }
+
+    /** Read the catalog and its stamp; null (and overCapacity set) when it has more than maxEntries rows. */
+    private Snapshot<T> load() {
+        // Read the stamp first so a write racing with the load leaves us behind, not ahead
+        long version = Stores.counters().current(versionKey);
+        List<T> all = loadAll.get();
+        reloads.incrementAndGet();
+
+        if (all.size() > maxEntries) {
+            overCapacity = true;
+            return null;
+        }
+        Map<Integer, T> byId = new HashMap<>();
+        for (T value : all) byId.put(idOf.applyAsInt(value), value);
+        return new Snapshot<>(Collections.unmodifiableList(all), byId, version, System.currentTimeMillis());
+    }
+
+    private void revalidateAsync() {
+        if (!refreshing.compareAndSet(false, true)) return;
+        REFRESHER.execute(() -> {
+            try {
+                Snapshot<T> s = snapshot;
+                if (s == null) return;
+                if (Stores.counters().current(versionKey) == s.version()) {
+                    // Nobody wrote since we loaded: keep the rows, restart the TTL (unless invalidate() dropped them meanwhile)
+                    synchronized (this) {
+                        if (snapshot == s) snapshot = new Snapshot<>(s.all(), s.byId(), s.version(), System.currentTimeMillis());
+                    }
+                } else {
+                    // Changed elsewhere: keep serving the old rows until the new ones are in
+                    Snapshot<T> fresh = load();
+                    synchronized (this) {
+                        if (snapshot == s) snapshot = fresh;
+                    }
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    // ==============================
+    // WRITES
+    // ==============================
+
+    /**
+     * Called by the owning service after it created, updated or deleted the row with this ID; returns the
+     * new version stamp (-1 if it could not be bumped). The snapshot is dropped, but a catalog known to be
+     * over capacity stays in LRU mode and only the written row leaves the LRU.
+     */
+    public long invalidate(int id) {
+        long version = -1;
+        try {
+            version = Stores.counters().increment(versionKey, 1);
+        } catch (Exception e) {
+            // Local copy is still dropped below; other instances fall back to the TTL
+            e.printStackTrace();
+        }
+        synchronized (this) {
+            snapshot = null;
+        }
+        rows.remove(id);
+        return version;
+    }
+
+    // ==============================
+    // STATS
+    // ==============================
+    public long getHits() { return hits.get(); }
+    public long getStaleHits() { return staleHits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getReloads() { return reloads.get(); }
+
+    @Override
+    public String toString() {
+        Snapshot<T> s = snapshot;
+        return name + " cache: hits=" + hits + ", stale=" + staleHits + ", misses=" + misses
+                + ", reloads=" + reloads + ", rows=" + (s != null ? s.all().size() : rows.size())
+                + ", version=" + (s != null ? s.version() : "-");
+    }
+}
@@ -0,0 +1,128 @@
+package iVenue.services;
+
+import iVenue.models.Customer;
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.Stores;
+import iVenue.repositories.UserStore;
+import org.bson.Document;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * CustomerAdmin service handles all CRUD operations for customers.
+ * Fully GUI-ready: no Scanner; methods accept Customer objects or IDs.
+ */
+public class CustomerAdmin implements AdminManagement<Customer> {
+
+    private final DocumentStore store;
+
+    /** Unique, indexed fields the admin tables can page by */
+    private static final Map<String, Function<Customer, Object>> PAGE_KEYS = Map.of(
+            "userId", Customer::getUserId,
+            "username", Customer::getUsername);
+
+    /** Username/name/email search; kept current by UserStore, through which every user write goes */
+    private static final SearchIndex<Customer> SEARCH = new SearchIndex<>("customers", Customer::getUserId,
+            () -> Stores.get("users").find(new Document("userType", "customer"), Customer.class),
+            List.of(Customer::getUsername, Customer::getFirstName, Customer::getLastName, Customer::getEmail));
+
+    static {
+        UserStore.addListener(new UserStore.Listener() {
+            @Override
+            public void saved(Customer customer, long version) {
+                SEARCH.put(customer);
+                SEARCH.advanceTo(version);
+            }
+
+            @Override
+            public void deleted(int userId, long version) {
+                SEARCH.remove(userId);
+                SEARCH.advanceTo(version);
+            }
+        });
+    }
+
+    public CustomerAdmin() {
+        this.store = Stores.get("users"); // all users in one collection
+    }
+
+    // ==============================
+    // CREATE CUSTOMER
+    // ==============================
+    @Override
+    public boolean create(Customer customer) {
+        if (customer == null) return false;
+
+        try {
+            return UserStore.insertCustomer(customer);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // ==============================
+    // UPDATE CUSTOMER
+    // ==============================
+    @Override
+    public boolean update(Customer customer) {
+        if (customer == null) return false;
+
+        try {
+            return UserStore.updateCustomer(customer);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // ==============================
+    // DELETE CUSTOMER
+    // ==============================
+    @Override
+    public boolean delete(int userId) {
+        try {
+            // Prevent deleting admin: the filter itself excludes admin accounts
+            return UserStore.deleteCustomer(userId);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // ==============================
+    // GET ALL CUSTOMERS
+    // ==============================
+    @Override
+    public List<Customer> getAll() {
+        return store.find(new Document("userType", "customer"), Customer.class);
+    }
+
+    // ==============================
+    // GET CUSTOMER BY ID
+    // ==============================
+    @Override
+    public Customer getById(int userId) {
+        return store.findOne(new Document("userId", userId).append("userType", "customer"), Customer.class);
+    }
+
+    // ==============================
+    // SEARCH CUSTOMERS
+    // ==============================
+    /** Customers whose username, name or email match the text, best first; tolerates typos */
+    public List<Customer> search(String text, int limit) {
+        // Reload if another client changed the users since the index was built
+        SEARCH.syncTo(UserStore.version());
+        return SEARCH.search(text, limit);
+    }
+
+    // ==============================
+    // PAGE OF CUSTOMERS (admin table)
+    // ==============================
+    @Override
+    public Page<Customer> page(Object afterKey, int limit, Document sort, Document filter) {
+        return Pages.seek(store, Customer.class, PAGE_KEYS, "userId", new Document("userType", "customer"), afterKey, limit, sort, filter);
+    }
+}
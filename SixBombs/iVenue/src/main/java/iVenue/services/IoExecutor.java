@@ -0,0 +1,70 @@
+package iVenue.services;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded thread pool for blocking storage calls made on behalf of the UI.
+ *
+ * Kept smaller than the MongoDB connection pool so UI work cannot starve it. When the queue
+ * is full, new work fails fast with a RejectedExecutionException instead of running on the
+ * caller (which would be the FX thread). Tune with -Divenue.io.threads / -Divenue.io.queue.
+ */
+public final class IoExecutor {
+
+    private static final int THREADS = Integer.getInteger("ivenue.io.threads", 4);
+    private static final int QUEUE_CAPACITY = Integer.getInteger("ivenue.io.queue", 256);
+
+    private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+    private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(
+            THREADS, THREADS, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            r -> {
+                Thread t = new Thread(r, "ivenue-io-" + THREAD_SEQ.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    static {
+        POOL.allowCoreThreadTimeOut(true);
+    }
+
+    private IoExecutor() {}
+
+    /** Run a blocking call on the I/O pool. */
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, POOL);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /** The pool itself, for chaining follow-up blocking steps with thenApplyAsync(..., executor()). */
+    public static Executor executor() {
+        return POOL;
+    }
+
+    /** Tasks waiting for a thread. */
+    public static int getQueueDepth() {
+        return POOL.getQueue().size();
+    }
+
+    /** Stop accepting work and give running calls a moment to finish (application shutdown). */
+    public static void shutdown() {
+        POOL.shutdown();
+        try {
+            if (!POOL.awaitTermination(5, TimeUnit.SECONDS)) POOL.shutdownNow();
+        } catch (InterruptedException e) {
+            POOL.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package iVenue.services;
+
+import java.util.Arrays;
+
+/**
+ * Rolling latency samples for one operation, with p50/p99 over the most recent WINDOW calls.
+ */
+public class LatencyStats {
+
+    private static final int WINDOW = 1024;
+
+    private final String name;
+    private final long[] samplesNanos = new long[WINDOW];
+    private long count;
+
+    public LatencyStats(String name) {
+        this.name = name;
+    }
+
+    public synchronized void record(long nanos) {
+        samplesNanos[(int) (count % WINDOW)] = nanos;
+        count++;
+    }
+
+    /** Percentile (0-100) in milliseconds over the recent window, or 0 with no samples. */
+    public synchronized double percentileMs(double percentile) {
+        int n = (int) Math.min(count, WINDOW);
+        if (n == 0) return 0;
+        long[] sorted = Arrays.copyOf(samplesNanos, n);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * n) - 1;
+        return sorted[Math.max(0, Math.min(index, n - 1))] / 1_000_000.0;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s latency: n=%d, p50=%.1f ms, p99=%.1f ms", name, getCount(), percentileMs(50), percentileMs(99));
+    }
+}
@@ -0,0 +1,169 @@
+package iVenue.services;
+
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.DuplicateKeyException;
+import iVenue.repositories.Stores;
+import iVenue.repositories.Transactions;
+import org.bson.Document;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-venue occupancy bitmap: one bit per day, one document per venue and year in "venue_calendars"
+ * ({ key: "venueId:year", venueId, year, w0..w5 }, 6 x 64 bits covers a leap year).
+ *
+ * ReservationEngine flips the bits with $bit in the same transaction as the reservation, so the
+ * bitmap never has to be rebuilt from bookings. Loaded years are cached per venue; the date picker
+ * opens with at most one small read and every DateCell is a bit test.
+ * This process's own bookings patch the cache as they commit; years cached longer than the TTL
+ * (-Divenue.calendar.ttlSeconds, 30 s) are read again, so other app instances' bookings show up too.
+ * Reservations stay authoritative: a stale bit can only show a day as free, and booking it then fails.
+ */
+public final class OccupancyCalendar {
+
+    private static final int WORDS = 6;
+    private static final DocumentStore store = Stores.get("venue_calendars");
+
+    /** How long a cached year is used before it is read again; package-private for tests */
+    static volatile long ttlMillis = Long.getLong("ivenue.calendar.ttlSeconds", 30) * 1000;
+
+    /** One venue-year's day bits and when they were read (arrays are replaced, never mutated, once cached) */
+    private record Year(long[] words, long loadedAt) {}
+
+    /** venueId -> year -> day bits */
+    private static final Map<Integer, Map<Integer, Year>> CACHE = new ConcurrentHashMap<>();
+
+    private final Map<Integer, Year> years;
+
+    private OccupancyCalendar(Map<Integer, Year> years) {
+        this.years = years;
+    }
+
+    /** True when the day is reserved. Days outside the loaded years read as free. */
+    public boolean isBooked(LocalDate day) {
+        Year year = years.get(day.getYear());
+        int bit = day.getDayOfYear() - 1;
+        return year != null && (year.words()[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    // ==============================
+    // LOADING
+    // ==============================
+
+    /**
+     * Calendar of a venue covering [from, to]. Years cached within the TTL cost nothing; the rest are
+     * fetched in one query, and years never written before are built once from ReservationEngine.
+     */
+    public static OccupancyCalendar forVenue(int venueId, LocalDate from, LocalDate to) {
+        Map<Integer, Year> years = CACHE.computeIfAbsent(venueId, id -> new ConcurrentHashMap<>());
+
+        long now = System.currentTimeMillis();
+        List<Integer> missing = new ArrayList<>();
+        for (int y = from.getYear(); y <= to.getYear(); y++) {
+            Year cached = years.get(y);
+            if (cached == null || now - cached.loadedAt() > ttlMillis) missing.add(y);
+        }
+        if (!missing.isEmpty()) {
+            List<Integer> stored = new ArrayList<>();
+            for (Document doc : store.find(new Document("venueId", venueId).append("year", new Document("$in", missing)))) {
+                years.put(doc.getInteger("year"), new Year(toWords(doc), now));
+                stored.add(doc.getInteger("year"));
+            }
+            for (int year : missing) {
+                if (!stored.contains(year)) years.put(year, new Year(build(venueId, year), now));
+            }
+        }
+        return new OccupancyCalendar(years);
+    }
+
+    /** First use of a venue-year: derive the bits from the reservations and persist them. */
+    private static long[] build(int venueId, int year) {
+        LocalDate start = LocalDate.ofYearDay(year, 1);
+        long[] words = new long[WORDS];
+        for (LocalDate day : ReservationEngine.bookedDays(venueId, start, start.plusYears(1))) {
+            int bit = day.getDayOfYear() - 1;
+            words[bit >>> 6] |= 1L << bit;
+        }
+
+        Document doc = new Document("key", key(venueId, year)).append("venueId", venueId).append("year", year);
+        for (int i = 0; i < WORDS; i++) doc.append("w" + i, words[i]);
+        try {
+            store.insert(doc);
+            return words;
+        } catch (DuplicateKeyException e) {
+            // Built concurrently; take the stored one, it may already carry newer bits
+            Document stored = store.findOne(new Document("key", key(venueId, year)));
+            return stored != null ? toWords(stored) : words;
+        }
+    }
+
+    /** Drop a venue's cached years, e.g. after another app instance booked it. */
+    static void evict(int venueId) {
+        CACHE.remove(venueId);
+    }
+
+    // ==============================
+    // INCREMENTAL UPDATES
+    // ==============================
+
+    /**
+     * Set or clear the bits of days [start, end) (epoch days). Runs inside ReservationEngine's
+     * transaction; the cache is patched once it commits. Years not built yet are left alone,
+     * build() picks the change up from the reservations.
+     */
+    static void mark(int venueId, long start, long end, boolean booked) {
+        for (long day = start; day < end; ) {
+            int year = LocalDate.ofEpochDay(day).getYear();
+            long yearEnd = Math.min(end, LocalDate.ofYearDay(year + 1, 1).toEpochDay());
+            long[] masks = masks(LocalDate.ofEpochDay(day).getDayOfYear() - 1, (int) (yearEnd - day));
+
+            Document bits = new Document();
+            Document undo = new Document();
+            for (int i = 0; i < WORDS; i++) {
+                if (masks[i] == 0) continue;
+                bits.append("w" + i, booked ? new Document("or", masks[i]) : new Document("and", ~masks[i]));
+                undo.append("w" + i, booked ? new Document("and", ~masks[i]) : new Document("or", masks[i]));
+            }
+
+            Document filter = new Document("key", key(venueId, year));
+            if (store.updateOne(filter, new Document("$bit", bits)) > 0) {
+                Transactions.onRollback(() -> store.updateOne(filter, new Document("$bit", undo)));
+            }
+            Transactions.afterCommit(() -> patchCache(venueId, year, masks, booked));
+            day = yearEnd;
+        }
+    }
+
+    private static void patchCache(int venueId, int year, long[] masks, boolean booked) {
+        Map<Integer, Year> years = CACHE.get(venueId);
+        if (years == null) return;
+        years.computeIfPresent(year, (y, old) -> {
+            long[] words = old.words().clone();
+            for (int i = 0; i < WORDS; i++) words[i] = booked ? words[i] | masks[i] : words[i] & ~masks[i];
+            return new Year(words, old.loadedAt());
+        });
+    }
+
+    /** Word masks for count bits starting at bit first. */
+    private static long[] masks(int first, int count) {
+        long[] masks = new long[WORDS];
+        for (int bit = first; bit < first + count; bit++) masks[bit >>> 6] |= 1L << bit;
+        return masks;
+    }
+
+    private static long[] toWords(Document doc) {
+        long[] words = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            if (doc.get("w" + i) instanceof Number n) words[i] = n.longValue();
+        }
+        return words;
+    }
+
+    private static String key(int venueId, int year) {
+        return venueId + ":" + year;
+    }
+}
@@ -0,0 +1,25 @@
+package iVenue.services;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * Pass getNextKey() as afterKey to AdminManagement.page(...) to fetch the following page.
+ *
+ * @param <T> the entity type
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final Object nextKey;
+    private final boolean hasMore;
+
+    public Page(List<T> items, Object nextKey, boolean hasMore) {
+        this.items = items;
+        this.nextKey = nextKey;
+        this.hasMore = hasMore;
+    }
+
+    public List<T> getItems() { return items; }
+    public Object getNextKey() { return nextKey; }
+    public boolean hasMore() { return hasMore; }
+}
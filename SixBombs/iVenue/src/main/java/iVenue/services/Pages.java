@@ -0,0 +1,70 @@
+package iVenue.services;
+
+import iVenue.repositories.DocumentStore;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination shared by the admin services.
+ *
+ * Pages are ordered on a single unique, indexed field, so the last row's value is a
+ * complete cursor: the next page is { field: { $gt: afterKey } } sorted on that field,
+ * which the index answers without skipping over earlier rows.
+ */
+final class Pages {
+
+    private Pages() {}
+
+    /**
+     * @param keys      sortable fields of the collection (unique and indexed) and how to read them from an entity
+     * @param baseFilter filter the service always applies (e.g. customers only), or null
+     */
+    static <T> Page<T> seek(DocumentStore store, Class<T> type, Map<String, Function<T, Object>> keys, String defaultKey,
+                            Document baseFilter, Object afterKey, int limit, Document sort, Document filter) {
+        return seek(store, type, keys, defaultKey, baseFilter, afterKey, limit, sort, filter, null);
+    }
+
+    /**
+     * @param projection fields to fetch (see ModelCodecs.projection), or null for whole documents;
+     *                   must include the page key
+     */
+    static <T> Page<T> seek(DocumentStore store, Class<T> type, Map<String, Function<T, Object>> keys, String defaultKey,
+                            Document baseFilter, Object afterKey, int limit, Document sort, Document filter,
+                            Document projection) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive");
+
+        String field = defaultKey;
+        int direction = 1;
+        if (sort != null && !sort.isEmpty()) {
+            if (sort.size() != 1) throw new IllegalArgumentException("Keyset pages sort on exactly one field");
+            field = sort.keySet().iterator().next();
+            direction = ((Number) sort.get(field)).intValue() < 0 ? -1 : 1;
+        }
+        Function<T, Object> key = keys.get(field);
+        if (key == null) throw new IllegalArgumentException("Cannot page " + store.getName() + " by " + field + "; use one of " + keys.keySet());
+
+        List<Document> clauses = new ArrayList<>();
+        if (baseFilter != null && !baseFilter.isEmpty()) clauses.add(baseFilter);
+        if (filter != null && !filter.isEmpty()) clauses.add(filter);
+        if (afterKey != null) clauses.add(new Document(field, new Document(direction > 0 ? "$gt" : "$lt", afterKey)));
+
+        Document query = clauses.isEmpty() ? new Document()
+                : clauses.size() == 1 ? clauses.get(0)
+                : new Document("$and", clauses);
+
+        // One extra row tells us whether another page exists without a count query
+        Document order = new Document(field, direction);
+        List<T> rows = projection != null
+                ? store.findSorted(query, projection, order, limit + 1, type)
+                : store.findSorted(query, order, limit + 1, type);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) rows = new ArrayList<>(rows.subList(0, limit));
+
+        Object nextKey = rows.isEmpty() ? afterKey : key.apply(rows.get(rows.size() - 1));
+        return new Page<>(rows, nextKey, hasMore);
+    }
+}
@@ -0,0 +1,273 @@
+package iVenue.services;
+
+import iVenue.models.BookingStatus;
+import iVenue.repositories.BookingSchema;
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.DuplicateKeyException;
+import iVenue.repositories.Stores;
+import iVenue.repositories.Transactions;
+import iVenue.repositories.codecs.ModelCodecs;
+import org.bson.Document;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Venue reservations by day range; replaces the single Venue.availability flag as the booking lock.
+ *
+ * Every reserved day is one document in "reservations" keyed "venueId:yyyy-MM-dd" under a unique
+ * index, so the database rejects a double booking even when two app instances race. Each venue also
+ * gets an in-memory interval index (start day -> span, spans never overlap), loaded on first use,
+ * that answers conflict checks in O(log n). Reserve and release also keep the venue's
+ * OccupancyCalendar bitmap in step, inside the same transaction.
+ * Ranges are half-open: [start, end).
+ */
+public final class ReservationEngine {
+
+    private static final DocumentStore store = Stores.get("reservations");
+    private static final Map<Integer, VenueCalendar> CALENDARS = new ConcurrentHashMap<>();
+    private static final Map<Integer, Span> BY_BOOKING = new ConcurrentHashMap<>();
+    /** Booking states whose reservations have been released */
+    private static final List<String> CLOSED_STATUSES = List.of(BookingStatus.FINISHED.name(), BookingStatus.CANCELLED.name());
+
+    private ReservationEngine() {}
+
+    /** One booking's days at one venue, in epoch days. */
+    private record Span(int venueId, long start, long end, int bookingId) {}
+
+    /** Non-overlapping spans of one venue ordered by start day. */
+    private static final class VenueCalendar {
+        private final NavigableMap<Long, Span> spans = new TreeMap<>();
+
+        /** Only the last span starting before end can overlap [start, end). */
+        synchronized boolean overlaps(long start, long end) {
+            Map.Entry<Long, Span> last = spans.lowerEntry(end);
+            return last != null && last.getValue().end() > start;
+        }
+
+        synchronized List<Span> between(long from, long to) {
+            List<Span> out = new ArrayList<>();
+            Map.Entry<Long, Span> straddling = spans.lowerEntry(from);
+            if (straddling != null && straddling.getValue().end() > from) out.add(straddling.getValue());
+            out.addAll(spans.subMap(from, true, to, false).values());
+            return out;
+        }
+
+        synchronized void add(Span span) {
+            spans.put(span.start(), span);
+        }
+
+        synchronized void remove(Span span) {
+            spans.remove(span.start(), span);
+        }
+    }
+
+    // ==============================
+    // QUERIES
+    // ==============================
+    public static boolean isFree(int venueId, LocalDate start, LocalDate end) {
+        return !calendar(venueId).overlaps(start.toEpochDay(), end.toEpochDay());
+    }
+
+    /** Reserved days of a venue within [from, to), for the date picker. */
+    public static Set<LocalDate> bookedDays(int venueId, LocalDate from, LocalDate to) {
+        long f = from.toEpochDay(), t = to.toEpochDay();
+        Set<LocalDate> days = new TreeSet<>();
+        for (Span span : calendar(venueId).between(f, t)) {
+            for (long d = Math.max(span.start(), f); d < Math.min(span.end(), t); d++) days.add(LocalDate.ofEpochDay(d));
+        }
+        return days;
+    }
+
+    /** Venues holding at least one reservation in [from, to), in one query on the day index. */
+    public static Set<Integer> busyVenues(LocalDate from, LocalDate to) {
+        Set<Integer> busy = new HashSet<>();
+        Document days = new Document("$gte", from.toString()).append("$lt", to.toString());
+        for (Document doc : store.find(new Document("day", days), ModelCodecs.projection("venueId"), Document.class)) {
+            busy.add(doc.getInteger("venueId"));
+        }
+        return busy;
+    }
+
+    // ==============================
+    // RESERVE / RELEASE
+    // ==============================
+
+    /**
+     * Reserve [start, end) at a venue for a booking. Joins the caller's transaction, so the
+     * reservation commits or rolls back together with the booking insert.
+     *
+     * @throws IllegalStateException when any of the days is already reserved
+     */
+    public static void reserve(int venueId, LocalDate start, LocalDate end, int bookingId) {
+        long s = start.toEpochDay(), e = end.toEpochDay();
+        if (e <= s) throw new IllegalArgumentException("Empty reservation range " + start + " - " + end);
+
+        VenueCalendar calendar = calendar(venueId);
+        if (calendar.overlaps(s, e)) throw new IllegalStateException("Venue is already booked on " + start);
+
+        Transactions.inTransaction(() -> {
+            for (long day = s; day < e; day++) {
+                String key = key(venueId, day);
+                try {
+                    store.insert(reservationDoc(key, venueId, day, bookingId));
+                } catch (DuplicateKeyException ex) {
+                    // Taken through another app instance after this calendar was loaded: reload it next time
+                    CALENDARS.remove(venueId);
+                    OccupancyCalendar.evict(venueId);
+                    throw new IllegalStateException("Venue is already booked on " + LocalDate.ofEpochDay(day), ex);
+                }
+                Transactions.onRollback(() -> store.deleteOne(new Document("key", key)));
+            }
+            OccupancyCalendar.mark(venueId, s, e, true);
+            return null;
+        });
+
+        Span span = new Span(venueId, s, e, bookingId);
+        Transactions.afterCommit(() -> {
+            calendar.add(span);
+            BY_BOOKING.put(bookingId, span);
+        });
+    }
+
+    /**
+     * Free every day held by a booking (cancel, finish, delete). Joins the caller's transaction, so the
+     * days are freed together with the booking's removal or status change.
+     */
+    public static boolean release(int bookingId) {
+        Span cached = BY_BOOKING.get(bookingId);
+        Span span = cached != null ? cached : spanFromStore(bookingId); // venue not loaded in this process
+        if (span == null) return false;
+
+        return Transactions.inTransaction(() -> {
+            long deleted = store.deleteMany(new Document("bookingId", bookingId));
+            if (deleted > 0) Transactions.onRollback(() -> {
+                List<Document> docs = new ArrayList<>();
+                for (long day = span.start(); day < span.end(); day++) {
+                    docs.add(reservationDoc(key(span.venueId(), day), span.venueId(), day, bookingId));
+                }
+                store.insertMany(docs);
+            });
+            OccupancyCalendar.mark(span.venueId(), span.start(), span.end(), false);
+            Transactions.afterCommit(() -> {
+                BY_BOOKING.remove(bookingId, span);
+                VenueCalendar calendar = CALENDARS.get(span.venueId());
+                if (calendar != null) calendar.remove(span);
+            });
+            return deleted > 0;
+        });
+    }
+
+    /**
+     * Delete the booking matching the filter and free its day(s) in one transaction.
+     * Returns the removed document, or null when nothing matched.
+     */
+    public static Document deleteAndRelease(DocumentStore bookings, Document filter) {
+        return Transactions.inTransaction(() -> {
+            Document removed = bookings.findOneAndDelete(filter);
+            if (removed == null) return null;
+            Transactions.onRollback(() -> bookings.insert(removed));
+            release(removed.getInteger("bookingId"));
+            return removed;
+        });
+    }
+
+    private static Span spanFromStore(int bookingId) {
+        Integer venueId = null;
+        long start = Long.MAX_VALUE, end = Long.MIN_VALUE;
+        for (Document doc : store.find(new Document("bookingId", bookingId))) {
+            long day = LocalDate.parse(doc.getString("day")).toEpochDay();
+            venueId = doc.getInteger("venueId");
+            start = Math.min(start, day);
+            end = Math.max(end, day + 1);
+        }
+        return venueId != null ? new Span(venueId, start, end, bookingId) : null;
+    }
+
+    // ==============================
+    // LOADING
+    // ==============================
+    private static VenueCalendar calendar(int venueId) {
+        VenueCalendar calendar = CALENDARS.get(venueId);
+        if (calendar != null) return calendar;
+
+        // Built outside the map (no I/O under its bin lock) and outside the caller's transaction, so the
+        // load reads committed rows and a rolled-back booking cannot take the backfilled reservations with it.
+        // Two threads may both load; the first one in wins and both results are the same.
+        VenueCalendar loaded = Transactions.outside(() -> load(venueId));
+        VenueCalendar raced = CALENDARS.putIfAbsent(venueId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    private static VenueCalendar load(int venueId) {
+        // bookingId -> {first day, last day + 1}
+        Map<Integer, long[]> ranges = new HashMap<>();
+        for (Document doc : store.find(new Document("venueId", venueId))) {
+            long day = LocalDate.parse(doc.getString("day")).toEpochDay();
+            ranges.merge(doc.getInteger("bookingId"), new long[]{day, day + 1},
+                    (a, b) -> new long[]{Math.min(a[0], b[0]), Math.max(a[1], b[1])});
+        }
+        backfill(venueId, ranges);
+
+        VenueCalendar calendar = new VenueCalendar();
+        for (Map.Entry<Integer, long[]> r : ranges.entrySet()) {
+            Span span = new Span(venueId, r.getValue()[0], r.getValue()[1], r.getKey());
+            calendar.add(span);
+            BY_BOOKING.put(span.bookingId(), span);
+        }
+        return calendar;
+    }
+
+    /**
+     * Reserve the day of active bookings made before reservations existed. Finished and cancelled
+     * bookings stay in "bookings" but had their reservations released, so they are skipped.
+     */
+    private static void backfill(int venueId, Map<Integer, long[]> ranges) {
+        Document active = new Document("venueId", venueId)
+                .append("bookingStatus", new Document("$nin", CLOSED_STATUSES));
+        List<Document> bookings = Stores.get("bookings").find(active,
+                ModelCodecs.projection("bookingId", "date", "bookingStatus", "schemaVersion"), Document.class);
+        for (Document b : bookings) {
+            Integer bookingId = b.getInteger("bookingId");
+            LocalDate date = BookingSchema.bookingDay(b);
+            if (bookingId == null || date == null || ranges.containsKey(bookingId)) continue;
+            // Older rows may spell the status in another case than the enum
+            if (isClosed(b.getString("bookingStatus"))) continue;
+
+            long day = date.toEpochDay();
+            try {
+                store.insert(reservationDoc(key(venueId, day), venueId, day, bookingId));
+                ranges.put(bookingId, new long[]{day, day + 1});
+            } catch (DuplicateKeyException ignored) {
+                // Legacy double booking of the same day: the first one keeps the reservation
+            }
+        }
+    }
+
+    private static boolean isClosed(String status) {
+        for (String closed : CLOSED_STATUSES) {
+            if (closed.equalsIgnoreCase(status)) return true;
+        }
+        return false;
+    }
+
+    private static Document reservationDoc(String key, int venueId, long day, int bookingId) {
+        return new Document("key", key)
+                .append("venueId", venueId)
+                .append("day", LocalDate.ofEpochDay(day).toString())
+                .append("bookingId", bookingId);
+    }
+
+    private static String key(int venueId, long day) {
+        return venueId + ":" + LocalDate.ofEpochDay(day);
+    }
+}
@@ -0,0 +1,462 @@
+package iVenue.services;
+
+import iVenue.config.Diagnostics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * In-memory inverted index for name search over a few text fields of an entity (venues, customers, amenities).
+ *
+ * Every field value is lower-cased and broken into trigrams; each trigram maps to the entities containing it,
+ * and 1-2 letter word prefixes get their own map for very short queries. A query counts trigram hits per
+ * entity, so only entities sharing text with it are looked at. Results are ranked: exact field match, then
+ * prefix, word start, substring, and finally near matches within one or two typos (edit distance to the
+ * closest substring). Earlier fields weigh more than later ones.
+ *
+ * The index is loaded from the store on first use and kept current by the write paths calling
+ * put(...) and remove(...); invalidate() drops it so the next search reloads. Owners with a version stamp
+ * call syncTo(stamp) before searching and advanceTo(stamp) after their own writes, so writes made by
+ * other clients are noticed too.
+ */
+public class SearchIndex<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+
+    /** Rank tiers, multiplied by the field weight */
+    private static final double EXACT = 1.0, PREFIX = 0.9, WORD_START = 0.8, SUBSTRING = 0.6, FUZZY = 0.4;
+
+    private final String name;
+    private final ToIntFunction<T> idOf;
+    private final Supplier<List<T>> loadAll;
+    private final List<Function<T, String>> fields;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean loaded;
+
+    /** slot -> entity and its normalized field texts; null once replaced or removed */
+    private final List<T> entities = new ArrayList<>();
+    private final List<String[]> texts = new ArrayList<>();
+    private final Map<Integer, Integer> slotById = new HashMap<>();
+    private final Map<String, IntList> grams = new HashMap<>();
+    private final Map<String, IntList> prefixes = new HashMap<>();
+    private int dead;
+    /** Version stamp of the data the index reflects (see syncTo) */
+    private volatile long stamp = Long.MIN_VALUE;
+
+    /** Per-thread trigram hit and matched-word counters, indexed by slot */
+    private static final ThreadLocal<int[][]> SCRATCH = ThreadLocal.withInitial(() -> new int[][]{new int[0], new int[0], new int[0]});
+
+    /**
+     * @param loadAll every entity, read on first use and after invalidate()
+     * @param fields  searchable text fields, most important first
+     */
+    public SearchIndex(String name, ToIntFunction<T> idOf, Supplier<List<T>> loadAll, List<Function<T, String>> fields) {
+        this.name = name;
+        this.idOf = idOf;
+        this.loadAll = loadAll;
+        this.fields = List.copyOf(fields);
+    }
+
+    // ==============================
+    // WRITES
+    // ==============================
+
+    /** Add or re-index one entity after it was created or edited. */
+    public void put(T entity) {
+        if (entity == null) return;
+        lock.writeLock().lock();
+        try {
+            // Not loaded yet: the first search reads it from the store anyway
+            if (!loaded) return;
+            unlink(idOf.applyAsInt(entity));
+            link(entity);
+            if (dead > 1024 && dead > slotById.size()) compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drop one entity after it was deleted. */
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) unlink(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Forget everything; the next search reloads from the store. */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Line the index up with the owner's current version stamp: a stamp it has not seen means someone
+     * else wrote, so the index is dropped and the next search reloads.
+     */
+    public void syncTo(long current) {
+        if (current == stamp) return;
+        lock.writeLock().lock();
+        try {
+            if (current == stamp) return;
+            stamp = current;
+            loaded = false;
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Our own write moved the stamp to current and was already applied with put/remove. */
+    public void advanceTo(long current) {
+        lock.writeLock().lock();
+        try {
+            // Only if nobody else wrote in between; otherwise the next syncTo reloads
+            if (stamp == current - 1) stamp = current;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void link(T entity) {
+        int slot = entities.size();
+        String[] normalized = new String[fields.size()];
+        Set<String> entityGrams = new HashSet<>();
+        Set<String> entityPrefixes = new HashSet<>();
+        for (int f = 0; f < normalized.length; f++) {
+            String text = normalize(fields.get(f).apply(entity));
+            normalized[f] = text;
+            for (int i = 0; i + 3 <= text.length(); i++) entityGrams.add(text.substring(i, i + 3));
+            for (String word : text.split(" ")) {
+                if (word.isEmpty()) continue;
+                entityPrefixes.add(word.substring(0, 1));
+                if (word.length() > 1) entityPrefixes.add(word.substring(0, 2));
+            }
+        }
+        entities.add(entity);
+        texts.add(normalized);
+        slotById.put(idOf.applyAsInt(entity), slot);
+        // Slots only grow, so every posting list stays sorted
+        for (String g : entityGrams) grams.computeIfAbsent(g, k -> new IntList()).add(slot);
+        for (String p : entityPrefixes) prefixes.computeIfAbsent(p, k -> new IntList()).add(slot);
+    }
+
+    /** Mark the entity's slot dead; posting lists skip dead slots until the next compaction. */
+    private void unlink(int id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) return;
+        entities.set(slot, null);
+        texts.set(slot, null);
+        dead++;
+    }
+
+    private void compact() {
+        List<T> live = new ArrayList<>(slotById.size());
+        for (T e : entities) if (e != null) live.add(e);
+        clear();
+        for (T e : live) link(e);
+    }
+
+    private void clear() {
+        entities.clear();
+        texts.clear();
+        slotById.clear();
+        grams.clear();
+        prefixes.clear();
+        dead = 0;
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) return;
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) return;
+            long start = System.nanoTime();
+            clear();
+            for (T e : loadAll.get()) link(e);
+            loaded = true;
+            if (Diagnostics.ENABLED) {
+                Diagnostics.log(String.format("Search index %s: %d entries, %d trigrams, built in %.1f ms",
+                        name, slotById.size(), grams.size(), (System.nanoTime() - start) / 1e6));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==============================
+    // READS
+    // ==============================
+
+    /** Best matches for the query, best first; every word of the query has to match. Empty for a blank query. */
+    public List<T> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) return new ArrayList<>();
+        String[] words = Arrays.stream(q.split(" ")).distinct().toArray(String[]::new);
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            int[][] scratch = SCRATCH.get();
+            if (scratch[0].length < entities.size()) {
+                int size = Math.max(entities.size(), scratch[0].length * 2);
+                scratch = new int[][]{new int[size], new int[size], new int[size]};
+                SCRATCH.set(scratch);
+            }
+            int[] hits = scratch[0], matched = scratch[1], partial = scratch[2];
+
+            // Narrow word by word: matched[slot] counts the words an entity has matched so far
+            IntList first = narrow(words[0], 0, hits, matched, partial);
+            IntList survivors = first;
+            for (int w = 1; w < words.length && survivors.size > 0; w++) {
+                survivors = narrow(words[w], w, hits, matched, partial);
+            }
+
+            // Group by how many words only matched some of their trigrams; those can at best be near matches
+            IntList[] byPartial = new IntList[words.length + 1];
+            for (int i = 0; i < survivors.size; i++) {
+                int slot = survivors.items[i];
+                if (matched[slot] != words.length) continue;
+                int p = partial[slot];
+                (byPartial[p] != null ? byPartial[p] : (byPartial[p] = new IntList())).add(slot);
+            }
+            for (int i = 0; i < first.size; i++) {
+                matched[first.items[i]] = 0;
+                partial[first.items[i]] = 0;
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>();
+            for (int p = 0; p <= words.length; p++) {
+                if (byPartial[p] == null) continue;
+                double bound = bestPossible(p, words.length);
+                for (int i = 0; i < byPartial[p].size; i++) {
+                    // Nothing left in this group (or the next) can rank higher
+                    if (top.size() == limit && top.peek().score >= bound) break;
+                    offer(top, limit, byPartial[p].items[i], q, words);
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(null);
+            List<T> out = new ArrayList<>(ranked.size());
+            for (int i = ranked.size() - 1; i >= 0; i--) out.add(entities.get(ranked.get(i).slot));
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Live entity by ID, or null; for patching non-indexed fields of a cached entity. */
+    public T get(int id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotById.get(id);
+            return slot != null ? entities.get(slot) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Entities that matched words 0..w-1 and share enough trigrams with word w (or, for one or two
+     * letters, have a word starting with it). Bumps their matched count to w + 1, and their partial
+     * count when some of the word's trigrams are missing (so it cannot be a substring match).
+     */
+    private IntList narrow(String word, int w, int[] hits, int[] matched, int[] partial) {
+        IntList next = new IntList();
+        if (word.length() < 3) {
+            IntList slots = prefixes.get(word);
+            if (slots == null) return next;
+            for (int i = 0; i < slots.size; i++) {
+                int slot = slots.items[i];
+                if (matched[slot] == w && entities.get(slot) != null) {
+                    matched[slot] = w + 1;
+                    next.add(slot);
+                }
+            }
+            return next;
+        }
+
+        Set<String> wordGrams = new HashSet<>();
+        for (int i = 0; i + 3 <= word.length(); i++) wordGrams.add(word.substring(i, i + 3));
+        // One typo breaks at most three trigrams
+        int minHits = Math.max(1, wordGrams.size() - 3 * maxEdits(word));
+
+        IntList touched = new IntList();
+        for (String gram : wordGrams) {
+            IntList slots = grams.get(gram);
+            if (slots == null) continue;
+            for (int i = 0; i < slots.size; i++) {
+                int slot = slots.items[i];
+                if (matched[slot] == w && hits[slot]++ == 0) touched.add(slot);
+            }
+        }
+        for (int i = 0; i < touched.size; i++) {
+            int slot = touched.items[i];
+            if (hits[slot] >= minHits && entities.get(slot) != null) {
+                matched[slot] = w + 1;
+                if (hits[slot] < wordGrams.size()) partial[slot]++;
+                next.add(slot);
+            }
+            hits[slot] = 0;
+        }
+        return next;
+    }
+
+    /** Score one candidate and keep it if it is among the best limit so far. */
+    private void offer(PriorityQueue<Hit> top, int limit, int slot, String q, String[] words) {
+        String[] fieldTexts = texts.get(slot);
+        if (fieldTexts == null) return;
+
+        double total = 0;
+        for (String word : words) {
+            double score = wordScore(fieldTexts, word);
+            if (score == 0) return;
+            total += score;
+        }
+        double score = total / words.length;
+        // Words next to each other, as typed, beat the same words scattered over the fields
+        if (words.length > 1) {
+            for (String text : fieldTexts) {
+                if (text.contains(q)) {
+                    score += 0.1;
+                    break;
+                }
+            }
+        }
+
+        Hit hit = new Hit(slot, score, fieldTexts[0].length());
+        if (top.size() < limit) {
+            top.add(hit);
+        } else if (hit.compareTo(top.peek()) > 0) {
+            top.poll();
+            top.add(hit);
+        }
+    }
+
+    /** Highest score an entity can reach when the given number of its words are near matches at best */
+    private static double bestPossible(int partialWords, int words) {
+        double bound = ((words - partialWords) * EXACT + partialWords * (FUZZY - 0.1)) / words;
+        return partialWords == 0 && words > 1 ? bound + 0.1 : bound;
+    }
+
+    /** Best weighted tier of the word over the fields; near matches only when no field contains it. */
+    private static double wordScore(String[] fieldTexts, String word) {
+        double best = 0;
+        for (int f = 0; f < fieldTexts.length; f++) {
+            best = Math.max(best, tier(fieldTexts[f], word) / (1 + 0.25 * f));
+        }
+        int maxEdits = maxEdits(word);
+        if (best > 0 || maxEdits == 0) return best;
+
+        for (int f = 0; f < fieldTexts.length; f++) {
+            int edits = substringDistance(word, fieldTexts[f], maxEdits);
+            if (edits <= maxEdits) best = Math.max(best, (FUZZY - 0.1 * edits) / (1 + 0.25 * f));
+        }
+        return best;
+    }
+
+    private static double tier(String text, String word) {
+        int at = text.indexOf(word);
+        if (at < 0) return 0;
+        if (at == 0) return text.length() == word.length() ? EXACT : PREFIX;
+        return text.charAt(at - 1) == ' ' ? WORD_START : SUBSTRING;
+    }
+
+    /** Typos tolerated in a query word: none below four letters, two from nine */
+    private static int maxEdits(String word) {
+        return word.length() < 4 ? 0 : word.length() < 9 ? 1 : 2;
+    }
+
+    /**
+     * Smallest edit distance between the query and any substring of the text (Sellers' algorithm),
+     * or maxEdits + 1 once it cannot get below that.
+     */
+    private static int substringDistance(String q, String text, int maxEdits) {
+        int m = q.length();
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int i = 0; i <= m; i++) prev[i] = i;
+        int best = prev[m];
+        for (int j = 1; j <= text.length(); j++) {
+            cur[0] = 0; // a match may start anywhere in the text
+            char c = text.charAt(j - 1);
+            for (int i = 1; i <= m; i++) {
+                int cost = q.charAt(i - 1) == c ? 0 : 1;
+                cur[i] = Math.min(Math.min(cur[i - 1] + 1, prev[i] + 1), prev[i - 1] + cost);
+            }
+            best = Math.min(best, cur[m]);
+            if (best == 0) return 0;
+            int[] swap = prev;
+            prev = cur;
+            cur = swap;
+        }
+        return Math.min(best, maxEdits + 1);
+    }
+
+    /** Lower case, single spaces, no leading/trailing blanks. */
+    static String normalize(String s) {
+        if (s == null) return "";
+        return s.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /** Ranked candidate; natural order is worst first so the queue head is the one to evict. */
+    private record Hit(int slot, double score, int length) implements Comparable<Hit> {
+        @Override
+        public int compareTo(Hit o) {
+            if (score != o.score) return Double.compare(score, o.score);
+            if (length != o.length) return Integer.compare(o.length, length); // shorter text ranks higher
+            return Integer.compare(o.slot, slot);                              // then older entries
+        }
+    }
+
+    /** Growable int array for posting lists. */
+    private static final class IntList {
+        int[] items = new int[4];
+        int size;
+
+        void add(int v) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = v;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Search index " + name;
+    }
+}
@@ -0,0 +1,227 @@
+package iVenue.services;
+
+import iVenue.config.Diagnostics;
+import iVenue.models.Venue;
+import iVenue.models.VenueSummary;
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.IdAllocator;
+import iVenue.repositories.Stores;
+import iVenue.repositories.Transactions;
+import iVenue.repositories.codecs.ModelCodecs;
+import iVenue.repositories.codecs.VenueSummaryCodec;
+import org.bson.Document;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public class VenueAdmin implements AdminManagement<Venue> {
+
+    private final DocumentStore store;
+
+    /** Unique, indexed fields the admin tables can page by */
+    private static final Map<String, Function<Venue, Object>> PAGE_KEYS = Map.of(
+            "venueId", Venue::getVenueId);
+    private static final Map<String, Function<VenueSummary, Object>> SUMMARY_KEYS = Map.of(
+            "venueId", VenueSummary::getVenueId);
+
+    /** Venue catalog shared by every VenueAdmin; the write paths below invalidate it */
+    private static final CatalogCache<Venue> CATALOG = new CatalogCache<>("venues",
+            () -> Stores.get("venues").find(new Document(), Venue.class),
+            ids -> Stores.get("venues").find(new Document("venueId", new Document("$in", new ArrayList<>(ids))), Venue.class),
+            Venue::getVenueId, Venue::new, CatalogCache.DEFAULT_MAX_ENTRIES, CatalogCache.DEFAULT_TTL_MILLIS);
+
+    /** Name/description/location search; the write paths below keep it current */
+    private static final SearchIndex<Venue> SEARCH = new SearchIndex<>("venues", Venue::getVenueId,
+            () -> Stores.get("venues").find(new Document(), Venue.class),
+            List.of(Venue::getName, Venue::getDescription, Venue::getLocation));
+
+    public VenueAdmin() {
+        this(Stores.get("venues"));
+    }
+
+    /** Writes and queries go to the given store instead of "venues"; getAll/getById still read the shared catalog. */
+    public VenueAdmin(DocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean create(Venue venue) {
+        if (venue == null) return false;
+
+        venue.setVenueId(IdAllocator.next("venues", "venueId"));
+
+        Document doc = new Document("venueId", venue.getVenueId())
+                .append("name", venue.getName())
+                .append("nameKey", VenueQuery.nameKey(venue.getName()))
+                .append("description", venue.getDescription())
+                .append("capacity", venue.getCapacity())
+                .append("availability", venue.isAvailability())
+                .append("location", venue.getLocation())
+                .append("price", venue.getPrice())
+                .append("isFree", venue.isFree())
+                .append("imageRef", venue.getImageRef());
+
+        store.insert(doc);
+        SEARCH.put(venue);
+        SEARCH.advanceTo(CATALOG.invalidate(venue.getVenueId()));
+        return true;
+    }
+
+    @Override
+    public boolean update(Venue venue) {
+        if (venue == null) return false;
+
+        Document updateFields = new Document()
+                .append("name", venue.getName())
+                .append("nameKey", VenueQuery.nameKey(venue.getName()))
+                .append("description", venue.getDescription())
+                .append("capacity", venue.getCapacity())
+                .append("availability", venue.isAvailability())
+                .append("location", venue.getLocation())
+                .append("price", venue.getPrice())
+                .append("isFree", venue.isFree())
+                .append("imageRef", venue.getImageRef());
+
+        // Matched count tells us whether the venue existed; no separate lookup needed
+        boolean matched = store.updateOne(new Document("venueId", venue.getVenueId()), new Document("$set", updateFields)) > 0;
+        if (matched) {
+            SEARCH.put(venue);
+            SEARCH.advanceTo(CATALOG.invalidate(venue.getVenueId()));
+        }
+        return matched;
+    }
+
+    @Override
+    public boolean delete(int id) {
+        boolean deleted = store.deleteOne(new Document("venueId", id)) > 0;
+        if (deleted) {
+            SEARCH.remove(id);
+            SEARCH.advanceTo(CATALOG.invalidate(id));
+        }
+        return deleted;
+    }
+
+    /** List or unlist a venue; per-day bookings are tracked by ReservationEngine */
+    public boolean setAvailability(int venueId, boolean available) {
+        boolean matched = store.updateOne(new Document("venueId", venueId),
+                new Document("$set", new Document("availability", available))) > 0;
+        if (matched) Transactions.afterCommit(() -> {
+            Venue indexed = SEARCH.get(venueId);
+            if (indexed != null) indexed.setAvailability(available);
+            SEARCH.advanceTo(CATALOG.invalidate(venueId));
+        });
+        return matched;
+    }
+
+    @Override
+    public List<Venue> getAll() {
+        return CATALOG.getAll();
+    }
+
+    @Override
+    public Venue getById(int id) {
+        return CATALOG.getById(id);
+    }
+
+    /** All venues whose ID is in the collection; uncached ones are fetched in one query */
+    public List<Venue> getByIds(Collection<Integer> ids) {
+        return new ArrayList<>(CATALOG.getByIds(ids).values());
+    }
+
+    /** Hit/miss counters of the shared venue catalog */
+    public static CatalogCache<Venue> catalog() {
+        return CATALOG;
+    }
+
+    /** Batching, memoizing getById for one request scope (see BatchLoader) */
+    public BatchLoader<Venue> loader() {
+        return new BatchLoader<>(this::getByIds, Venue::getVenueId);
+    }
+
+    /** One page of carousel rows in venueId order, fetching only venueId, name, price and image */
+    public Page<VenueSummary> pageSummaries(Object afterKey, int limit) {
+        return Pages.seek(store, VenueSummary.class, SUMMARY_KEYS, "venueId", null, afterKey, limit, null,
+                null, ModelCodecs.projection(VenueSummaryCodec.FIELDS));
+    }
+
+    /** Same as pageSummaries(...), on the I/O pool. */
+    public CompletableFuture<Page<VenueSummary>> pageSummariesAsync(Object afterKey, int limit) {
+        return IoExecutor.supply(() -> pageSummaries(afterKey, limit));
+    }
+
+    /**
+     * Venues free for the whole of [from, to) that fit the guests, within the price and location;
+     * see AvailabilitySearch. maxPrice null and a blank location mean "any".
+     */
+    public List<Venue> searchAvailable(LocalDate from, LocalDate to, int guests, Double maxPrice, String location) {
+        return AvailabilitySearch.search(from, to, guests, maxPrice, location);
+    }
+
+    /**
+     * One page of the venues matching the query, in venueId order, fetching only VenueQuery.FIELDS.
+     * Filtering, projection and paging all happen in the database.
+     */
+    public Page<Venue> query(VenueQuery query, Object afterKey, int limit) {
+        return Pages.seek(store, Venue.class, PAGE_KEYS, "venueId", null, afterKey, limit, null,
+                query.toFilter(), ModelCodecs.projection(VenueQuery.FIELDS));
+    }
+
+    /** Same as query(...), on the I/O pool. */
+    public CompletableFuture<Page<Venue>> queryAsync(VenueQuery query, Object afterKey, int limit) {
+        return IoExecutor.supply(() -> query(query, afterKey, limit));
+    }
+
+    /** Give venues written before nameKey existed one, so prefix queries find them. Safe to run again. */
+    public static void backfillNameKeys() {
+        DocumentStore venues = Stores.get("venues");
+        int fixed = 0;
+        for (Document doc : venues.find(new Document("nameKey", new Document("$exists", false)),
+                ModelCodecs.projection("venueId", "name"), Document.class)) {
+            // Only if the name is still the one we read
+            fixed += (int) venues.updateOne(new Document("venueId", doc.get("venueId")).append("name", doc.get("name")),
+                    new Document("$set", new Document("nameKey", VenueQuery.nameKey(doc.getString("name")))));
+        }
+        if (fixed > 0) Diagnostics.log("Added nameKey to " + fixed + " venues");
+    }
+
+    /** Venues whose name, description or location match the text, best first; tolerates typos */
+    public List<Venue> search(String text, int limit) {
+        // Reload if another client changed the catalog since the index was built
+        SEARCH.syncTo(CATALOG.getVersion());
+        return SEARCH.search(text, limit);
+    }
+
+    /** GUI-friendly: fetch by ID and availability filter */
+    public Venue getById(int id, boolean onlyIfAvailable) {
+        Venue venue = getById(id);
+        if (venue == null || (onlyIfAvailable && !venue.isAvailability())) return null;
+        return venue;
+    }
+
+    /** Optional console helper for testing */
+    public void displayAll() {
+        System.out.println("---- ALL VENUES ----");
+        for (Venue v : getAll()) {
+            String availability = v.isAvailability() ? "Available" : "Unavailable";
+            String priceLabel = v.isFree() ? "FREE" : "₱" + v.getPrice();
+            System.out.println("ID: " + v.getVenueId());
+            System.out.println("Name: " + v.getName());
+            System.out.println("Description: " + v.getDescription());
+            System.out.println("Capacity: " + v.getCapacity());
+            System.out.println("Availability: " + availability);
+            System.out.println("Location: " + v.getLocation());
+            System.out.println("Price: " + priceLabel);
+            System.out.println("---------------------------");
+        }
+    }
+
+    @Override
+    public Page<Venue> page(Object afterKey, int limit, Document sort, Document filter) {
+        return Pages.seek(store, Venue.class, PAGE_KEYS, "venueId", null, afterKey, limit, sort, filter);
+    }
+}
@@ -0,0 +1,190 @@
+package iVenue.services;
+
+import iVenue.repositories.MediaStore;
+import iVenue.repositories.Stores;
+import org.bson.Document;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Venue photos: uploaded once, kept in the media store as pre-scaled JPEG renditions.
+ *
+ * store(file) hashes the upload (SHA-256), decodes it once and renders every Rendition in parallel,
+ * saving each as "{hash}/{rendition}.jpg" and the upload itself as "{hash}/original". The venue's
+ * imageRef becomes "media:{hash}", so the reference changes whenever the photo does and caches keyed
+ * on it (ImagePipeline) never serve a stale image. Clients only ever read a rendition.
+ * Uploading a photo that is already stored reuses it. Uploads are limited to
+ * -Divenue.media.maxUploadMb (default 20).
+ */
+public final class VenueMedia {
+
+    public static final String SCHEME = "media";
+
+    private static final long MAX_UPLOAD_BYTES = Long.getLong("ivenue.media.maxUploadMb", 20) * 1024 * 1024;
+    private static final float JPEG_QUALITY = 0.85f;
+
+    /** Stored sizes; each photo is scaled to fit inside the box, never up */
+    public enum Rendition {
+        CARD(400, 250),
+        DETAIL(1200, 750);
+
+        final int width, height;
+
+        Rendition(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        String fileName(String hash) {
+            return hash + "/" + name().toLowerCase(Locale.ROOT) + ".jpg";
+        }
+
+        /** Smallest rendition at least this large, else the largest. */
+        static Rendition fitting(int width, int height) {
+            for (Rendition r : values()) {
+                if (r.width >= width && r.height >= height) return r;
+            }
+            return DETAIL;
+        }
+    }
+
+    private VenueMedia() {}
+
+    /**
+     * Store a photo and its renditions; returns the image reference to put on the venue.
+     *
+     * @throws IOException the file cannot be read, is too large, or is not an image ImageIO can decode
+     */
+    public static String store(Path file) throws IOException {
+        if (Files.size(file) > MAX_UPLOAD_BYTES) {
+            throw new IOException("photo is larger than " + MAX_UPLOAD_BYTES / (1024 * 1024) + " MB");
+        }
+        byte[] original = Files.readAllBytes(file);
+        String hash = sha256(original);
+        MediaStore media = Stores.media();
+
+        // The original is written last, so its presence means every rendition is stored
+        String originalName = hash + "/original";
+        if (media.exists(originalName)) return SCHEME + ":" + hash;
+
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(original));
+        if (source == null) throw new IOException(file.getFileName() + " is not a supported image");
+
+        // Scaling is CPU work: render the sizes side by side on the common pool, not on the I/O pool
+        List<CompletableFuture<byte[]>> renders = new ArrayList<>();
+        for (Rendition r : Rendition.values()) {
+            renders.add(CompletableFuture.supplyAsync(() -> render(source, r)));
+        }
+        for (Rendition r : Rendition.values()) {
+            byte[] jpeg = renders.get(r.ordinal()).join();
+            media.put(r.fileName(hash), jpeg, metadata(hash, r.name(), "image/jpeg"));
+        }
+        media.put(originalName, original, metadata(hash, "original", Files.probeContentType(file))
+                .append("width", source.getWidth())
+                .append("height", source.getHeight()));
+        return SCHEME + ":" + hash;
+    }
+
+    /**
+     * JPEG bytes of the smallest rendition covering width x height for a "media:{hash}" reference,
+     * or null when nothing is stored for it.
+     */
+    public static byte[] read(String ref, int width, int height) {
+        String hash = hashOf(ref);
+        if (hash == null) return null;
+        return Stores.media().get(Rendition.fitting(width, height).fileName(hash));
+    }
+
+    /** Content hash of a "media:{hash}" reference, or null for any other reference. */
+    public static String hashOf(String ref) {
+        String prefix = SCHEME + ":";
+        return ref != null && ref.startsWith(prefix) ? ref.substring(prefix.length()) : null;
+    }
+
+    // ==============================
+    // RENDERING
+    // ==============================
+    private static byte[] render(BufferedImage source, Rendition r) {
+        double scale = Math.min(1.0, Math.min((double) r.width / source.getWidth(), (double) r.height / source.getHeight()));
+        int w = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int h = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // Halve step by step: one bilinear pass over a large reduction skips most source pixels
+        BufferedImage current = source;
+        int cw = source.getWidth(), ch = source.getHeight();
+        do {
+            cw = Math.max(w, cw / 2);
+            ch = Math.max(h, ch / 2);
+            current = scaled(current, cw, ch);
+        } while (cw != w || ch != h);
+
+        try {
+            return jpeg(current);
+        } catch (IOException e) {
+            throw new IllegalStateException("JPEG encoding failed", e);
+        }
+    }
+
+    /** Drawn on white into an RGB image: JPEG has no alpha channel */
+    private static BufferedImage scaled(BufferedImage in, int w, int h) {
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(in, 0, 0, w, h, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private static byte[] jpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static Document metadata(String hash, String rendition, String contentType) {
+        return new Document("hash", hash)
+                .append("rendition", rendition.toLowerCase(Locale.ROOT))
+                .append("contentType", contentType);
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
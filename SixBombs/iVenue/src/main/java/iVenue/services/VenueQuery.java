@@ -0,0 +1,126 @@
+package iVenue.services;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Composable venue criteria, run by VenueAdmin.query(...) as one MongoDB query.
+ *
+ * Every setter narrows the query and returns it, so criteria chain:
+ * VenueQuery.all().free(false).nameStartsWith("ball").capacity(50, null).
+ * Null bounds mean "no bound". Name prefixes use the lower-cased nameKey field and its index;
+ * substring criteria (nameContains, location) are case-insensitive regexes evaluated by the server.
+ */
+public class VenueQuery {
+
+    /** Fields a venue card needs; everything else stays on the server */
+    public static final String[] FIELDS = {
+            "venueId", "name", "description", "capacity", "availability", "location", "price", "imageRef"};
+
+    private Boolean free;
+    private String namePrefix;
+    private String nameContains;
+    private Integer minCapacity, maxCapacity;
+    private Double minPrice, maxPrice;
+    private String location;
+    private Boolean available;
+
+    /** Matches every venue; add criteria with the setters below. */
+    public static VenueQuery all() {
+        return new VenueQuery();
+    }
+
+    /** Free (price 0) or paid venues only. */
+    public VenueQuery free(boolean freeOnly) {
+        this.free = freeOnly;
+        return this;
+    }
+
+    /** Name starts with the prefix, ignoring case. */
+    public VenueQuery nameStartsWith(String prefix) {
+        this.namePrefix = blankToNull(prefix);
+        return this;
+    }
+
+    /** Name contains the text anywhere, ignoring case. */
+    public VenueQuery nameContains(String text) {
+        this.nameContains = blankToNull(text);
+        return this;
+    }
+
+    /** Capacity within [min, max]. */
+    public VenueQuery capacity(Integer min, Integer max) {
+        this.minCapacity = min;
+        this.maxCapacity = max;
+        return this;
+    }
+
+    /** Price within [min, max]. */
+    public VenueQuery price(Double min, Double max) {
+        this.minPrice = min;
+        this.maxPrice = max;
+        return this;
+    }
+
+    /** Location contains the text, ignoring case. */
+    public VenueQuery location(String text) {
+        this.location = blankToNull(text);
+        return this;
+    }
+
+    /** Listed (availability true) or unlisted venues only. */
+    public VenueQuery available(boolean listed) {
+        this.available = listed;
+        return this;
+    }
+
+    /** The MongoDB filter for these criteria; an empty document when there are none. */
+    public Document toFilter() {
+        List<Document> clauses = new ArrayList<>();
+
+        if (free != null) clauses.add(new Document("price", free ? 0.0 : new Document("$gt", 0.0)));
+        if (namePrefix != null) {
+            String key = nameKey(namePrefix);
+            // Range on the index instead of an anchored regex: [prefix, prefix + highest char)
+            clauses.add(new Document("nameKey", new Document("$gte", key).append("$lt", key + Character.MAX_VALUE)));
+        }
+        if (nameContains != null) clauses.add(contains("name", nameContains));
+        if (minCapacity != null || maxCapacity != null) clauses.add(range("capacity", minCapacity, maxCapacity));
+        if (minPrice != null || maxPrice != null) clauses.add(range("price", minPrice, maxPrice));
+        if (location != null) clauses.add(contains("location", location));
+        if (available != null) clauses.add(new Document("availability", available));
+
+        return clauses.isEmpty() ? new Document()
+                : clauses.size() == 1 ? clauses.get(0)
+                : new Document("$and", clauses);
+    }
+
+    /** Lower-cased name stored next to "name" for prefix queries. */
+    public static String nameKey(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Document contains(String field, String text) {
+        return new Document(field, new Document("$regex", Pattern.quote(text)).append("$options", "i"));
+    }
+
+    private static Document range(String field, Number min, Number max) {
+        Document bounds = new Document();
+        if (min != null) bounds.append("$gte", min);
+        if (max != null) bounds.append("$lte", max);
+        return new Document(field, bounds);
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+
+    @Override
+    public String toString() {
+        return "VenueQuery" + toFilter().toJson();
+    }
+}
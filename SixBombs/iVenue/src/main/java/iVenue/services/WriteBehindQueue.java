@@ -0,0 +1,236 @@
+package iVenue.services;
+
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.DuplicateKeyException;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind for append-only records (booking history, audit): callers enqueue and return,
+ * one flusher thread writes them with insertMany.
+ *
+ * A batch is written once it holds BATCH_SIZE records or the oldest one has waited WINDOW_MILLIS.
+ * The queue is bounded: when it is full, submit() blocks until the flusher catches up (backpressure)
+ * instead of growing without limit. A failed batch is retried with backoff and finally written
+ * record by record, so one bad record cannot hold the rest back. shutdownAll() drains every queue
+ * before the app exits. Tune with -Divenue.writeBehind.capacity / batchSize / windowMs.
+ */
+public class WriteBehindQueue {
+
+    public static final int DEFAULT_CAPACITY = Integer.getInteger("ivenue.writeBehind.capacity", 10_000);
+    public static final int BATCH_SIZE = Integer.getInteger("ivenue.writeBehind.batchSize", 500);
+    public static final long WINDOW_MILLIS = Long.getLong("ivenue.writeBehind.windowMs", 200);
+
+    private static final int RETRIES = 3;
+    private static final List<WriteBehindQueue> ALL = new CopyOnWriteArrayList<>();
+
+    private final DocumentStore store;
+    private final BlockingQueue<Document> queue;
+    private final Consumer<List<Document>> onWritten;
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    private final LatencyStats flushLatency;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong blockedSubmits = new AtomicLong();
+    private final Object progress = new Object();
+
+    /**
+     * @param onWritten called on the flusher thread with every batch once it is stored (e.g. cache invalidation); may be null
+     */
+    public WriteBehindQueue(DocumentStore store, int capacity, Consumer<List<Document>> onWritten) {
+        this.store = store;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.onWritten = onWritten;
+        this.flushLatency = new LatencyStats(store.getName() + " flush");
+        this.flusher = new Thread(this::runFlusher, "write-behind-" + store.getName());
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+        ALL.add(this);
+    }
+
+    // ==============================
+    // PRODUCERS
+    // ==============================
+
+    /** Enqueue one record; blocks while the queue is full. */
+    public void submit(Document doc) {
+        if (closed) throw new IllegalStateException(store.getName() + " write-behind is shut down");
+        submitted.incrementAndGet();
+        if (queue.offer(doc)) return;
+
+        blockedSubmits.incrementAndGet();
+        try {
+            queue.put(doc);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            submitted.decrementAndGet();
+            throw new IllegalStateException("Interrupted while waiting for write-behind space", e);
+        }
+    }
+
+    /** Block until everything submitted before this call has been written (or has failed). */
+    public void flush() {
+        long target = submitted.get();
+        synchronized (progress) {
+            while (written.get() + failed.get() < target && flusher.isAlive()) {
+                try {
+                    progress.wait(WINDOW_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // ==============================
+    // FLUSHER
+    // ==============================
+    private void runFlusher() {
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Document first = queue.poll(WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // Fill the batch until it is full or the first record has waited a whole window
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS);
+                while (batch.size() < BATCH_SIZE) {
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0 || closed) {
+                        queue.drainTo(batch, BATCH_SIZE - batch.size());
+                        break;
+                    }
+                    Document next = queue.poll(left, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                // Keep going until the queue is empty, starting with the records already taken
+                closed = true;
+                if (!batch.isEmpty()) write(batch);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Document> batch) {
+        long start = System.nanoTime();
+        boolean stored = false;
+        for (int attempt = 0; attempt < RETRIES && !stored; attempt++) {
+            try {
+                store.insertMany(batch);
+                stored = true;
+            } catch (DuplicateKeyException e) {
+                // Unordered insert: everything else went in, and the duplicates are already stored
+                System.err.println(store.getName() + " write-behind: " + e.getMessage());
+                stored = true;
+            } catch (RuntimeException e) {
+                if (attempt == RETRIES - 1) {
+                    e.printStackTrace();
+                } else {
+                    try {
+                        Thread.sleep(100L << attempt);
+                    } catch (InterruptedException ie) {
+                        // Interrupted at shutdown: this batch is still written (retried, then record by record)
+                        closed = true;
+                    }
+                }
+            }
+        }
+
+        long ok = batch.size();
+        if (!stored) {
+            // Last resort: isolate the records that cannot be written
+            ok = 0;
+            for (Document doc : batch) {
+                try {
+                    store.insert(doc);
+                    ok++;
+                } catch (DuplicateKeyException e) {
+                    // Stored by an earlier attempt that failed part-way
+                    ok++;
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                    System.err.println("Dropped " + store.getName() + " record " + doc.toJson() + ": " + e.getMessage());
+                }
+            }
+        }
+
+        flushLatency.record(System.nanoTime() - start);
+        batches.incrementAndGet();
+        written.addAndGet(ok);
+        if (onWritten != null) {
+            try {
+                onWritten.accept(batch);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+    }
+
+    // ==============================
+    // SHUTDOWN
+    // ==============================
+
+    /** Stop accepting records and wait (up to the timeout) until everything queued is written. */
+    public void shutdown(long timeoutMillis) {
+        // No interrupt: the flusher notices within one window and drains what is left
+        closed = true;
+        try {
+            flusher.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) System.err.println(this + " still had " + queue.size() + " records at shutdown");
+    }
+
+    /** Drain every write-behind queue (application shutdown). */
+    public static void shutdownAll(long timeoutMillis) {
+        for (WriteBehindQueue q : ALL) q.shutdown(timeoutMillis);
+    }
+
+    /** Summary line of every queue, for the exit log. */
+    public static String summaryAll() {
+        StringBuilder sb = new StringBuilder();
+        for (WriteBehindQueue q : ALL) sb.append(sb.length() > 0 ? "\n" : "").append(q);
+        return sb.toString();
+    }
+
+    // ==============================
+    // METRICS
+    // ==============================
+    public int getQueueDepth() { return queue.size(); }
+    public long getWritten() { return written.get(); }
+    public long getFailed() { return failed.get(); }
+    public long getBatches() { return batches.get(); }
+    public long getBlockedSubmits() { return blockedSubmits.get(); }
+    public LatencyStats getFlushLatency() { return flushLatency; }
+
+    @Override
+    public String toString() {
+        return store.getName() + " write-behind: depth=" + queue.size() + ", written=" + written
+                + ", batches=" + batches + ", failed=" + failed + ", blocked submits=" + blockedSubmits
+                + "; " + flushLatency;
+    }
+}
@@ -52,6 +52,7 @@ public class AdminDashboard {
         layout.setCenter(contentArea);
 
         Scene scene = new Scene(layout, 1200, 700);
+        FxStallMonitor.install(scene);
         window.setScene(scene);
         window.show();
         window.setMaximized(true);
@@ -3,8 +3,9 @@ package iVenue.ui;
 import iVenue.models.Admin;
 import iVenue.models.Amenity;
 import iVenue.services.AmenityAdmin;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import iVenue.services.AsyncAdmin;
+import iVenue.services.IoExecutor;
+import iVenue.services.SearchIndex;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -14,10 +15,11 @@ import javafx.scene.control.cell.PropertyValueFactory;
 public class AmenitiesPanel {
 
     private static TableView<Amenity> table;
-    private static ObservableList<Amenity> amenityList;
+    private static PagedTableLoader<Amenity> loader;
 
     // Single instance of AmenityAdmin
     private static final AmenityAdmin adminService = new AmenityAdmin();
+    private static final AsyncAdmin<Amenity> asyncService = new AsyncAdmin<>(adminService);
 
     public static VBox get(Admin admin) {
         VBox root = new VBox(15);
@@ -30,6 +32,7 @@ public class AmenitiesPanel {
         table = new TableView<>();
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         table.setStyle("-fx-font-size: 16px;");
+        loader = new PagedTableLoader<>(table, adminService);
 
         // --- TABLE COLUMNS ----------------------------------------------------
         TableColumn<Amenity, Integer> idCol = new TableColumn<>("ID");
@@ -87,7 +90,19 @@ public class AmenitiesPanel {
         addBtn.setStyle("-fx-background-color: #28a745; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
         addBtn.setOnAction(e -> openAddDialog(admin));
 
-        HBox topControls = new HBox(addBtn);
+        // SEARCH AS YOU TYPE (name, typo-tolerant; empty goes back to the full list)
+        TextField searchField = new TextField();
+        searchField.setPromptText("Search by name...");
+        searchField.setPrefWidth(200);
+
+        Button searchBtn = new Button("Search");
+        searchBtn.setStyle("-fx-background-color: #ff6d00; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
+        SearchAsYouType<Amenity> search = new SearchAsYouType<>(searchField,
+                text -> IoExecutor.supply(() -> adminService.search(text, SearchIndex.DEFAULT_LIMIT)),
+                AmenitiesPanel::refreshList, text -> loader.beginResults(), loader::appendResults);
+        searchBtn.setOnAction(e -> search.runNow());
+
+        HBox topControls = new HBox(10, addBtn, searchField, searchBtn);
         topControls.setAlignment(Pos.CENTER_LEFT);
         topControls.setPadding(new Insets(10, 0, 10, 0));
 
@@ -96,11 +111,10 @@ public class AmenitiesPanel {
     }
 
     // =====================================================
-    // REFRESH TABLE DATA
+    // REFRESH TABLE DATA (first page; later pages load on scroll)
     // =====================================================
     private static void refreshList() {
-        amenityList = FXCollections.observableArrayList(adminService.getAll());
-        table.setItems(amenityList);
+        loader.reload();
     }
 
     // =====================================================
@@ -135,9 +149,10 @@ public class AmenitiesPanel {
                             Integer.parseInt(qty.getText().trim()),
                             Double.parseDouble(price.getText().trim())
                     );
-                    boolean success = adminService.create(a);
-                    if (!success) new Alert(Alert.AlertType.ERROR, "Creation failed!").show();
-                    refreshList();
+                    FxAsync.then(asyncService.create(a), success -> {
+                        if (!success) new Alert(Alert.AlertType.ERROR, "Creation failed!").show();
+                        refreshList();
+                    });
                 } catch (NumberFormatException ex) {
                     new Alert(Alert.AlertType.ERROR, "Quantity must be integer and Price must be a number").show();
                 }
@@ -170,14 +185,23 @@ public class AmenitiesPanel {
         dialog.showAndWait().ifPresent(result -> {
             if (result == ButtonType.OK) {
                 try {
+                    // Parse first so a bad number leaves the (shared, cached) amenity untouched
+                    int quantity = Integer.parseInt(qty.getText().trim());
+                    double priceValue = Double.parseDouble(price.getText().trim());
+
                     amenity.setName(name.getText().trim());
                     amenity.setDescription(desc.getText().trim());
-                    amenity.setQuantity(Integer.parseInt(qty.getText().trim()));
-                    amenity.setPrice(Double.parseDouble(price.getText().trim()));
-
-                    boolean success = adminService.update(amenity);
-                    if (!success) new Alert(Alert.AlertType.ERROR, "Update failed!").show();
-                    refreshList();
+                    amenity.setQuantity(quantity);
+                    amenity.setPrice(priceValue);
+
+                    FxAsync.then(asyncService.update(amenity), success -> {
+                        if (!success) {
+                            new Alert(Alert.AlertType.ERROR, "Update failed!").show();
+                            refreshList();
+                        } else {
+                            table.refresh();
+                        }
+                    });
                 } catch (NumberFormatException ex) {
                     new Alert(Alert.AlertType.ERROR, "Quantity must be integer and Price must be a number").show();
                 }
@@ -196,8 +220,9 @@ public class AmenitiesPanel {
 
         confirm.showAndWait().ifPresent(btn -> {
             if (btn == ButtonType.OK) {
-                adminService.delete(amenity.getAmenityId());
-                refreshList();
+                FxAsync.then(asyncService.delete(amenity.getAmenityId()), deleted -> {
+                    if (deleted) loader.getItems().remove(amenity);
+                });
             }
         });
     }
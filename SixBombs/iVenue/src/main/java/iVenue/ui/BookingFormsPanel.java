@@ -1,10 +1,12 @@
 package iVenue.ui;
 
-import iVenue.config.MongoDb;
 import iVenue.models.*;
 import iVenue.services.AmenityAdmin;
-import com.mongodb.client.MongoCollection;
-import org.bson.Document;
+import iVenue.services.AsyncAdmin;
+import iVenue.services.AsyncBookings;
+import iVenue.services.BookingCommand;
+import iVenue.services.IoExecutor;
+import iVenue.services.OccupancyCalendar;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.*;
@@ -15,13 +17,17 @@ import javafx.util.Callback;
 import javafx.stage.Stage;
 import javafx.scene.Scene;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.*;
 import java.util.function.Consumer;
 
 public class BookingFormsPanel {
 
     public static Pane get(Venue venue, Customer customer, Runnable onBack) {
+        return get(venue, customer, null, "", onBack);
+    }
+
+    /** Form pre-filled from a search: the chosen day (null for today) and guest count */
+    public static Pane get(Venue venue, Customer customer, LocalDate date, String guests, Runnable onBack) {
         BorderPane root = new BorderPane();
         root.setPadding(new Insets(20));
         root.setStyle("-fx-background-color: #ECF0F1;");
@@ -51,6 +57,7 @@ public class BookingFormsPanel {
         Label lblGuests = new Label("Number of Guests (optional)");
         TextField txtGuests = new TextField();
         txtGuests.setPromptText("e.g. 50");
+        txtGuests.setText(guests);
 
         form.getChildren().addAll(lblCustomer, lblPurpose, txtPurpose, lblGuests, txtGuests);
 
@@ -62,32 +69,40 @@ public class BookingFormsPanel {
         Label lblCalendar = new Label("Select Date");
         DatePicker datePicker = new DatePicker();
         datePicker.setPrefWidth(300);
-        Set<LocalDate> booked = getBookedDatesFromDb(venue.getVenueId());
-        datePicker.setDayCellFactory(getDateCellFactory(booked));
-        datePicker.setValue(LocalDate.now());
+        datePicker.setValue(date != null ? date : LocalDate.now());
 
-        Label lblAmenities = new Label("Select Amenities");
-        AmenityAdmin amenityAdmin = new AmenityAdmin();
-        List<Amenity> amenitiesList = amenityAdmin.getAll();
+        // Occupancy bitmap: at most one small read, then every cell is a bit test; keep the picker disabled until it arrives
+        datePicker.setDisable(true);
+        LocalDate today = LocalDate.now();
+        FxAsync.then(IoExecutor.supply(() -> OccupancyCalendar.forVenue(venue.getVenueId(), today, today.plusDays(30))), occupancy -> {
+            datePicker.setDayCellFactory(getDateCellFactory(occupancy));
+            datePicker.setDisable(false);
+        });
 
+        Label lblAmenities = new Label("Select Amenities");
         VBox amenityBox = new VBox(8);
         ObservableList<CheckBox> amenityChecks = FXCollections.observableArrayList();
-        for (Amenity a : amenitiesList) {
-            CheckBox cb = new CheckBox(a.getName() + " — ₱" + a.getPrice());
-            cb.setUserData(a);
-            cb.setStyle("-fx-font-size:13;");
-            amenityChecks.add(cb);
-            amenityBox.getChildren().add(cb);
-        }
 
         Label lblTotal = new Label("Total: ₱" + formatPrice(venue.getPrice()));
         lblTotal.setStyle("-fx-font-size:16px; -fx-font-weight:bold;");
 
-        amenityChecks.forEach(cb -> cb.setOnAction(ev -> {
-            double total = venue.getPrice();
-            for (CheckBox c : amenityChecks) if (c.isSelected()) total += ((Amenity)c.getUserData()).getPrice();
-            lblTotal.setText("Total: ₱" + formatPrice(total));
-        }));
+        amenityBox.getChildren().add(FxAsync.loading("Loading amenities..."));
+        FxAsync.then(new AsyncAdmin<>(new AmenityAdmin()).getAll(), amenitiesList -> {
+            amenityBox.getChildren().clear();
+            for (Amenity a : amenitiesList) {
+                CheckBox cb = new CheckBox(a.getName() + " — ₱" + a.getPrice());
+                cb.setUserData(a);
+                cb.setStyle("-fx-font-size:13;");
+                amenityChecks.add(cb);
+                amenityBox.getChildren().add(cb);
+            }
+
+            amenityChecks.forEach(cb -> cb.setOnAction(ev -> {
+                double total = venue.getPrice();
+                for (CheckBox c : amenityChecks) if (c.isSelected()) total += ((Amenity)c.getUserData()).getPrice();
+                lblTotal.setText("Total: ₱" + formatPrice(total));
+            }));
+        });
 
         rightCol.getChildren().addAll(lblCalendar, datePicker, lblAmenities, amenityBox, lblTotal);
 
@@ -113,31 +128,34 @@ public class BookingFormsPanel {
         Consumer<PaymentStatus> bookVenue = payment -> {
             if (datePicker.getValue() == null) { alert("Please select a date."); return; }
             if (txtPurpose.getText() == null || txtPurpose.getText().trim().isEmpty()) { alert("Purpose is required."); return; }
+            if (!txtGuests.getText().isBlank()) {
+                int guestCount;
+                try { guestCount = Integer.parseInt(txtGuests.getText().trim()); }
+                catch (NumberFormatException ex) { alert("Number of guests must be a whole number."); return; }
+                if (guestCount > venue.getCapacity()) { alert("This venue fits at most " + venue.getCapacity() + " guests."); return; }
+            }
 
             List<Booking.AmenitySelection> selections = new ArrayList<>();
+            Map<Integer, Amenity> chosenAmenities = new HashMap<>();
             for (CheckBox c : amenityChecks) if (c.isSelected()) {
                 Amenity a = (Amenity)c.getUserData();
                 selections.add(new Booking.AmenitySelection(a.getAmenityId(), 1, a.getPrice()));
+                chosenAmenities.put(a.getAmenityId(), a);
             }
 
-            Booking booking = Booking.createBookingGUI(customer, venue, selections, txtPurpose.getText().trim(),
-                    payment == PaymentStatus.PAID || payment == PaymentStatus.DOWNPAID,
-                    payment == PaymentStatus.DOWNPAID);
-
-            if (booking == null) { alert("Booking failed."); return; }
-
-            // Update booking date & payment status in DB
-            try {
-                LocalDate chosen = datePicker.getValue();
-                Date asDate = Date.from(chosen.atStartOfDay(ZoneId.systemDefault()).toInstant());
-                MongoCollection<Document> coll = MongoDb.getDatabase().getCollection("bookings");
-                coll.updateOne(new Document("bookingId", booking.getBookingId()),
-                        new Document("$set", new Document("date", asDate)
-                                .append("paymentStatus", payment.name())));
-            } catch (Exception ex) { ex.printStackTrace(); }
-
-            showBookingSummary(booking, selections, venue);
-            onBack.run();
+            // Date, payment and amenities go in with the booking itself: one transaction, no follow-up patch
+            BookingCommand command = new BookingCommand(customer, venue, datePicker.getValue(), payment,
+                    selections, txtPurpose.getText().trim());
+
+            root.setDisable(true);
+            FxAsync.then(AsyncBookings.submit(command), booking -> {
+                root.setDisable(false);
+                showBookingSummary(booking, selections, chosenAmenities, venue);
+                onBack.run();
+            }, error -> {
+                root.setDisable(false);
+                FxAsync.showError("Booking failed", error);
+            });
         };
 
         // Assign actions
@@ -160,27 +178,7 @@ public class BookingFormsPanel {
     }
 
     // ---------------- HELPER METHODS ----------------
-    private static Set<LocalDate> getBookedDatesFromDb(int venueId) {
-        Set<LocalDate> out = new HashSet<>();
-        try {
-            MongoCollection<Document> coll = MongoDb.getDatabase().getCollection("bookings");
-            for (Document d : coll.find(new Document("venueId", venueId)
-                    .append("bookingStatus", BookingStatus.BOOKED.name())
-                    .append("paymentStatus", new Document("$in",
-                            Arrays.asList(PaymentStatus.PAID.name(), PaymentStatus.DOWNPAID.name()))))) {
-                if (d.containsKey("date")) {
-                    Object o = d.get("date");
-                    if (o instanceof Date date) out.add(date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
-                    else if (o instanceof String s) {
-                        try { out.add(LocalDate.parse(s.substring(0, Math.min(10, s.length())))); } catch (Exception ignored) {}
-                    }
-                }
-            }
-        } catch (Exception e) { e.printStackTrace(); }
-        return out;
-    }
-
-    private static Callback<DatePicker, DateCell> getDateCellFactory(Set<LocalDate> bookedDates) {
+    private static Callback<DatePicker, DateCell> getDateCellFactory(OccupancyCalendar occupancy) {
         return dp -> new DateCell() {
             @Override
             public void updateItem(LocalDate date, boolean empty) {
@@ -189,12 +187,13 @@ public class BookingFormsPanel {
                 if (date.isBefore(LocalDate.now()) || date.isAfter(LocalDate.now().plusDays(30))) {
                     setDisable(true); setStyle("-fx-background-color:#EEEEEE;"); return;
                 }
-                if (bookedDates.contains(date)) { setDisable(true); setStyle("-fx-background-color:#FF6666; -fx-text-fill:white;"); }
+                if (occupancy.isBooked(date)) { setDisable(true); setStyle("-fx-background-color:#FF6666; -fx-text-fill:white;"); }
             }
         };
     }
 
-    private static void showBookingSummary(Booking booking, List<Booking.AmenitySelection> selections, Venue venue) {
+    private static void showBookingSummary(Booking booking, List<Booking.AmenitySelection> selections,
+                                           Map<Integer, Amenity> amenities, Venue venue) {
         Stage stage = new Stage();
         stage.setTitle("Booking Summary");
         VBox layout = new VBox(12);
@@ -209,9 +208,9 @@ public class BookingFormsPanel {
         if (!selections.isEmpty()) {
             layout.getChildren().add(new Text("Amenities:"));
             VBox list = new VBox(6);
-            AmenityAdmin aAdmin = new AmenityAdmin();
+            // Names come from the amenities the customer ticked; no lookup needed
             for (Booking.AmenitySelection s : selections) {
-                Amenity a = aAdmin.getById(s.getAmenityId());
+                Amenity a = amenities.get(s.getAmenityId());
                 String label = (a != null ? a.getName() : ("Amenity#" + s.getAmenityId())) + " x" + s.getQuantity() + " - ₱" + s.getPrice();
                 list.getChildren().add(new Text(label));
             }
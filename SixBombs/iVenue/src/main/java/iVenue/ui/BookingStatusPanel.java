@@ -1,14 +1,15 @@
 package iVenue.ui;
 
 import iVenue.models.*;
+import iVenue.services.AsyncBookings;
+import iVenue.services.BatchLoader;
 import iVenue.services.BookingAdmin;
+import iVenue.services.IoExecutor;
 import iVenue.services.VenueAdmin;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
-import org.bson.Document;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,7 +17,7 @@ import java.util.stream.Collectors;
 public class BookingStatusPanel extends VBox {
 
     private final BookingAdmin bookingAdmin = new BookingAdmin();
-    private final TableView<Booking> table = new TableView<>();
+    private final TableView<BookingSummary> table = new TableView<>();
     private final Customer customer;
 
     public BookingStatusPanel(Customer customer) {
@@ -38,54 +39,57 @@ public class BookingStatusPanel extends VBox {
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         table.setStyle("-fx-font-size: 14;");
 
-        TableColumn<Booking, Integer> idCol = new TableColumn<>("Booking ID");
+        TableColumn<BookingSummary, Integer> idCol = new TableColumn<>("Booking ID");
         idCol.setCellValueFactory(d -> new javafx.beans.property.SimpleIntegerProperty(d.getValue().getBookingId()).asObject());
 
-        TableColumn<Booking, String> venueCol = new TableColumn<>("Venue");
+        TableColumn<BookingSummary, String> venueCol = new TableColumn<>("Venue");
         venueCol.setCellValueFactory(d ->
                 new javafx.beans.property.SimpleStringProperty(
-                        d.getValue().getVenue() != null ? d.getValue().getVenue().getName() : "N/A"
+                        d.getValue().getVenueName() != null ? d.getValue().getVenueName() : "N/A"
                 ));
 
-        TableColumn<Booking, String> purposeCol = new TableColumn<>("Purpose");
+        TableColumn<BookingSummary, String> purposeCol = new TableColumn<>("Purpose");
         purposeCol.setCellValueFactory(d ->
                 new javafx.beans.property.SimpleStringProperty(d.getValue().getPurpose())
         );
 
-        TableColumn<Booking, String> statusCol = new TableColumn<>("Status");
+        TableColumn<BookingSummary, String> statusCol = new TableColumn<>("Status");
         statusCol.setCellValueFactory(d ->
                 new javafx.beans.property.SimpleStringProperty(
                         d.getValue().getBookingStatus() != null ? d.getValue().getBookingStatus().name() : "N/A"
                 )
         );
 
-        TableColumn<Booking, String> paymentCol = new TableColumn<>("Payment");
+        TableColumn<BookingSummary, String> paymentCol = new TableColumn<>("Payment");
         paymentCol.setCellValueFactory(d ->
                 new javafx.beans.property.SimpleStringProperty(
                         d.getValue().getPaymentStatus() != null ? d.getValue().getPaymentStatus().name() : "N/A"
                 )
         );
 
-        TableColumn<Booking, Void> actionCol = new TableColumn<>("Action");
+        TableColumn<BookingSummary, Void> actionCol = new TableColumn<>("Action");
         actionCol.setCellFactory(col -> new TableCell<>() {
             private final Button btnCancel = new Button("Cancel");
 
             {
                 btnCancel.setOnAction(e -> {
-                    Booking b = getTableView().getItems().get(getIndex());
+                    BookingSummary b = getTableView().getItems().get(getIndex());
                     if (b.getPaymentStatus() == PaymentStatus.DOWNPAID || b.getPaymentStatus() == PaymentStatus.PAID) {
                         Alert a = new Alert(Alert.AlertType.WARNING, "Cannot cancel a booking with down payment or paid.");
                         a.showAndWait();
                         return;
                     }
-                    // Cancel booking using Booking class logic
-                    boolean success = Booking.cancelBookingGUI(customer, b.getBookingId());
-                    if (success) {
-                        loadBookings(); // refresh table
-                    } else {
-                        Alert a = new Alert(Alert.AlertType.ERROR, "Failed to cancel booking.");
-                        a.showAndWait();
-                    }
+                    // Cancel booking using Booking class logic, off the FX thread
+                    btnCancel.setDisable(true);
+                    FxAsync.then(AsyncBookings.cancelBooking(customer, b.getBookingId()), success -> {
+                        if (success) {
+                            loadBookings(); // refresh table
+                        } else {
+                            btnCancel.setDisable(false);
+                            Alert a = new Alert(Alert.AlertType.ERROR, "Failed to cancel booking.");
+                            a.showAndWait();
+                        }
+                    });
                 });
             }
 
@@ -95,7 +99,7 @@ public class BookingStatusPanel extends VBox {
                 if (empty) {
                     setGraphic(null);
                 } else {
-                    Booking b = getTableView().getItems().get(getIndex());
+                    BookingSummary b = getTableView().getItems().get(getIndex());
                     // Disable the cancel button if booking is downpaid or fully paid
                     btnCancel.setDisable(b.getPaymentStatus() == PaymentStatus.DOWNPAID || b.getPaymentStatus() == PaymentStatus.PAID);
                     setGraphic(btnCancel);
@@ -107,25 +111,28 @@ public class BookingStatusPanel extends VBox {
     }
 
     private void loadBookings() {
-        List<Document> docs = Booking.viewBookingsGUI(customer);
-        VenueAdmin venueAdmin = new VenueAdmin();
-
-        List<Booking> bookings = docs.stream().map(doc -> {
-            int venueId = doc.getInteger("venueId");
-            Venue venue = venueAdmin.getById(venueId); // fetch the Venue object
-            return new Booking(
-                    doc.getInteger("bookingId"),
-                    venue,
-                    null, // date if needed
-                    PaymentStatus.valueOf(doc.getString("paymentStatus")),
-                    BookingStatus.valueOf(doc.getString("bookingStatus")),
-                    doc.getString("purpose"),
-                    doc.get("bookedBy") instanceof Document bb ? bb.getString("username") : "N/A"
-            );
-        }).collect(Collectors.toList());
+        table.setPlaceholder(FxAsync.loading("Loading bookings..."));
+        FxAsync.then(AsyncBookings.viewBookingSummaries(customer)
+                .thenApplyAsync(this::withVenueNames, IoExecutor.executor()), bookings -> {
+            table.setItems(FXCollections.observableArrayList(bookings));
+            if (bookings.isEmpty()) table.setPlaceholder(new Label("No bookings yet"));
+        });
+    }
 
-        ObservableList<Booking> data = FXCollections.observableArrayList(bookings);
-        table.setItems(data);
+    /** Runs on the I/O pool: resolve current venue names for the rows */
+    private List<BookingSummary> withVenueNames(List<BookingSummary> rows) {
+        // One $in query for all venues on the page instead of one lookup per booking
+        BatchLoader<Venue> venues = new VenueAdmin().loader();
+        rows.forEach(b -> venues.queue(b.getVenueId()));
+
+        // Show the venue's current name; fall back to the name stored on the booking
+        List<BookingSummary> bookings = rows.stream().map(b -> {
+            Venue venue = venues.load(b.getVenueId());
+            if (venue == null) return b;
+            return new BookingSummary(b.getBookingId(), b.getVenueId(), venue.getName(), b.getPurpose(),
+                    b.getBookingStatus(), b.getPaymentStatus());
+        }).collect(Collectors.toList());
+        return bookings;
     }
 
 }
@@ -26,11 +26,12 @@ public class CustomerDashboard {
         navBar.setStyle("-fx-background-color: #2C3E50;");
 
         Button btnExplore = createNavButton("Explore Venues");
+        Button btnSearch = createNavButton("Find Venues");
         Button btnBookNow = createNavButton("Book Now");
         Button btnMyBookings = createNavButton("My Bookings");
         Button btnLogout = createNavButton("Logout");
 
-        navBar.getChildren().addAll(btnExplore, btnBookNow, btnMyBookings, btnLogout);
+        navBar.getChildren().addAll(btnExplore, btnSearch, btnBookNow, btnMyBookings, btnLogout);
 
         // =======================
         // MAIN CONTENT AREA
@@ -49,6 +50,12 @@ public class CustomerDashboard {
                     () -> contentArea.setCenter(explorePanelRef.get())));
         }));
 
+        // Search results open the booking form on the searched day, then come back to the results
+        AtomicReference<VenueSearchPanel> searchPanelRef = new AtomicReference<>();
+        searchPanelRef.set(new VenueSearchPanel(venue -> contentArea.setCenter(BookingFormsPanel.get(venue, customer,
+                searchPanelRef.get().getDate(), searchPanelRef.get().getGuests(),
+                () -> contentArea.setCenter(searchPanelRef.get())))));
+
         // Default content
         contentArea.setCenter(explorePanelRef.get());
 
@@ -56,6 +63,7 @@ public class CustomerDashboard {
         // NAVIGATION BUTTON EVENTS
         // =======================
         btnExplore.setOnAction(e -> contentArea.setCenter(explorePanelRef.get()));
+        btnSearch.setOnAction(e -> contentArea.setCenter(searchPanelRef.get()));
 
         btnBookNow.setOnAction(e -> {
             Label placeholder = new Label("Select a venue first from the Explore tab.");
@@ -66,6 +74,7 @@ public class CustomerDashboard {
         btnMyBookings.setOnAction(e -> contentArea.setCenter(new BookingStatusPanel(customer)));
 
         btnLogout.setOnAction(e -> {
+            explorePanelRef.get().dispose();
             window.close();
             if (loginStage != null) loginStage.show();
         });
@@ -78,6 +87,7 @@ public class CustomerDashboard {
         layout.setCenter(contentArea);
 
         Scene scene = new Scene(layout, 1200, 700);
+        FxStallMonitor.install(scene);
         window.setScene(scene);
         window.setMaximized(true);
         window.show();
@@ -2,9 +2,10 @@ package iVenue.ui;
 
 import iVenue.models.Admin;
 import iVenue.models.Customer;
+import iVenue.services.AsyncAdmin;
 import iVenue.services.CustomerAdmin;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import iVenue.services.IoExecutor;
+import iVenue.services.SearchIndex;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -14,10 +15,11 @@ import javafx.scene.control.cell.PropertyValueFactory;
 public class CustomersPanel {
 
     private static TableView<Customer> table;
-    private static ObservableList<Customer> customerList;
+    private static PagedTableLoader<Customer> loader;
 
     // Reuse ONE instance of CustomerAdmin
     private static final CustomerAdmin adminService = new CustomerAdmin();
+    private static final AsyncAdmin<Customer> asyncService = new AsyncAdmin<>(adminService);
 
     public static VBox get(Admin admin) {
         VBox root = new VBox(15);
@@ -30,6 +32,7 @@ public class CustomersPanel {
         table = new TableView<>();
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         table.setStyle("-fx-font-size: 16px;");
+        loader = new PagedTableLoader<>(table, adminService);
 
         // USER ID COLUMN
         TableColumn<Customer, Integer> userIdCol = new TableColumn<>("User ID");
@@ -113,16 +116,31 @@ public class CustomersPanel {
         // Make table grow to fill available space
         VBox.setVgrow(table, Priority.ALWAYS);
 
-        root.getChildren().addAll(title, table);
+        // SEARCH AS YOU TYPE (username, name or email, typo-tolerant; empty goes back to the full list)
+        TextField searchField = new TextField();
+        searchField.setPromptText("Search customers...");
+        searchField.setPrefWidth(250);
+
+        Button searchBtn = new Button("Search");
+        searchBtn.setStyle("-fx-background-color: #ff6d00; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
+        SearchAsYouType<Customer> search = new SearchAsYouType<>(searchField,
+                text -> IoExecutor.supply(() -> adminService.search(text, SearchIndex.DEFAULT_LIMIT)),
+                CustomersPanel::refreshList, text -> loader.beginResults(), loader::appendResults);
+        searchBtn.setOnAction(e -> search.runNow());
+
+        HBox topControls = new HBox(10, searchField, searchBtn);
+        topControls.setAlignment(Pos.CENTER_LEFT);
+        topControls.setPadding(new Insets(10, 0, 10, 0));
+
+        root.getChildren().addAll(title, topControls, table);
         return root;
     }
 
     // =====================================================
-    // REFRESH TABLE DATA
+    // REFRESH TABLE DATA (first page; later pages load on scroll)
     // =====================================================
     private static void refreshList() {
-        customerList = FXCollections.observableArrayList(adminService.getAll());
-        table.setItems(customerList);
+        loader.reload();
     }
 
     // =====================================================
@@ -185,13 +203,15 @@ public class CustomersPanel {
                 customer.setContactNumber(contactVal);
                 customer.setEmail(emailVal);
 
-                // Save to DB via adminService
-                boolean success = admin.updateCustomer(customer);
-                if (!success) {
-                    new Alert(Alert.AlertType.ERROR, "Update failed!").show();
-                    return;
-                }
-                refreshList();
+                // Save to DB off the FX thread
+                FxAsync.then(IoExecutor.supply(() -> admin.updateCustomer(customer)), success -> {
+                    if (!success) {
+                        new Alert(Alert.AlertType.ERROR, "Update failed!").show();
+                        return;
+                    }
+                    // Row object was edited in place; redraw without refetching the loaded pages
+                    table.refresh();
+                });
             }
         });
     }
@@ -207,8 +227,9 @@ public class CustomersPanel {
 
         confirm.showAndWait().ifPresent(btn -> {
             if (btn == ButtonType.OK) {
-                adminService.delete(customer.getUserId());
-                refreshList();
+                FxAsync.then(asyncService.delete(customer.getUserId()), deleted -> {
+                    if (deleted) loader.getItems().remove(customer);
+                });
             }
         });
     }
@@ -0,0 +1,52 @@
+package iVenue.ui;
+
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.HBox;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Glue between the async services and JavaFX: results are always applied on the FX thread.
+ */
+public final class FxAsync {
+
+    private FxAsync() {}
+
+    /** Apply the result (or the failure) of a background call on the FX thread. */
+    public static <T> void then(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((value, error) -> Platform.runLater(() -> {
+            if (error != null) onError.accept(unwrap(error));
+            else onSuccess.accept(value);
+        }));
+    }
+
+    /** Same, reporting failures with an error alert. */
+    public static <T> void then(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        then(future, onSuccess, error -> showError("Could not reach the database", error));
+    }
+
+    public static void showError(String message, Throwable error) {
+        error.printStackTrace();
+        new Alert(Alert.AlertType.ERROR, message + ": " + error.getMessage()).show();
+    }
+
+    /** Spinner with a caption, for panels whose data is still loading. */
+    public static Node loading(String text) {
+        ProgressIndicator spinner = new ProgressIndicator();
+        spinner.setPrefSize(28, 28);
+        HBox box = new HBox(10, spinner, new Label(text));
+        box.setAlignment(Pos.CENTER);
+        return box;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
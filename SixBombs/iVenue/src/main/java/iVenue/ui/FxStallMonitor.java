@@ -0,0 +1,103 @@
+package iVenue.ui;
+
+import iVenue.config.Diagnostics;
+import javafx.application.Platform;
+import javafx.event.EventTarget;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Labeled;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how long the FX application thread is blocked, attributed to the last user interaction.
+ *
+ * A daemon thread posts a probe with Platform.runLater every PROBE_INTERVAL_MS and times how long
+ * it waits to run; any wait beyond that is time the FX thread spent busy. Stalls of at least
+ * REPORT_THRESHOLD_MS are recorded with the interaction (last click or key press) that preceded them,
+ * and printed as they happen with -Divenue.debug=true.
+ */
+public final class FxStallMonitor {
+
+    private static final long PROBE_INTERVAL_MS = 50;
+    private static final long REPORT_THRESHOLD_MS = Long.getLong("ivenue.fx.stallReportMs", 100);
+
+    /** Blocked time per interaction: [total ms, max ms, stalls]. */
+    private static final Map<String, long[]> BY_INTERACTION = new ConcurrentHashMap<>();
+    private static final AtomicLong TOTAL_BLOCKED_MS = new AtomicLong();
+    private static volatile String lastInteraction = "startup";
+    private static volatile boolean started;
+
+    private FxStallMonitor() {}
+
+    /** Start probing (once) and record interactions on this scene. */
+    public static void install(Scene scene) {
+        scene.addEventFilter(MouseEvent.MOUSE_PRESSED, e -> lastInteraction = "click on " + describe(e.getTarget()));
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, e -> lastInteraction = "key " + e.getCode() + " in " + describe(e.getTarget()));
+        start();
+    }
+
+    private static synchronized void start() {
+        if (started) return;
+        started = true;
+
+        Thread probe = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    long posted = System.nanoTime();
+                    CountDownLatch ran = new CountDownLatch(1);
+                    Platform.runLater(ran::countDown);
+                    ran.await();
+                    long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - posted);
+                    if (waitedMs >= REPORT_THRESHOLD_MS) record(lastInteraction, waitedMs);
+                    Thread.sleep(PROBE_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "fx-stall-monitor");
+        probe.setDaemon(true);
+        probe.start();
+    }
+
+    private static void record(String interaction, long blockedMs) {
+        TOTAL_BLOCKED_MS.addAndGet(blockedMs);
+        BY_INTERACTION.compute(interaction, (k, s) -> {
+            if (s == null) s = new long[3];
+            s[0] += blockedMs;
+            s[1] = Math.max(s[1], blockedMs);
+            s[2]++;
+            return s;
+        });
+        Diagnostics.log("[fx] UI thread blocked " + blockedMs + " ms after " + interaction);
+    }
+
+    private static String describe(EventTarget target) {
+        if (target instanceof Labeled l && l.getText() != null && !l.getText().isBlank()) {
+            return target.getClass().getSimpleName() + " '" + l.getText() + "'";
+        }
+        if (target instanceof Node n && n.getParent() instanceof Labeled l && l.getText() != null) {
+            return l.getClass().getSimpleName() + " '" + l.getText() + "'";
+        }
+        return target.getClass().getSimpleName();
+    }
+
+    public static long getTotalBlockedMs() {
+        return TOTAL_BLOCKED_MS.get();
+    }
+
+    /** One line per interaction that blocked the FX thread: total, worst and count. */
+    public static String summary() {
+        StringBuilder sb = new StringBuilder("FX thread blocked " + TOTAL_BLOCKED_MS.get() + " ms in total");
+        BY_INTERACTION.forEach((interaction, s) -> sb.append("\n  ").append(interaction)
+                .append(": total=").append(s[0]).append(" ms, max=").append(s[1])
+                .append(" ms, stalls=").append(s[2]));
+        return sb.toString();
+    }
+}
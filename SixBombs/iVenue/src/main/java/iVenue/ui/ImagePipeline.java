@@ -0,0 +1,301 @@
+package iVenue.ui;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Background loading of venue images for cards and the carousel.
+ *
+ * An image reference (Venue.getImageRef()) is a file path, a file:/http(s): URL, or a reference
+ * understood by a registered source (see register). Images are decoded on a small image thread pool,
+ * downsampled to the requested card size while decoding, and kept in two LRUs:
+ * decoded images in memory (bounded by pixel bytes, -Divenue.images.memoryMb, default 32) and
+ * encoded PNG thumbnails on disk (-Divenue.images.diskMb, default 64, under ~/.ivenue/thumbnails),
+ * so a restart does not go back to the network. Concurrent requests for the same image share one load.
+ */
+public final class ImagePipeline {
+
+    /**
+     * Opens the bytes of an image reference with a custom scheme (e.g. images stored in the database).
+     * Gets the size the image will be shown at, so a source with pre-scaled copies can pick the smallest.
+     */
+    public interface Source {
+        InputStream open(String ref, int width, int height) throws IOException;
+    }
+
+    private static final long MEMORY_BYTES = Long.getLong("ivenue.images.memoryMb", 32) * 1024 * 1024;
+    private static final long DISK_BYTES = Long.getLong("ivenue.images.diskMb", 64) * 1024 * 1024;
+    private static final Path DISK_DIR = Paths.get(System.getProperty("ivenue.images.dir",
+            Paths.get(System.getProperty("user.home"), ".ivenue", "thumbnails").toString()));
+
+    private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+    private static final ExecutorService DECODER = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "ivenue-image-" + THREAD_SEQ.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final Map<String, Source> SOURCES = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<Image>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    /** "ref@WxH" -> decoded image, least recently used first */
+    private static final LinkedHashMap<String, Image> MEMORY = new LinkedHashMap<>(64, 0.75f, true);
+    private static long memoryBytes;
+
+    /** thumbnail file name -> size, least recently used first; loaded lazily from DISK_DIR */
+    private static final LinkedHashMap<String, Long> DISK = new LinkedHashMap<>(64, 0.75f, true);
+    private static long diskBytes;
+    private static boolean diskScanned;
+
+    private static final AtomicLong memoryHits = new AtomicLong();
+    private static final AtomicLong diskHits = new AtomicLong();
+    private static final AtomicLong loads = new AtomicLong();
+    private static final AtomicLong failures = new AtomicLong();
+
+    private static final Map<String, Image> PLACEHOLDERS = new ConcurrentHashMap<>();
+
+    private ImagePipeline() {}
+
+    /** Resolve references of the form "scheme:..." through the given source. */
+    public static void register(String scheme, Source source) {
+        SOURCES.put(scheme, source);
+    }
+
+    // ==============================
+    // LOADING
+    // ==============================
+
+    /**
+     * The image scaled to fit width x height, from memory, disk or its source; completes with null
+     * when the venue has no image or it cannot be read (callers keep the placeholder).
+     */
+    public static CompletableFuture<Image> load(String ref, double width, double height) {
+        if (ref == null || ref.isBlank()) return CompletableFuture.completedFuture(null);
+        int w = (int) Math.ceil(width), h = (int) Math.ceil(height);
+        String key = ref + "@" + w + "x" + h;
+
+        Image cached = fromMemory(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Image> future = new CompletableFuture<>();
+        CompletableFuture<Image> running = IN_FLIGHT.putIfAbsent(key, future);
+        if (running != null) return running;
+
+        DECODER.execute(() -> {
+            Image image = null;
+            try {
+                image = fromDisk(key);
+                if (image != null) {
+                    diskHits.incrementAndGet();
+                } else {
+                    image = decode(ref, w, h);
+                    loads.incrementAndGet();
+                    toDisk(key, image);
+                }
+                toMemory(key, image);
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                System.err.println("Could not load image " + ref + ": " + e.getMessage());
+            } finally {
+                IN_FLIGHT.remove(key, future);
+                future.complete(image);
+            }
+        });
+        return future;
+    }
+
+    /** Warm the caches for an image that is about to be shown (e.g. the next carousel slide). */
+    public static void prefetch(String ref, double width, double height) {
+        load(ref, width, height);
+    }
+
+    /** Plain grey image of the given size, shown until the real one arrives. */
+    public static Image placeholder(double width, double height) {
+        int w = (int) Math.ceil(width), h = (int) Math.ceil(height);
+        return PLACEHOLDERS.computeIfAbsent(w + "x" + h, k -> {
+            WritableImage image = new WritableImage(w, h);
+            for (int y = 0; y < h; y++) {
+                for (int x = 0; x < w; x++) image.getPixelWriter().setArgb(x, y, 0xFFE0E0E0);
+            }
+            return image;
+        });
+    }
+
+    private static Image decode(String ref, int w, int h) throws IOException {
+        try (InputStream in = open(ref, w, h)) {
+            // Downsample while decoding: the full-size bitmap is never held in memory
+            Image image = new Image(in, w, h, true, true);
+            if (image.isError()) throw new IOException(String.valueOf(image.getException()));
+            return image;
+        }
+    }
+
+    private static InputStream open(String ref, int w, int h) throws IOException {
+        int colon = ref.indexOf(':');
+        if (colon > 1) {
+            String scheme = ref.substring(0, colon);
+            Source source = SOURCES.get(scheme);
+            if (source != null) return source.open(ref, w, h);
+            if (scheme.equals("http") || scheme.equals("https") || scheme.equals("file")) {
+                return URI.create(ref).toURL().openStream();
+            }
+        }
+        return Files.newInputStream(Paths.get(ref));
+    }
+
+    // ==============================
+    // MEMORY LRU
+    // ==============================
+    private static Image fromMemory(String key) {
+        synchronized (MEMORY) {
+            return MEMORY.get(key);
+        }
+    }
+
+    private static void toMemory(String key, Image image) {
+        synchronized (MEMORY) {
+            Image old = MEMORY.put(key, image);
+            if (old != null) memoryBytes -= bytes(old);
+            memoryBytes += bytes(image);
+            Iterator<Map.Entry<String, Image>> it = MEMORY.entrySet().iterator();
+            while (memoryBytes > MEMORY_BYTES && it.hasNext()) {
+                Map.Entry<String, Image> eldest = it.next();
+                if (eldest.getKey().equals(key)) continue;
+                memoryBytes -= bytes(eldest.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    /** Decoded size: 4 bytes per pixel */
+    private static long bytes(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    // ==============================
+    // DISK LRU (PNG thumbnails)
+    // ==============================
+    private static Image fromDisk(String key) {
+        String file = fileName(key);
+        synchronized (DISK) {
+            scanDisk();
+            if (DISK.get(file) == null) return null;
+        }
+        try {
+            byte[] png = Files.readAllBytes(DISK_DIR.resolve(file));
+            return new Image(new ByteArrayInputStream(png));
+        } catch (IOException e) {
+            synchronized (DISK) {
+                Long size = DISK.remove(file);
+                if (size != null) diskBytes -= size;
+            }
+            return null;
+        }
+    }
+
+    private static void toDisk(String key, Image image) {
+        String file = fileName(key);
+        try {
+            Files.createDirectories(DISK_DIR);
+            Path target = DISK_DIR.resolve(file);
+            Path tmp = DISK_DIR.resolve(file + ".tmp");
+            ImageIO.write(toBuffered(image), "png", tmp.toFile());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            long size = Files.size(target);
+
+            synchronized (DISK) {
+                scanDisk();
+                Long old = DISK.put(file, size);
+                diskBytes += size - (old != null ? old : 0);
+                Iterator<Map.Entry<String, Long>> it = DISK.entrySet().iterator();
+                while (diskBytes > DISK_BYTES && it.hasNext()) {
+                    Map.Entry<String, Long> eldest = it.next();
+                    if (eldest.getKey().equals(file)) continue;
+                    Files.deleteIfExists(DISK_DIR.resolve(eldest.getKey()));
+                    diskBytes -= eldest.getValue();
+                    it.remove();
+                }
+            }
+        } catch (IOException e) {
+            // The memory cache still has it; only the next start pays for the load again
+            System.err.println("Could not cache thumbnail " + key + ": " + e.getMessage());
+        }
+    }
+
+    /** Pick up thumbnails from earlier runs, oldest first, once. Caller holds the DISK lock. */
+    private static void scanDisk() {
+        if (diskScanned) return;
+        diskScanned = true;
+        if (!Files.isDirectory(DISK_DIR)) return;
+        try (Stream<Path> files = Files.list(DISK_DIR)) {
+            files.filter(p -> p.getFileName().toString().endsWith(".png"))
+                    .sorted((a, b) -> Long.compare(a.toFile().lastModified(), b.toFile().lastModified()))
+                    .forEach(p -> {
+                        long size = p.toFile().length();
+                        DISK.put(p.getFileName().toString(), size);
+                        diskBytes += size;
+                    });
+        } catch (IOException e) {
+            System.err.println("Could not read thumbnail cache " + DISK_DIR + ": " + e.getMessage());
+        }
+    }
+
+    private static String fileName(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16) + ".png";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BufferedImage toBuffered(Image image) {
+        int w = (int) image.getWidth(), h = (int) image.getHeight();
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        PixelReader reader = image.getPixelReader();
+        int[] row = new int[w];
+        for (int y = 0; y < h; y++) {
+            reader.getPixels(0, y, w, 1, PixelFormat.getIntArgbInstance(), row, 0, w);
+            out.setRGB(0, y, w, 1, row, 0, w);
+        }
+        return out;
+    }
+
+    /** Cache counters for the exit log. */
+    public static String summary() {
+        synchronized (MEMORY) {
+            return String.format("images: %d memory hits, %d disk hits, %d loads, %d failed; memory %.1f MB in %d images",
+                    memoryHits.get(), diskHits.get(), loads.get(), failures.get(), memoryBytes / 1048576.0, MEMORY.size());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package iVenue.ui;
+
+import iVenue.services.AdminManagement;
+import iVenue.services.AsyncAdmin;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+import java.util.List;
+
+/**
+ * Feeds a TableView from AdminManagement.page(...) instead of getAll():
+ * the first page is loaded up front and the next one when the user scrolls near the bottom.
+ * Pages are fetched on the I/O pool; the table shows a spinner until the first one arrives.
+ */
+public class PagedTableLoader<T> {
+
+    public static final int PAGE_SIZE = 100;
+
+    /** Fetch the next page once the scroll position passes this fraction of the table. */
+    private static final double PREFETCH_AT = 0.9;
+
+    private final TableView<T> table;
+    private final AsyncAdmin<T> service;
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+
+    private Object nextKey;
+    private boolean hasMore;
+    private boolean loading;
+    /** Bumped by reload() so a page requested before it is dropped when it arrives. */
+    private int generation;
+
+    public PagedTableLoader(TableView<T> table, AdminManagement<T> service) {
+        this.table = table;
+        this.service = new AsyncAdmin<>(service);
+        table.setItems(items);
+
+        // The vertical scroll bar only exists once the skin is built
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            if (newSkin != null) hookScrollBar();
+        });
+    }
+
+    public ObservableList<T> getItems() {
+        return items;
+    }
+
+    /** Drop loaded rows and start again from the first page. */
+    public void reload() {
+        generation++;
+        items.clear();
+        nextKey = null;
+        hasMore = true;
+        loading = false;
+        table.setPlaceholder(FxAsync.loading("Loading..."));
+        loadNextPage();
+    }
+
+    /** Switch from pages to a result list (e.g. search hits) fed by appendResults; reload() goes back to paging. */
+    public void beginResults() {
+        generation++;
+        hasMore = false;
+        loading = false;
+        items.clear();
+        table.setPlaceholder(FxAsync.loading("Searching..."));
+    }
+
+    public void appendResults(List<T> results) {
+        items.addAll(results);
+        if (items.isEmpty()) table.setPlaceholder(new Label("No matches"));
+    }
+
+    public void loadNextPage() {
+        if (!hasMore || loading) return;
+        loading = true;
+        int requested = generation;
+
+        FxAsync.then(service.page(nextKey, PAGE_SIZE, null, null), page -> {
+            if (requested != generation) return;
+            loading = false;
+            items.addAll(page.getItems());
+            nextKey = page.getNextKey();
+            hasMore = page.hasMore();
+            if (items.isEmpty()) table.setPlaceholder(new Label("No rows"));
+        }, error -> {
+            if (requested != generation) return;
+            loading = false;
+            table.setPlaceholder(new Label("Could not load rows: " + error.getMessage()));
+            error.printStackTrace();
+        });
+    }
+
+    private void hookScrollBar() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                bar.valueProperty().addListener((obs, oldValue, value) -> {
+                    if (value.doubleValue() >= bar.getMax() * PREFETCH_AT) loadNextPage();
+                });
+            }
+        }
+    }
+}
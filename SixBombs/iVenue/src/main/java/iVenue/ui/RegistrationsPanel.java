@@ -2,6 +2,7 @@
 package iVenue.ui;
 
 import iVenue.models.Customer;
+import iVenue.services.AsyncUsers;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -71,17 +72,22 @@ public class RegistrationsPanel {
                 return;
             }
 
-            // --- Register customer ---
-            var customer = iVenue.models.Customer.registerCustomerGUI(
+            // --- Register customer (off the FX thread) ---
+            submit.setDisable(true);
+            FxAsync.then(AsyncUsers.registerCustomer(
                     usernameVal, passwordVal, firstNameVal, lastNameVal, contactVal, emailVal
-            );
-
-            Alert alert = new Alert(customer != null ? Alert.AlertType.INFORMATION : Alert.AlertType.ERROR);
-            alert.setContentText(customer != null ? "Registration successful!" : "Registration failed. Check input.");
-            alert.initOwner(regStage);
-            alert.showAndWait();
-
-            if (customer != null) regStage.close();
+            ), customer -> {
+                submit.setDisable(false);
+                Alert alert = new Alert(customer != null ? Alert.AlertType.INFORMATION : Alert.AlertType.ERROR);
+                alert.setContentText(customer != null ? "Registration successful!" : "Registration failed. Check input.");
+                alert.initOwner(regStage);
+                alert.showAndWait();
+
+                if (customer != null) regStage.close();
+            }, error -> {
+                submit.setDisable(false);
+                FxAsync.showError("Registration failed", error);
+            });
         });
 
         root.getChildren().addAll(usernameField, passwordField, firstNameField, lastNameField, contactField, emailField, submit);
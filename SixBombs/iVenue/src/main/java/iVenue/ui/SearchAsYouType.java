@@ -0,0 +1,96 @@
+package iVenue.ui;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Search-as-you-type for a TextField: keystrokes are debounced, the query runs off the FX thread,
+ * and a newer query cancels the one still in flight so only the latest text is ever shown.
+ *
+ * Results are handed to the panel in chunks of CHUNK_SIZE, one chunk per FX pulse, so a long
+ * result list never blocks a frame. Clearing the field calls onEmpty (back to the unfiltered view).
+ * The debounce is -Divenue.search.debounceMs (default 250).
+ */
+public class SearchAsYouType<T> {
+
+    public static final Duration DEBOUNCE = Duration.millis(Integer.getInteger("ivenue.search.debounceMs", 250));
+    public static final int CHUNK_SIZE = 25;
+
+    private final TextField field;
+    private final Function<String, CompletableFuture<List<T>>> query;
+    private final Runnable onEmpty;
+    private final Consumer<String> onStart;
+    private final Consumer<List<T>> onChunk;
+    private final PauseTransition debounce = new PauseTransition(DEBOUNCE);
+
+    private CompletableFuture<List<T>> inFlight;
+    /** Bumped per query; chunks of an older query stop as soon as they see a newer one */
+    private int generation;
+    private String lastQuery = "";
+
+    /**
+     * @param query   runs the search for the trimmed text, off the FX thread
+     * @param onEmpty the field was cleared
+     * @param onStart a search for this text started; clear the old results
+     * @param onChunk next chunk of results, in rank order
+     */
+    public SearchAsYouType(TextField field, Function<String, CompletableFuture<List<T>>> query,
+                           Runnable onEmpty, Consumer<String> onStart, Consumer<List<T>> onChunk) {
+        this.field = field;
+        this.query = query;
+        this.onEmpty = onEmpty;
+        this.onStart = onStart;
+        this.onChunk = onChunk;
+
+        debounce.setOnFinished(e -> run(field.getText().trim()));
+        field.textProperty().addListener((obs, oldText, text) -> debounce.playFromStart());
+        // Enter searches right away
+        field.setOnAction(e -> runNow());
+    }
+
+    /** Skip the debounce (Search button, Enter). */
+    public void runNow() {
+        debounce.stop();
+        lastQuery = null; // run even if the text did not change
+        run(field.getText().trim());
+    }
+
+    private void run(String text) {
+        if (text.equals(lastQuery)) return;
+        lastQuery = text;
+
+        int requested = ++generation;
+        if (inFlight != null) inFlight.cancel(false);
+        inFlight = null;
+
+        if (text.isEmpty()) {
+            onEmpty.run();
+            return;
+        }
+        onStart.accept(text);
+
+        CompletableFuture<List<T>> future = query.apply(text);
+        inFlight = future;
+        FxAsync.then(future, results -> deliver(requested, results, 0), error -> {
+            if (error instanceof CancellationException || requested != generation) return;
+            FxAsync.showError("Search failed", error);
+        });
+    }
+
+    /** Hand over one chunk, then schedule the next for a later pulse. */
+    private void deliver(int requested, List<T> results, int from) {
+        if (requested != generation) return;
+        int to = Math.min(from + CHUNK_SIZE, results.size());
+        onChunk.accept(results.subList(from, to));
+        if (to < results.size()) Platform.runLater(() -> deliver(requested, results, to));
+        else inFlight = null;
+    }
+}
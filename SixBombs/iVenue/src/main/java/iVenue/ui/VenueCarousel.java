@@ -0,0 +1,298 @@
+package iVenue.ui;
+
+import iVenue.models.VenueSummary;
+import iVenue.services.Page;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.animation.TranslateTransition;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Three-card venue carousel (previous, current, next) that slides every SLIDE_INTERVAL.
+ *
+ * The three cards are built once and re-pointed at other venues as the carousel moves.
+ * Venues are paged in PAGE_SIZE at a time as the carousel approaches the end of what is loaded,
+ * and at most WINDOW of them are kept (the oldest page is dropped), restarting from the first
+ * page after the last. A catalog that fits in one page is simply cycled.
+ * Auto-slide only runs while the carousel is in a showing, non-minimized window; dispose() stops it for good.
+ */
+public class VenueCarousel extends VBox {
+
+    public static final int PAGE_SIZE = 20;
+    private static final int WINDOW = 3 * PAGE_SIZE;
+    /** Load the next page when this close to the end of the window */
+    private static final int PREFETCH = 3;
+    private static final Duration SLIDE_INTERVAL = Duration.seconds(5);
+
+    private static final double CARD_WIDTH = 350;
+    private static final double CARD_HEIGHT = 250;
+    private static final double IMAGE_WIDTH = CARD_WIDTH - 40;
+    private static final double IMAGE_HEIGHT = CARD_HEIGHT - 80;
+    private static final double CENTER_SCALE = 1.0;
+    private static final double SIDE_SCALE = 0.8;
+
+    private final Function<Object, CompletableFuture<Page<VenueSummary>>> pages;
+    private final Function<VenueSummary, CompletableFuture<?>> onOpen;
+
+    private final HBox row = new HBox(40);
+    private final StackPane body = new StackPane();
+    private final CarouselCard[] cards = new CarouselCard[3];
+    private final TranslateTransition slide = new TranslateTransition(Duration.millis(300), row);
+    private final Timeline autoSlide = new Timeline(new KeyFrame(SLIDE_INTERVAL, e -> slide(1)));
+
+    /** Loaded venues; the cards show current - 1 .. current + 1 */
+    private final List<VenueSummary> venues = new ArrayList<>();
+    private int current;
+    private Object nextKey;
+    /** The whole catalog fit in the first page: cycle it, never load again */
+    private boolean complete;
+    private boolean loading;
+    private boolean disposed;
+
+    // Showing-state tracking for auto-slide
+    private final InvalidationListener showingListener = obs -> updateRunning();
+    private Scene watchedScene;
+    private Window watchedWindow;
+
+    /**
+     * @param pages  next page of venues after the given key (null for the first page), PAGE_SIZE long
+     * @param onOpen a card was clicked; the card stays disabled until the returned future completes
+     */
+    public VenueCarousel(Function<Object, CompletableFuture<Page<VenueSummary>>> pages,
+                         Function<VenueSummary, CompletableFuture<?>> onOpen) {
+        this.pages = pages;
+        this.onOpen = onOpen;
+
+        setSpacing(20);
+        setAlignment(Pos.CENTER);
+
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = new CarouselCard(i == 1 ? CENTER_SCALE : SIDE_SCALE);
+            row.getChildren().add(cards[i]);
+        }
+        row.setAlignment(Pos.CENTER);
+        body.getChildren().setAll(FxAsync.loading("Loading venues..."));
+
+        // Carousel arrows
+        Button prev = new Button("<");
+        Button next = new Button(">");
+        prev.setOnAction(e -> slideByUser(-1));
+        next.setOnAction(e -> slideByUser(1));
+
+        HBox controls = new HBox(20, prev, next);
+        controls.setAlignment(Pos.CENTER);
+        getChildren().addAll(body, controls);
+
+        autoSlide.setCycleCount(Timeline.INDEFINITE);
+        sceneProperty().addListener(showingListener);
+        loadMore();
+    }
+
+    /** Stop auto-sliding and loading for good (the panel is being thrown away). */
+    public void dispose() {
+        disposed = true;
+        autoSlide.stop();
+        slide.stop();
+        sceneProperty().removeListener(showingListener);
+        watch(null, null);
+    }
+
+    // ==============================
+    // PAGING
+    // ==============================
+    private void loadMore() {
+        if (loading || complete || disposed) return;
+        loading = true;
+        FxAsync.then(pages.apply(nextKey), page -> {
+            loading = false;
+            if (disposed) return;
+            boolean first = venues.isEmpty() && nextKey == null;
+            venues.addAll(page.getItems());
+            if (first && !page.hasMore()) complete = true;
+            // After the last page, start over from the first
+            nextKey = page.hasMore() ? page.getNextKey() : null;
+
+            if (venues.size() > WINDOW) {
+                int drop = Math.min(venues.size() - WINDOW, current - 1);
+                if (drop > 0) {
+                    venues.subList(0, drop).clear();
+                    current -= drop;
+                }
+            }
+
+            if (venues.isEmpty()) {
+                body.getChildren().setAll(new Label("No venues yet"));
+                return;
+            }
+            if (body.getChildren().get(0) != row) body.getChildren().setAll(row);
+            render();
+            updateRunning();
+        }, error -> {
+            loading = false;
+            if (venues.isEmpty()) {
+                body.getChildren().setAll(new Label("Could not load venues"));
+                FxAsync.showError("Could not load venues", error);
+            } else {
+                // Keep cycling what is loaded; the next slide near the end tries again
+                error.printStackTrace();
+            }
+        });
+    }
+
+    /** The venue offset slots away from the current one, or null past the loaded window. */
+    private VenueSummary venueAt(int offset) {
+        if (venues.isEmpty()) return null;
+        int index = current + offset;
+        if (complete) return venues.get(Math.floorMod(index, venues.size()));
+        return index >= 0 && index < venues.size() ? venues.get(index) : null;
+    }
+
+    // ==============================
+    // SLIDING
+    // ==============================
+    private void slideByUser(int direction) {
+        slide(direction);
+        // A full interval before the next automatic slide
+        if (autoSlide.getStatus() == Timeline.Status.RUNNING) autoSlide.playFromStart();
+    }
+
+    private void slide(int direction) {
+        if (venues.isEmpty()) return;
+        if (complete) {
+            current = Math.floorMod(current + direction, venues.size());
+        } else {
+            int target = current + direction;
+            // Not loaded yet (or dropped from the window): stay put
+            if (target < 0 || target >= venues.size()) {
+                if (target >= venues.size()) loadMore();
+                return;
+            }
+            current = target;
+            if (current >= venues.size() - PREFETCH) loadMore();
+        }
+        render();
+
+        slide.setFromX(direction * CARD_WIDTH / 3);
+        slide.setToX(0);
+        slide.playFromStart();
+    }
+
+    private void render() {
+        for (int i = 0; i < cards.length; i++) cards[i].show(venueAt(i - 1));
+
+        // The slides one step beyond each side are the next to appear
+        for (int offset : new int[]{-2, 2}) {
+            VenueSummary v = venueAt(offset);
+            if (v != null) ImagePipeline.prefetch(v.getImageRef(), IMAGE_WIDTH, IMAGE_HEIGHT);
+        }
+    }
+
+    // ==============================
+    // SHOWING STATE
+    // ==============================
+
+    /** Run auto-slide only while attached to a showing, non-minimized window with venues to show. */
+    private void updateRunning() {
+        Scene scene = disposed ? null : getScene();
+        Window window = scene != null ? scene.getWindow() : null;
+        watch(scene, window);
+
+        boolean showing = window != null && window.isShowing()
+                && !(window instanceof Stage stage && stage.isIconified());
+        if (showing && !venues.isEmpty()) {
+            if (autoSlide.getStatus() != Timeline.Status.RUNNING) autoSlide.play();
+        } else {
+            // A paused animation is off the pulse timer, so a detached carousel costs nothing and can be collected
+            autoSlide.pause();
+        }
+    }
+
+    private void watch(Scene scene, Window window) {
+        if (scene != watchedScene) {
+            if (watchedScene != null) watchedScene.windowProperty().removeListener(showingListener);
+            if (scene != null) scene.windowProperty().addListener(showingListener);
+            watchedScene = scene;
+        }
+        if (window != watchedWindow) {
+            if (watchedWindow != null) {
+                watchedWindow.showingProperty().removeListener(showingListener);
+                if (watchedWindow instanceof Stage stage) stage.iconifiedProperty().removeListener(showingListener);
+            }
+            if (window != null) {
+                window.showingProperty().addListener(showingListener);
+                if (window instanceof Stage stage) stage.iconifiedProperty().addListener(showingListener);
+            }
+            watchedWindow = window;
+        }
+    }
+
+    // --- Carousel card: built once, re-pointed at another venue on every slide ---
+    private class CarouselCard extends VBox {
+        private final ImageView image = new ImageView(ImagePipeline.placeholder(IMAGE_WIDTH, IMAGE_HEIGHT));
+        private final Label name = new Label();
+        private final Label price = new Label();
+        private VenueSummary venue;
+
+        CarouselCard(double scale) {
+            super(10);
+            setPadding(new Insets(10));
+            setAlignment(Pos.CENTER);
+            setPrefSize(CARD_WIDTH, CARD_HEIGHT);
+            setStyle("""
+                    -fx-border-color: #B0B0B0;
+                    -fx-border-width: 1;
+                    -fx-background-color: #F8F8F8;
+                    -fx-background-radius: 8;
+                    """);
+            setScaleX(scale);
+            setScaleY(scale);
+
+            image.setFitWidth(IMAGE_WIDTH);
+            image.setFitHeight(IMAGE_HEIGHT);
+            image.setPreserveRatio(true);
+            name.setStyle("-fx-font-size:16px; -fx-font-weight:bold;");
+            price.setStyle("-fx-font-size:14px;");
+            getChildren().addAll(image, name, price);
+
+            setOnMouseClicked(e -> {
+                if (venue == null) return;
+                setDisable(true);
+                onOpen.apply(venue).whenComplete((result, error) -> Platform.runLater(() -> setDisable(false)));
+            });
+        }
+
+        void show(VenueSummary v) {
+            setVisible(v != null);
+            if (v == venue) return;
+            venue = v;
+            if (v == null) return;
+
+            name.setText(v.getName());
+            price.setText(v.getPriceLabel());
+            // Grey box until the photo is decoded (instantly when it is already cached)
+            image.setImage(ImagePipeline.placeholder(IMAGE_WIDTH, IMAGE_HEIGHT));
+            FxAsync.then(ImagePipeline.load(v.getImageRef(), IMAGE_WIDTH, IMAGE_HEIGHT), loaded -> {
+                // The card may have moved on to another venue meanwhile
+                if (loaded != null && venue == v) image.setImage(loaded);
+            });
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package iVenue.ui;
+
+import iVenue.models.Venue;
+import iVenue.services.IoExecutor;
+import iVenue.services.VenueAdmin;
+import javafx.collections.FXCollections;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Customer search: venues free on the chosen dates that fit the guests, price and location.
+ * The query runs on the I/O pool through VenueAdmin.searchAvailable.
+ */
+public class VenueSearchPanel extends VBox {
+
+    private final VenueAdmin venueAdmin = new VenueAdmin();
+    private final TableView<Venue> table = new TableView<>();
+    private final Label lblResult = new Label();
+    private final DatePicker dpFrom = new DatePicker(LocalDate.now());
+    private final DatePicker dpTo = new DatePicker(LocalDate.now());
+    private final TextField txtGuests = new TextField();
+    private final TextField txtMaxPrice = new TextField();
+    private final TextField txtLocation = new TextField();
+    private final Consumer<Venue> onBook;
+    private int searchGeneration;
+
+    public VenueSearchPanel(Consumer<Venue> onBook) {
+        this.onBook = onBook;
+        setSpacing(20);
+        setPadding(new Insets(20));
+        setStyle("-fx-background-color: #ECF0F1;");
+
+        Label title = new Label("Find Available Venues");
+        title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold; -fx-text-fill: #2C3E50;");
+
+        txtGuests.setPromptText("Guests");
+        txtGuests.setPrefWidth(90);
+        txtMaxPrice.setPromptText("Max price");
+        txtMaxPrice.setPrefWidth(110);
+        txtLocation.setPromptText("Location");
+
+        Button btnSearch = new Button("Search");
+        btnSearch.setStyle("-fx-background-color:#27AE60; -fx-text-fill:white; -fx-padding:6 16;");
+        btnSearch.setOnAction(e -> search());
+        btnSearch.setDefaultButton(true);
+
+        HBox criteria = new HBox(10, new Label("From"), dpFrom, new Label("To"), dpTo,
+                txtGuests, txtMaxPrice, txtLocation, btnSearch);
+        criteria.setAlignment(Pos.CENTER_LEFT);
+
+        setupTable();
+
+        getChildren().addAll(title, criteria, lblResult, table);
+    }
+
+    /** First day of the searched range; the booking form opens on it. */
+    public LocalDate getDate() {
+        return dpFrom.getValue();
+    }
+
+    /** Guests as typed, for the booking form. */
+    public String getGuests() {
+        return txtGuests.getText().trim();
+    }
+
+    @SuppressWarnings("deprecation") // same column sizing as the other tables; the FLEX_ replacement sizes columns differently
+    private void setupTable() {
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.setStyle("-fx-font-size: 14;");
+        table.setPlaceholder(new Label("Pick dates and search"));
+
+        TableColumn<Venue, String> nameCol = new TableColumn<>("Venue");
+        nameCol.setCellValueFactory(d -> new javafx.beans.property.SimpleStringProperty(d.getValue().getName()));
+
+        TableColumn<Venue, String> locationCol = new TableColumn<>("Location");
+        locationCol.setCellValueFactory(d -> new javafx.beans.property.SimpleStringProperty(d.getValue().getLocation()));
+
+        TableColumn<Venue, Integer> capacityCol = new TableColumn<>("Capacity");
+        capacityCol.setCellValueFactory(d -> new javafx.beans.property.SimpleIntegerProperty(d.getValue().getCapacity()).asObject());
+
+        TableColumn<Venue, String> priceCol = new TableColumn<>("Price");
+        priceCol.setCellValueFactory(d -> new javafx.beans.property.SimpleStringProperty(d.getValue().getPriceLabel()));
+
+        TableColumn<Venue, Void> actionCol = new TableColumn<>("Action");
+        actionCol.setCellFactory(col -> new TableCell<>() {
+            private final Button btnBook = new Button("Book");
+
+            {
+                btnBook.setOnAction(e -> onBook.accept(getTableView().getItems().get(getIndex())));
+            }
+
+            @Override
+            protected void updateItem(Void item, boolean empty) {
+                super.updateItem(item, empty);
+                setGraphic(empty ? null : btnBook);
+            }
+        });
+
+        table.getColumns().addAll(List.of(nameCol, locationCol, capacityCol, priceCol, actionCol));
+    }
+
+    private void search() {
+        LocalDate from = dpFrom.getValue();
+        LocalDate to = dpTo.getValue();
+        if (from == null || to == null || to.isBefore(from)) { alert("Pick a valid date range."); return; }
+
+        int guests;
+        Double maxPrice;
+        try {
+            guests = txtGuests.getText().isBlank() ? 0 : Integer.parseInt(txtGuests.getText().trim());
+            maxPrice = txtMaxPrice.getText().isBlank() ? null : Double.parseDouble(txtMaxPrice.getText().trim());
+        } catch (NumberFormatException ex) {
+            alert("Guests and max price must be numbers.");
+            return;
+        }
+        String location = txtLocation.getText();
+
+        // A newer search supersedes one still in flight
+        int generation = ++searchGeneration;
+        long start = System.nanoTime();
+        table.setPlaceholder(FxAsync.loading("Searching..."));
+        table.getItems().clear();
+        FxAsync.then(IoExecutor.supply(() -> venueAdmin.searchAvailable(from, to.plusDays(1), guests, maxPrice, location)), venues -> {
+            if (generation != searchGeneration) return;
+            table.setItems(FXCollections.observableArrayList(venues));
+            table.setPlaceholder(new Label("No venue is free for those criteria"));
+            lblResult.setText(venues.size() + " venue(s) found in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }, error -> {
+            if (generation != searchGeneration) return;
+            table.setPlaceholder(new Label("Search failed: " + error.getMessage()));
+        });
+    }
+
+    private static void alert(String msg) {
+        Alert a = new Alert(Alert.AlertType.INFORMATION, msg);
+        a.setHeaderText(null);
+        a.showAndWait();
+    }
+}
@@ -2,7 +2,14 @@ package iVenue.ui;
 
 import iVenue.models.Admin;
 import iVenue.models.Venue;
+import iVenue.services.AsyncAdmin;
+import iVenue.services.IoExecutor;
+import iVenue.services.SearchIndex;
 import iVenue.services.VenueAdmin;
+import iVenue.services.VenueMedia;
+import iVenue.services.VenueQuery;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -10,15 +17,41 @@ import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class VenuesPanel {
 
     private static final VenueAdmin adminService = new VenueAdmin();
+    private static final AsyncAdmin<Venue> asyncService = new AsyncAdmin<>(adminService);
+    /** Cards per grid row */
+    private static final int COLUMNS = 2;
+    /** Venues fetched per query page; a multiple of COLUMNS so pages fill whole rows */
+    private static final int PAGE_SIZE = 100;
+
     private static VBox root;
-    private static FlowPane cardsContainer;
+    /** Virtualized grid: one ListView row per COLUMNS venues, so only the visible cards exist */
+    private static ListView<List<Venue>> cardsContainer;
+    private static final ObservableList<List<Venue>> rows = FXCollections.observableArrayList();
+    /** Venues behind the current rows (after filter/search) */
+    private static final List<Venue> shown = new ArrayList<>();
+    /** venueId -> card currently showing it; only visible cards are in here */
+    private static final Map<Integer, VenueCard> visibleCards = new HashMap<>();
+    /** Bumped per load so an older, slower response never overwrites a newer one */
+    private static int generation;
+    /** Filter behind the shown venues and where its next page starts */
+    private static VenueQuery currentQuery = VenueQuery.all();
+    private static Object nextKey;
+    private static boolean hasMore;
+    private static boolean loading;
 
     public static VBox get(Admin admin) {
         root = new VBox(15);
@@ -41,29 +74,32 @@ public class VenuesPanel {
         showPaidBtn.setOnAction(e -> filterFreePaid(false));
 
         TextField searchField = new TextField();
-        searchField.setPromptText("Search by name...");
+        searchField.setPromptText("Search venues...");
         searchField.setPrefWidth(200);
 
+        // Search as you type: ranked hits stream into the grid; clearing the field shows every venue again
         Button searchBtn = new Button("Search");
         searchBtn.setStyle("-fx-background-color: #ff6d00; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
-        searchBtn.setOnAction(e -> searchVenue(searchField.getText().trim()));
+        SearchAsYouType<Venue> search = new SearchAsYouType<>(searchField,
+                text -> IoExecutor.supply(() -> adminService.search(text, SearchIndex.DEFAULT_LIMIT)),
+                () -> showVenues(VenueQuery.all()), text -> beginSearch(), VenuesPanel::appendVenues);
+        searchBtn.setOnAction(e -> search.runNow());
 
         HBox topControls = new HBox(10, addBtn, showFreeBtn, showPaidBtn, searchField, searchBtn);
         topControls.setAlignment(Pos.CENTER_LEFT);
         topControls.setPadding(new Insets(10, 0, 10, 0));
 
         // --- Cards Container ---
-        ScrollPane scrollPane = new ScrollPane();
-        scrollPane.setFitToWidth(true);
-
-        cardsContainer = new FlowPane();
-        cardsContainer.setHgap(15);
-        cardsContainer.setVgap(15);
-        cardsContainer.setPadding(new Insets(10));
-        cardsContainer.setPrefWidth(Double.MAX_VALUE);
-        scrollPane.setContent(cardsContainer);
+        // ListView creates cells for the visible rows only and reuses them while scrolling
+        visibleCards.clear();
+        cardsContainer = new ListView<>(rows);
+        cardsContainer.setFixedCellSize(VenueCard.HEIGHT + 15);
+        cardsContainer.setFocusTraversable(false);
+        cardsContainer.setStyle("-fx-background-color: transparent; -fx-background-insets: 0; -fx-padding: 10;");
+        cardsContainer.setCellFactory(list -> new CardRowCell(admin));
+        VBox.setVgrow(cardsContainer, Priority.ALWAYS);
 
-        root.getChildren().addAll(title, topControls, scrollPane);
+        root.getChildren().addAll(title, topControls, cardsContainer);
 
         refreshCards(admin);
 
@@ -72,33 +108,115 @@ public class VenuesPanel {
 
     // --- Refresh cards ---
     private static void refreshCards(Admin admin) {
-        refreshCards(admin, adminService.getAll());
+        showVenues(VenueQuery.all());
     }
 
-    private static void refreshCards(Admin admin, List<Venue> venues) {
-        cardsContainer.getChildren().clear();
+    /** Start over with the first page of the query; later pages load as the grid is scrolled */
+    private static void showVenues(VenueQuery query) {
+        generation++;
+        currentQuery = query;
+        nextKey = null;
+        hasMore = true;
+        loading = false;
+        shown.clear();
+        rows.clear();
+        cardsContainer.setPlaceholder(FxAsync.loading("Loading venues..."));
+        loadNextPage();
+    }
 
-        for (Venue venue : venues) {
-            VBox card = new VBox(10);
-            card.setPadding(new Insets(15));
-            card.setStyle("-fx-border-color: gray; -fx-border-width: 1; -fx-background-color: #f5f5f5; -fx-background-radius: 5;");
-            card.setAlignment(Pos.TOP_CENTER);
+    /** Fetch the next page of the current query off the FX thread and append it */
+    private static void loadNextPage() {
+        if (loading || !hasMore) return;
+        loading = true;
+        int requested = generation;
+        FxAsync.then(adminService.queryAsync(currentQuery, nextKey, PAGE_SIZE), page -> {
+            if (requested != generation) return;
+            loading = false;
+            nextKey = page.getNextKey();
+            hasMore = page.hasMore();
+            appendVenues(page.getItems());
+        }, error -> {
+            if (requested == generation) loading = false;
+            FxAsync.showError("Failed to load venues", error);
+        });
+    }
 
-            // Uniform responsive size
-            card.prefWidthProperty().bind(cardsContainer.widthProperty().subtract(30).divide(2.1));
-            card.setPrefHeight(300); // same height for all cards
+    /** Regroup the shown venues into rows; cells are reused, no card is rebuilt */
+    private static void rebuildRows() {
+        List<List<Venue>> grouped = new ArrayList<>((shown.size() + COLUMNS - 1) / COLUMNS);
+        for (int i = 0; i < shown.size(); i += COLUMNS) {
+            grouped.add(List.copyOf(shown.subList(i, Math.min(i + COLUMNS, shown.size()))));
+        }
+        rows.setAll(grouped);
+    }
 
-            Text name = new Text("Name: " + venue.getName());
-            name.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-            name.wrappingWidthProperty().bind(card.prefWidthProperty().subtract(20));
+    /** Re-render one edited venue in place; off-screen venues pick up the change when scrolled to */
+    private static void patchCard(Venue venue) {
+        VenueCard card = visibleCards.get(venue.getVenueId());
+        if (card != null) card.show(venue);
+    }
 
-            Text description = new Text("Description: " + venue.getDescription());
-            description.wrappingWidthProperty().bind(card.prefWidthProperty().subtract(20));
+    /** Drop one deleted venue without reloading the list */
+    private static void removeCard(Venue venue) {
+        if (shown.removeIf(v -> v.getVenueId() == venue.getVenueId())) rebuildRows();
+    }
 
-            Text capacity = new Text("Capacity: " + venue.getCapacity());
-            Text availability = new Text("Availability: " + (venue.isAvailability() ? "Available" : "Booked"));
-            Text location = new Text("Location: " + venue.getLocation());
-            Text price = new Text("Price: " + (venue.isFree() ? "FREE" : "₱" + venue.getPrice()));
+    // --- Grid row: COLUMNS recycled cards ---
+    private static class CardRowCell extends ListCell<List<Venue>> {
+        private final VenueCard[] cards = new VenueCard[COLUMNS];
+        private final HBox row = new HBox(15);
+
+        CardRowCell(Admin admin) {
+            for (int i = 0; i < COLUMNS; i++) {
+                cards[i] = new VenueCard(admin);
+                // Uniform responsive size
+                cards[i].prefWidthProperty().bind(widthProperty().subtract(30).divide(2.1));
+                row.getChildren().add(cards[i]);
+            }
+            setStyle("-fx-background-color: transparent; -fx-padding: 0 0 15 0;");
+        }
+
+        @Override
+        protected void updateItem(List<Venue> venues, boolean empty) {
+            super.updateItem(venues, empty);
+            if (empty || venues == null) {
+                for (VenueCard card : cards) card.clear();
+                setGraphic(null);
+                return;
+            }
+            for (int i = 0; i < COLUMNS; i++) {
+                if (i < venues.size()) cards[i].show(venues.get(i));
+                else cards[i].clear();
+            }
+            setGraphic(row);
+
+            // Near the bottom: fetch the next page before the user gets there
+            if (getIndex() >= rows.size() - 3) loadNextPage();
+        }
+    }
+
+    // --- Venue card: built once, re-pointed at another venue on reuse ---
+    private static class VenueCard extends VBox {
+        static final double HEIGHT = 300; // same height for all cards
+
+        private final Text name = new Text();
+        private final Text description = new Text();
+        private final Text capacity = new Text();
+        private final Text availability = new Text();
+        private final Text location = new Text();
+        private final Text price = new Text();
+        private Venue venue;
+
+        VenueCard(Admin admin) {
+            super(10);
+            setPadding(new Insets(15));
+            setStyle("-fx-border-color: gray; -fx-border-width: 1; -fx-background-color: #f5f5f5; -fx-background-radius: 5;");
+            setAlignment(Pos.TOP_CENTER);
+            setPrefHeight(HEIGHT);
+
+            name.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+            name.wrappingWidthProperty().bind(prefWidthProperty().subtract(20));
+            description.wrappingWidthProperty().bind(prefWidthProperty().subtract(20));
 
             Button editBtn = new Button("Edit");
             Button deleteBtn = new Button("Delete");
@@ -116,9 +234,69 @@ public class VenuesPanel {
             Region spacer = new Region();
             VBox.setVgrow(spacer, Priority.ALWAYS);
 
-            card.getChildren().addAll(name, description, capacity, availability, location, price, spacer, buttonBox);
+            getChildren().addAll(name, description, capacity, availability, location, price, spacer, buttonBox);
+        }
+
+        void show(Venue v) {
+            if (venue != null && visibleCards.get(venue.getVenueId()) == this) visibleCards.remove(venue.getVenueId());
+            venue = v;
+            visibleCards.put(v.getVenueId(), this);
+
+            name.setText("Name: " + v.getName());
+            description.setText("Description: " + v.getDescription());
+            capacity.setText("Capacity: " + v.getCapacity());
+            availability.setText("Availability: " + (v.isAvailability() ? "Available" : "Unavailable"));
+            location.setText("Location: " + v.getLocation());
+            price.setText("Price: " + (v.isFree() ? "FREE" : "₱" + v.getPrice()));
+            setVisible(true);
+        }
+
+        void clear() {
+            if (venue != null && visibleCards.get(venue.getVenueId()) == this) visibleCards.remove(venue.getVenueId());
+            venue = null;
+            setVisible(false);
+        }
+    }
 
-            cardsContainer.getChildren().add(card);
+    // --- Photo picker for the add/edit dialogs ---
+    private static class PhotoPicker extends HBox {
+        private final Label fileLabel;
+        private File chosen;
+
+        PhotoPicker(String currentRef) {
+            super(10);
+            setAlignment(Pos.CENTER_LEFT);
+            fileLabel = new Label(currentRef != null ? "Current photo" : "No photo");
+
+            Button chooseBtn = new Button("Choose Photo...");
+            chooseBtn.setOnAction(e -> {
+                FileChooser chooser = new FileChooser();
+                chooser.setTitle("Venue Photo");
+                chooser.getExtensionFilters().add(
+                        new FileChooser.ExtensionFilter("Images", "*.jpg", "*.jpeg", "*.png", "*.gif", "*.bmp"));
+                File file = chooser.showOpenDialog(getScene().getWindow());
+                if (file != null) {
+                    chosen = file;
+                    fileLabel.setText(file.getName());
+                }
+            });
+            getChildren().addAll(chooseBtn, fileLabel);
+        }
+
+        /** Store the chosen photo off the FX thread, then continue with its image reference (currentRef if none was chosen). */
+        void upload(String currentRef, Consumer<String> next) {
+            if (chosen == null) {
+                next.accept(currentRef);
+                return;
+            }
+            File file = chosen;
+            FxAsync.then(IoExecutor.supply(() -> {
+                try {
+                    return VenueMedia.store(file.toPath());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e.getMessage(), e);
+                }
+            }), next, error -> FxAsync.showError("Could not upload photo", error));
         }
     }
 
@@ -143,9 +321,11 @@ public class VenuesPanel {
         TextField priceField = new TextField();
         priceField.setPromptText("Price");
 
+        PhotoPicker photo = new PhotoPicker(null);
+
         CheckBox freeCheck = new CheckBox("Free Venue");
 
-        VBox layout = new VBox(10, nameField, descField, capacityField, locationField, priceField, freeCheck);
+        VBox layout = new VBox(10, nameField, descField, capacityField, locationField, priceField, photo, freeCheck);
         layout.setPadding(new Insets(20));
 
         dialog.getDialogPane().setContent(layout);
@@ -167,13 +347,16 @@ public class VenuesPanel {
                     }
 
                     Venue venue = new Venue(0, name, desc, capacity, true, location, price);
-                    boolean success = adminService.create(venue);
-
-                    if (!success) {
-                        new Alert(Alert.AlertType.ERROR, "Failed to add venue!").show();
-                    } else {
-                        refreshCards(admin);
-                    }
+                    photo.upload(null, imageRef -> {
+                        venue.setImageRef(imageRef);
+                        FxAsync.then(asyncService.create(venue), success -> {
+                            if (!success) {
+                                new Alert(Alert.AlertType.ERROR, "Failed to add venue!").show();
+                            } else {
+                                refreshCards(admin);
+                            }
+                        });
+                    });
                 } catch (NumberFormatException ex) {
                     new Alert(Alert.AlertType.ERROR, "Capacity and Price must be numbers!").show();
                 }
@@ -193,11 +376,12 @@ public class VenuesPanel {
         TextField capacityField = new TextField(String.valueOf(venue.getCapacity()));
         TextField locationField = new TextField(venue.getLocation());
         TextField priceField = new TextField(String.valueOf(venue.getPrice()));
+        PhotoPicker photo = new PhotoPicker(venue.getImageRef());
 
         CheckBox freeCheck = new CheckBox("Free Venue");
         freeCheck.setSelected(venue.isFree());
 
-        VBox layout = new VBox(10, nameField, descField, capacityField, locationField, priceField, freeCheck);
+        VBox layout = new VBox(10, nameField, descField, capacityField, locationField, priceField, photo, freeCheck);
         layout.setPadding(new Insets(20));
 
         dialog.getDialogPane().setContent(layout);
@@ -225,13 +409,16 @@ public class VenuesPanel {
                     venue.setPrice(price);
                     venue.setFree(isFree);
 
-                    boolean success = adminService.update(venue);
-
-                    if (!success) {
-                        new Alert(Alert.AlertType.ERROR, "Failed to update venue!").show();
-                    } else {
-                        refreshCards(admin);
-                    }
+                    photo.upload(venue.getImageRef(), imageRef -> {
+                        venue.setImageRef(imageRef);
+                        FxAsync.then(asyncService.update(venue), success -> {
+                            if (!success) {
+                                new Alert(Alert.AlertType.ERROR, "Failed to update venue!").show();
+                            } else {
+                                patchCard(venue);
+                            }
+                        });
+                    });
                 } catch (NumberFormatException ex) {
                     new Alert(Alert.AlertType.ERROR, "Capacity and Price must be numbers!").show();
                 }
@@ -248,35 +435,43 @@ public class VenuesPanel {
 
         confirm.showAndWait().ifPresent(btn -> {
             if (btn == ButtonType.OK) {
-                boolean success = adminService.delete(venue.getVenueId());
-                if (!success) {
-                    new Alert(Alert.AlertType.ERROR, "Failed to delete venue!").show();
-                } else {
-                    refreshCards(null);
-                }
+                FxAsync.then(asyncService.delete(venue.getVenueId()), success -> {
+                    if (!success) {
+                        new Alert(Alert.AlertType.ERROR, "Failed to delete venue!").show();
+                    } else {
+                        removeCard(venue);
+                    }
+                });
             }
         });
     }
 
     // --- Filter Free/Paid ---
     private static void filterFreePaid(boolean freeOnly) {
-        List<Venue> venues = adminService.getAll();
-        if (freeOnly) {
-            venues = venues.stream().filter(Venue::isFree).collect(Collectors.toList());
-        } else {
-            venues = venues.stream().filter(v -> !v.isFree()).collect(Collectors.toList());
-        }
-        refreshCards(null, venues);
+        showVenues(VenueQuery.all().free(freeOnly));
     }
 
-    // --- Search by name ---
-    private static void searchVenue(String query) {
-        List<Venue> venues = adminService.getAll();
-        if (!query.isEmpty()) {
-            venues = venues.stream()
-                    .filter(v -> v.getName().toLowerCase().contains(query.toLowerCase()))
-                    .collect(Collectors.toList());
+    // --- Search results (see SearchAsYouType) ---
+    private static void beginSearch() {
+        generation++;
+        hasMore = false;
+        loading = false;
+        shown.clear();
+        rows.clear();
+        cardsContainer.setPlaceholder(FxAsync.loading("Searching..."));
+    }
+
+    private static void appendVenues(List<Venue> venues) {
+        cardsContainer.setPlaceholder(new Label("No venues found."));
+        boolean fullRows = shown.size() % COLUMNS == 0;
+        int from = shown.size();
+        shown.addAll(venues);
+        if (!fullRows) {
+            rebuildRows();
+            return;
+        }
+        for (int i = from; i < shown.size(); i += COLUMNS) {
+            rows.add(List.copyOf(shown.subList(i, Math.min(i + COLUMNS, shown.size()))));
         }
-        refreshCards(null, venues);
     }
 }
@@ -0,0 +1,79 @@
+package iVenue;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Timing and allocation helper for the *Benchmark classes (run with mvn test -Pbenchmarks).
+ *
+ * Not a substitute for JMH: each measurement is warmed up, then the best of a few rounds is kept,
+ * which is enough to compare two ways of doing the same work on the same machine.
+ * Allocation comes from the HotSpot per-thread counter and is reported as -1 elsewhere.
+ */
+public final class Benchmarks {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private Benchmarks() {}
+
+    /** Best-of-rounds result of one piece of work that processes `rows` rows per run. */
+    public record Result(String label, int rows, long nanos, long allocatedBytes) {
+
+        public double nanosPerRow() {
+            return (double) nanos / rows;
+        }
+
+        public double bytesPerRow() {
+            return allocatedBytes < 0 ? -1 : (double) allocatedBytes / rows;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-36s %8d rows  %10.1f ms  %9.1f ns/row  %9.1f B/row",
+                    label, rows, nanos / 1e6, nanosPerRow(), bytesPerRow());
+        }
+    }
+
+    /** Run the work WARMUP_ROUNDS times, then keep the fastest (and least allocating) of MEASURED_ROUNDS runs. */
+    public static Result measure(String label, int rows, Runnable work) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) work.run();
+
+        long bestNanos = Long.MAX_VALUE;
+        long bestBytes = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            work.run();
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            long bytesAfter = allocatedBytes();
+            if (bytesBefore >= 0) bestBytes = Math.min(bestBytes, bytesAfter - bytesBefore);
+        }
+        Result result = new Result(label, rows, bestNanos, bestBytes == Long.MAX_VALUE ? -1 : bestBytes);
+        System.out.println(result);
+        return result;
+    }
+
+    /** Bytes allocated by the current thread so far, or -1 when the JVM does not track it. */
+    public static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /** Heap in use after asking for a full collection (approximate). */
+    public static long usedHeapAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,85 @@
+package iVenue.repositories;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Upcasting version 1 bookings (no schemaVersion) to the current shape.
+ */
+class BookingSchemaTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 5);
+
+    @Test
+    void dateToStringTextBecomesTheStoredDay() {
+        // What new Date().toString() wrote; the zone abbreviation is ignored
+        assertEquals(BookingSchema.toStoredDay(DAY), upcastDate("Tue Mar 05 14:30:00 PHT 2024"));
+        assertEquals(BookingSchema.toStoredDay(DAY), upcastDate("Tue Mar 5 23:59:59 CST 2024"));
+    }
+
+    @Test
+    void isoTextBecomesTheStoredDay() {
+        assertEquals(BookingSchema.toStoredDay(DAY), upcastDate("2024-03-05"));
+        assertEquals(BookingSchema.toStoredDay(DAY), upcastDate("2024-03-05T22:15:00"));
+    }
+
+    @Test
+    void dateAtLocalMidnightBecomesTheStoredDay() {
+        Date localMidnight = Date.from(DAY.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        assertEquals(BookingSchema.toStoredDay(DAY), upcastDate(localMidnight));
+    }
+
+    @Test
+    void unreadableDateIsMovedAside() {
+        Document v2 = BookingSchema.upcast(new Document("bookingId", 1).append("date", "next tuesday"));
+
+        assertFalse(v2.containsKey("date"));
+        assertEquals("next tuesday", v2.getString("legacyDate"));
+        assertEquals(BookingSchema.CURRENT_VERSION, v2.getInteger("schemaVersion"));
+        assertNull(BookingSchema.bookingDay(v2));
+    }
+
+    @Test
+    void usernameAndNumbersAreNormalized() {
+        Document v1 = new Document("bookingId", 1)
+                .append("bookedBy", "ana")
+                .append("price", 1500)
+                .append("amenities", List.of(new Document("amenityId", 2).append("price", "250").append("quantity", 3.0)));
+
+        Document v2 = BookingSchema.upcast(v1);
+
+        assertEquals(new Document("username", "ana"), v2.get("bookedBy"));
+        assertEquals(1500.0, v2.get("price"));
+        Document amenity = v2.getList("amenities", Document.class).get(0);
+        assertEquals(250.0, amenity.get("price"));
+        assertEquals(3, amenity.get("quantity"));
+        // The input is left as it was
+        assertEquals("ana", v1.get("bookedBy"));
+        assertFalse(v1.containsKey("schemaVersion"));
+    }
+
+    @Test
+    void currentDocumentIsReturnedAsIs() {
+        Document current = new Document("bookingId", 1).append("date", BookingSchema.toStoredDay(DAY))
+                .append("schemaVersion", BookingSchema.CURRENT_VERSION);
+
+        assertSame(current, BookingSchema.upcast(current));
+        assertEquals(DAY, BookingSchema.bookingDay(current));
+    }
+
+    private static Object upcastDate(Object legacy) {
+        Document v2 = BookingSchema.upcast(new Document("bookingId", 1).append("date", legacy));
+        assertEquals(BookingSchema.CURRENT_VERSION, v2.getInteger("schemaVersion"));
+        return v2.get("date");
+    }
+}
@@ -0,0 +1,127 @@
+package iVenue.repositories;
+
+import org.bson.Document;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DocumentStore that counts the calls made through it, each of which is one round trip on MongoDB.
+ * Set up data through delegate() so it does not count.
+ */
+public class CountingDocumentStore implements DocumentStore {
+
+    private final DocumentStore delegate;
+    private final AtomicLong calls = new AtomicLong();
+
+    public CountingDocumentStore(DocumentStore delegate) {
+        this.delegate = delegate;
+    }
+
+    public DocumentStore delegate() {
+        return delegate;
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public void reset() {
+        calls.set(0);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public void insert(Document doc) {
+        calls.incrementAndGet();
+        delegate.insert(doc);
+    }
+
+    @Override
+    public void insertMany(List<Document> docs) {
+        calls.incrementAndGet();
+        delegate.insertMany(docs);
+    }
+
+    @Override
+    public Document findOne(Document filter) {
+        calls.incrementAndGet();
+        return delegate.findOne(filter);
+    }
+
+    @Override
+    public List<Document> find(Document filter) {
+        calls.incrementAndGet();
+        return delegate.find(filter);
+    }
+
+    @Override
+    public <T> T findOne(Document filter, Class<T> type) {
+        calls.incrementAndGet();
+        return delegate.findOne(filter, type);
+    }
+
+    @Override
+    public <T> List<T> find(Document filter, Class<T> type) {
+        calls.incrementAndGet();
+        return delegate.find(filter, type);
+    }
+
+    @Override
+    public <T> List<T> find(Document filter, Document projection, Class<T> type) {
+        calls.incrementAndGet();
+        return delegate.find(filter, projection, type);
+    }
+
+    @Override
+    public <T> List<T> findSorted(Document filter, Document sort, int limit, Class<T> type) {
+        calls.incrementAndGet();
+        return delegate.findSorted(filter, sort, limit, type);
+    }
+
+    @Override
+    public <T> List<T> findSorted(Document filter, Document projection, Document sort, int limit, Class<T> type) {
+        calls.incrementAndGet();
+        return delegate.findSorted(filter, projection, sort, limit, type);
+    }
+
+    @Override
+    public long updateOne(Document filter, Document update) {
+        calls.incrementAndGet();
+        return delegate.updateOne(filter, update);
+    }
+
+    @Override
+    public long deleteOne(Document filter) {
+        calls.incrementAndGet();
+        return delegate.deleteOne(filter);
+    }
+
+    @Override
+    public long deleteMany(Document filter) {
+        calls.incrementAndGet();
+        return delegate.deleteMany(filter);
+    }
+
+    @Override
+    public Document findOneAndUpdate(Document filter, Document update, boolean returnUpdated) {
+        calls.incrementAndGet();
+        return delegate.findOneAndUpdate(filter, update, returnUpdated);
+    }
+
+    @Override
+    public Document findOneAndDelete(Document filter) {
+        calls.incrementAndGet();
+        return delegate.findOneAndDelete(filter);
+    }
+
+    @Override
+    public int maxInt(String field) {
+        calls.incrementAndGet();
+        return delegate.maxInt(field);
+    }
+}
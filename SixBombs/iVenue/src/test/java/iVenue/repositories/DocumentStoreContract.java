@@ -0,0 +1,257 @@
+package iVenue.repositories;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Behaviour every DocumentStore engine must share, so services see the same results in memory and on MongoDB.
+ * Subclasses supply a fresh, empty store where "key" is unique and "group" is indexed.
+ */
+abstract class DocumentStoreContract {
+
+    protected DocumentStore store;
+
+    /** A new empty collection: "key" unique, "group" indexed. */
+    protected abstract DocumentStore createStore(String name);
+
+    @BeforeEach
+    void freshStore() {
+        store = createStore("contract_" + System.nanoTime());
+    }
+
+    // ==============================
+    // Inserts
+    // ==============================
+
+    @Test
+    void insertedDocumentIsFoundByEquality() {
+        store.insert(doc(1, "a").append("name", "Hall"));
+
+        Document found = store.findOne(new Document("key", 1));
+        assertNotNull(found);
+        assertEquals("Hall", found.getString("name"));
+        assertNull(store.findOne(new Document("key", 2)));
+    }
+
+    @Test
+    void duplicateUniqueValueIsRejected() {
+        store.insert(doc(1, "a"));
+
+        assertThrows(DuplicateKeyException.class, () -> store.insert(doc(1, "b")));
+        assertEquals(1, store.find(new Document()).size());
+    }
+
+    @Test
+    void insertManyKeepsGoingPastADuplicate() {
+        store.insert(doc(2, "a"));
+
+        assertThrows(DuplicateKeyException.class,
+                () -> store.insertMany(List.of(doc(1, "a"), doc(2, "b"), doc(3, "c"))));
+        assertEquals(List.of(1, 2, 3), keys(store.findSorted(new Document(), new Document("key", 1), 10, Document.class)));
+        assertEquals("a", store.findOne(new Document("key", 2)).getString("group"));
+    }
+
+    @Test
+    void insertManyOfNothingIsANoOp() {
+        store.insertMany(List.of());
+        assertTrue(store.find(new Document()).isEmpty());
+    }
+
+    // ==============================
+    // Filters
+    // ==============================
+
+    @Test
+    void filterOperators() {
+        insertKeys(1, 2, 3, 4, 5);
+        store.updateOne(new Document("key", 5), new Document("$set", new Document("extra", true)));
+
+        assertEquals(List.of(2, 4), findKeys(new Document("key", new Document("$in", List.of(2, 4, 9)))));
+        assertEquals(List.of(1, 3, 5), findKeys(new Document("key", new Document("$nin", List.of(2, 4)))));
+        assertEquals(List.of(1, 2, 4, 5), findKeys(new Document("key", new Document("$ne", 3))));
+        assertEquals(List.of(4, 5), findKeys(new Document("key", new Document("$gt", 3))));
+        assertEquals(List.of(3, 4, 5), findKeys(new Document("key", new Document("$gte", 3))));
+        assertEquals(List.of(1, 2), findKeys(new Document("key", new Document("$lt", 3))));
+        assertEquals(List.of(1, 2, 3), findKeys(new Document("key", new Document("$lte", 3))));
+        assertEquals(List.of(2, 3), findKeys(new Document("key", new Document("$gt", 1).append("$lt", 4))));
+        assertEquals(List.of(5), findKeys(new Document("extra", new Document("$exists", true))));
+        assertEquals(List.of(1, 2, 3, 4), findKeys(new Document("extra", new Document("$exists", false))));
+    }
+
+    @Test
+    void indexedAndUnindexedTermsCombine() {
+        store.insert(doc(1, "a").append("open", true));
+        store.insert(doc(2, "a").append("open", false));
+        store.insert(doc(3, "b").append("open", true));
+
+        assertEquals(List.of(1), findKeys(new Document("group", "a").append("open", true)));
+        assertEquals(List.of(1, 2, 3), findKeys(new Document("group", new Document("$in", List.of("a", "b")))));
+        assertTrue(findKeys(new Document("group", "z")).isEmpty());
+    }
+
+    @Test
+    void dottedPathsReachIntoSubdocuments() {
+        store.insert(doc(1, "a").append("address", new Document("city", "Manila")));
+        store.insert(doc(2, "a").append("address", new Document("city", "Cebu")));
+
+        assertEquals(List.of(2), findKeys(new Document("address.city", "Cebu")));
+    }
+
+    // ==============================
+    // Updates and deletes
+    // ==============================
+
+    @Test
+    void updateOneReportsTheMatchedCount() {
+        store.insert(doc(1, "a").append("count", 1).append("note", "x"));
+
+        Document update = new Document("$set", new Document("group", "b"))
+                .append("$inc", new Document("count", 2))
+                .append("$unset", new Document("note", ""));
+        assertEquals(1, store.updateOne(new Document("key", 1), update));
+        assertEquals(0, store.updateOne(new Document("key", 9), update));
+
+        Document after = store.findOne(new Document("key", 1));
+        assertEquals("b", after.getString("group"));
+        assertEquals(3, after.getInteger("count"));
+        assertFalse(after.containsKey("note"));
+        // The index follows the updated value
+        assertEquals(List.of(1), findKeys(new Document("group", "b")));
+        assertTrue(findKeys(new Document("group", "a")).isEmpty());
+    }
+
+    @Test
+    void bitwiseUpdatesOnLongs() {
+        store.insert(doc(1, "a").append("bits", 0b1100L));
+
+        store.updateOne(new Document("key", 1), new Document("$bit", new Document("bits", new Document("or", 0b0011L))));
+        assertEquals(0b1111L, store.findOne(new Document("key", 1)).getLong("bits"));
+        store.updateOne(new Document("key", 1), new Document("$bit", new Document("bits", new Document("and", 0b0110L))));
+        assertEquals(0b0110L, store.findOne(new Document("key", 1)).getLong("bits"));
+        store.updateOne(new Document("key", 1), new Document("$bit", new Document("bits", new Document("xor", 0b0101L))));
+        assertEquals(0b0011L, store.findOne(new Document("key", 1)).getLong("bits"));
+    }
+
+    @Test
+    void updateCannotDuplicateAUniqueValue() {
+        insertKeys(1, 2);
+
+        assertThrows(DuplicateKeyException.class,
+                () -> store.updateOne(new Document("key", 2), new Document("$set", new Document("key", 1))));
+        assertEquals(List.of(1, 2), findKeys(new Document()));
+    }
+
+    @Test
+    void findOneAndUpdateCannotDuplicateAUniqueValue() {
+        insertKeys(1, 2);
+
+        assertThrows(DuplicateKeyException.class,
+                () -> store.findOneAndUpdate(new Document("key", 2), new Document("$set", new Document("key", 1)), true));
+        assertEquals(List.of(1, 2), findKeys(new Document()));
+    }
+
+    @Test
+    void findOneAndUpdateReturnsTheRequestedVersion() {
+        store.insert(doc(1, "a").append("count", 1));
+
+        Document before = store.findOneAndUpdate(new Document("key", 1), new Document("$inc", new Document("count", 1)), false);
+        assertEquals(1, before.getInteger("count"));
+        Document after = store.findOneAndUpdate(new Document("key", 1), new Document("$inc", new Document("count", 1)), true);
+        assertEquals(3, after.getInteger("count"));
+        assertNull(store.findOneAndUpdate(new Document("key", 9), new Document("$inc", new Document("count", 1)), true));
+    }
+
+    @Test
+    void deletesReportHowManyWentAway() {
+        store.insertMany(List.of(doc(1, "a"), doc(2, "a"), doc(3, "b"), doc(4, "b")));
+
+        assertEquals(1, store.deleteOne(new Document("key", 1)));
+        assertEquals(0, store.deleteOne(new Document("key", 1)));
+        assertEquals(2, store.deleteMany(new Document("group", "b")));
+        assertEquals(List.of(2), findKeys(new Document()));
+
+        // A deleted unique value can be used again
+        store.insert(doc(1, "c"));
+        assertEquals(List.of(1, 2), findKeys(new Document()));
+    }
+
+    @Test
+    void findOneAndDeleteReturnsTheRemovedDocument() {
+        insertKeys(1);
+
+        assertEquals(1, store.findOneAndDelete(new Document("key", 1)).getInteger("key"));
+        assertNull(store.findOneAndDelete(new Document("key", 1)));
+        assertTrue(store.find(new Document()).isEmpty());
+    }
+
+    // ==============================
+    // Sorting, paging, projection
+    // ==============================
+
+    @Test
+    void findSortedOrdersAndLimits() {
+        store.insertMany(List.of(doc(1, "b"), doc(2, "a"), doc(3, "b"), doc(4, "a"), doc(5, "b")));
+
+        assertEquals(List.of(5, 4, 3), keys(store.findSorted(new Document(), new Document("key", -1), 3, Document.class)));
+        assertEquals(List.of(2, 4, 1, 3, 5),
+                keys(store.findSorted(new Document(), new Document("group", 1).append("key", 1), 10, Document.class)));
+        // Keyset paging: the "after" bound goes in the filter
+        assertEquals(List.of(3, 4),
+                keys(store.findSorted(new Document("key", new Document("$gt", 2)), new Document("key", 1), 2, Document.class)));
+    }
+
+    @Test
+    void projectionKeepsOnlyTheListedFields() {
+        store.insert(doc(1, "a").append("name", "Hall").append("price", 100));
+
+        Document projection = new Document("key", 1).append("name", 1).append("_id", 0);
+        Document only = store.find(new Document("key", 1), projection, Document.class).get(0);
+        assertEquals(new Document("key", 1).append("name", "Hall"), only);
+
+        Document sorted = store.findSorted(new Document(), projection, new Document("key", 1), 1, Document.class).get(0);
+        assertEquals(only, sorted);
+    }
+
+    @Test
+    void maxIntIsZeroWhenEmpty() {
+        assertEquals(0, store.maxInt("key"));
+        insertKeys(3, 7, 5);
+        assertEquals(7, store.maxInt("key"));
+    }
+
+    // ==============================
+    // Helpers
+    // ==============================
+
+    private static Document doc(int key, String group) {
+        return new Document("key", key).append("group", group);
+    }
+
+    private void insertKeys(int... keys) {
+        for (int key : keys) store.insert(doc(key, "a"));
+    }
+
+    /** Keys of the matching documents, ascending. */
+    private List<Integer> findKeys(Document filter) {
+        List<Integer> out = keys(store.find(filter));
+        out.sort(null);
+        return out;
+    }
+
+    private static List<Integer> keys(List<Document> docs) {
+        List<Integer> out = new ArrayList<>();
+        for (Document d : docs) out.add(d.getInteger("key"));
+        return out;
+    }
+}
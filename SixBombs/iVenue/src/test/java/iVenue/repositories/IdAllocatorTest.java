@@ -0,0 +1,141 @@
+package iVenue.repositories;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * IdAllocator under contention, against the in-memory CounterStore.
+ * Every test allocates for its own collection name, so counters never carry over between tests.
+ */
+class IdAllocatorTest {
+
+    private static final int THREADS = 16;
+    /** Many block refills per thread: BLOCK_SIZE is 20 */
+    private static final int IDS_PER_THREAD = 20_000;
+
+    @BeforeAll
+    static void useInMemoryStore() {
+        // Surefire sets this too; repeated here for runs from the IDE
+        System.setProperty("ivenue.store", "memory");
+        assertTrue(Stores.isInMemory(), "tests must not run against MongoDB");
+    }
+
+    @Test
+    void concurrentAllocationHasNoDuplicatesOrGaps() throws Exception {
+        String collection = uniqueCollection();
+        List<int[]> perThread = allocateConcurrently(collection);
+
+        Set<Integer> seen = new HashSet<>();
+        for (int[] ids : perThread) {
+            int previous = 0;
+            for (int id : ids) {
+                assertTrue(seen.add(id), "duplicate id " + id);
+                // Each thread sees its own IDs increasing
+                assertTrue(id > previous, "id " + id + " after " + previous);
+                previous = id;
+            }
+        }
+
+        // One process uses every ID of the blocks it reserved, so together the IDs are exactly 1..total
+        int total = THREADS * IDS_PER_THREAD;
+        for (int id = 1; id <= total; id++) assertTrue(seen.contains(id), "gap at id " + id);
+
+        // ...and it reserved no block it did not need
+        long blocks = (total + IdAllocator.BLOCK_SIZE - 1) / IdAllocator.BLOCK_SIZE;
+        assertEquals(blocks * IdAllocator.BLOCK_SIZE, Stores.counters().current(collection));
+    }
+
+    @Test
+    void blocksTakenByAnotherClientAreNeverHandedOut() throws Exception {
+        String collection = uniqueCollection();
+        IdAllocator.next(collection, "id"); // seeds the counter before the other client starts
+
+        // Another app instance reserving blocks from the same counter while we allocate
+        List<long[]> foreignBlocks = new ArrayList<>();
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread otherClient = new Thread(() -> {
+            while (!stop.get()) {
+                long hi = Stores.counters().increment(collection, IdAllocator.BLOCK_SIZE);
+                synchronized (foreignBlocks) {
+                    foreignBlocks.add(new long[]{hi - IdAllocator.BLOCK_SIZE + 1, hi});
+                }
+                Thread.yield();
+            }
+        });
+        otherClient.start();
+        List<int[]> perThread;
+        try {
+            perThread = allocateConcurrently(collection);
+        } finally {
+            stop.set(true);
+            otherClient.join();
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        for (int[] ids : perThread) {
+            for (int id : ids) {
+                assertTrue(seen.add(id), "duplicate id " + id);
+                for (long[] block : foreignBlocks) {
+                    assertFalse(id >= block[0] && id <= block[1], "id " + id + " belongs to another client's block");
+                }
+            }
+        }
+    }
+
+    @Test
+    void startsAboveIdsWrittenBeforeTheCounterExisted() {
+        String collection = uniqueCollection();
+        Stores.get(collection).insert(new Document("id", 500));
+
+        assertEquals(501, IdAllocator.next(collection, "id"));
+        assertEquals(502, IdAllocator.next(collection, "id"));
+    }
+
+    // ==============================
+    // Helpers
+    // ==============================
+
+    /** THREADS threads released together, each taking IDS_PER_THREAD IDs; one array per thread, in order taken. */
+    private static List<int[]> allocateConcurrently(String collection) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<int[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    int[] ids = new int[IDS_PER_THREAD];
+                    for (int i = 0; i < ids.length; i++) ids[i] = IdAllocator.next(collection, "id");
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            List<int[]> out = new ArrayList<>();
+            for (Future<int[]> f : futures) out.add(f.get(30, TimeUnit.SECONDS));
+            return out;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static String uniqueCollection() {
+        return "idalloc_test_" + System.nanoTime();
+    }
+}
@@ -0,0 +1,14 @@
+package iVenue.repositories;
+
+import java.util.List;
+
+/**
+ * The DocumentStore contract against the in-memory engine.
+ */
+class InMemoryDocumentStoreTest extends DocumentStoreContract {
+
+    @Override
+    protected DocumentStore createStore(String name) {
+        return new InMemoryDocumentStore(name, List.of("key"), List.of("group"));
+    }
+}
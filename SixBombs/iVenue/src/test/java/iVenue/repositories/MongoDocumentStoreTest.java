@@ -0,0 +1,67 @@
+package iVenue.repositories;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The DocumentStore contract against a real MongoDB server.
+ * Skipped unless one answers at -Divenue.test.mongoUri (default mongodb://localhost:27017);
+ * collections go into a throwaway ivenue_contract_test database.
+ */
+class MongoDocumentStoreTest extends DocumentStoreContract {
+
+    private static MongoClient client;
+    private static MongoDatabase database;
+    private MongoCollection<Document> collection;
+
+    @BeforeAll
+    static void connect() {
+        String uri = System.getProperty("ivenue.test.mongoUri", "mongodb://localhost:27017");
+        MongoClientSettings settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .applyToClusterSettings(b -> b.serverSelectionTimeout(2, TimeUnit.SECONDS))
+                .build();
+        MongoClient candidate = MongoClients.create(settings);
+        try {
+            candidate.getDatabase("admin").runCommand(new Document("ping", 1));
+        } catch (RuntimeException e) {
+            candidate.close();
+            assumeTrue(false, "no MongoDB server at " + uri);
+        }
+        client = candidate;
+        database = client.getDatabase("ivenue_contract_test");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (client == null) return;
+        database.drop();
+        client.close();
+    }
+
+    @Override
+    protected DocumentStore createStore(String name) {
+        collection = database.getCollection(name);
+        collection.createIndex(new Document("key", 1), new IndexOptions().unique(true));
+        collection.createIndex(new Document("group", 1));
+        return new MongoDocumentStore(collection);
+    }
+
+    @AfterEach
+    void dropCollection() {
+        if (collection != null) collection.drop();
+    }
+}
@@ -0,0 +1,106 @@
+package iVenue.repositories.codecs;
+
+import iVenue.Benchmarks;
+import iVenue.models.Venue;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Decode throughput and allocation per row: typed VenueCodec versus the Document + hand mapping
+ * the services used before. Both start from the raw BSON bytes the driver receives.
+ */
+class ModelCodecsBenchmark {
+
+    private static final int ROWS = 50_000;
+    private static final DecoderContext CONTEXT = DecoderContext.builder().build();
+
+    private static List<RawBsonDocument> rows;
+    private static long sink;
+
+    @BeforeAll
+    static void encodeRows() {
+        rows = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            Document doc = new Document("_id", new ObjectId())
+                    .append("venueId", i)
+                    .append("name", "Venue " + i)
+                    .append("nameKey", "venue " + i)
+                    .append("description", "Function hall number " + i + " with stage, sound system and parking")
+                    .append("capacity", 50 + i % 450)
+                    .append("availability", i % 7 != 0)
+                    .append("location", "City " + i % 100)
+                    .append("price", (double) (i % 10) * 1000)
+                    .append("isFree", i % 10 == 0)
+                    .append("imageRef", "media:" + Integer.toHexString(i));
+            rows.add(RawBsonDocument.parse(doc.toJson()));
+        }
+    }
+
+    @Test
+    void typedCodecMatchesTheDocumentMapping() {
+        Codec<Venue> codec = ModelCodecs.REGISTRY.get(Venue.class);
+        DocumentCodec documents = new DocumentCodec();
+        for (RawBsonDocument raw : rows.subList(0, 1000)) {
+            Venue typed = codec.decode(reader(raw), CONTEXT);
+            Venue mapped = documentToVenue(documents.decode(reader(raw), CONTEXT));
+            assertEquals(mapped.getVenueId(), typed.getVenueId());
+            assertEquals(mapped.getName(), typed.getName());
+            assertEquals(mapped.getDescription(), typed.getDescription());
+            assertEquals(mapped.getCapacity(), typed.getCapacity());
+            assertEquals(mapped.isAvailability(), typed.isAvailability());
+            assertEquals(mapped.getLocation(), typed.getLocation());
+            assertEquals(mapped.getPrice(), typed.getPrice());
+        }
+    }
+
+    @Test
+    void typedCodecAllocatesLessPerRow() {
+        Codec<Venue> codec = ModelCodecs.REGISTRY.get(Venue.class);
+        DocumentCodec documents = new DocumentCodec();
+
+        Benchmarks.Result viaDocument = Benchmarks.measure("Document + hand mapping", ROWS, () -> {
+            for (RawBsonDocument raw : rows) sink += documentToVenue(documents.decode(reader(raw), CONTEXT)).getCapacity();
+        });
+        Benchmarks.Result typed = Benchmarks.measure("VenueCodec", ROWS, () -> {
+            for (RawBsonDocument raw : rows) sink += codec.decode(reader(raw), CONTEXT).getCapacity();
+        });
+
+        // Time depends on the machine; the intermediate Document's map, entries and boxed values do not
+        if (typed.allocatedBytes() >= 0) {
+            assertTrue(typed.bytesPerRow() < viaDocument.bytesPerRow(),
+                    "typed decode allocated " + typed.bytesPerRow() + " B/row, Document path " + viaDocument.bytesPerRow());
+        }
+    }
+
+    private static BsonBinaryReader reader(RawBsonDocument raw) {
+        ByteBuffer bytes = raw.getByteBuffer().asNIO();
+        return new BsonBinaryReader(bytes);
+    }
+
+    /** The mapping VenueAdmin did before the codecs (documentToVenue). */
+    private static Venue documentToVenue(Document doc) {
+        return new Venue(
+                doc.getInteger("venueId"),
+                doc.getString("name"),
+                doc.getString("description"),
+                doc.getInteger("capacity"),
+                doc.getBoolean("availability"),
+                doc.getString("location"),
+                doc.getDouble("price")
+        );
+    }
+}
@@ -0,0 +1,120 @@
+package iVenue.repositories.codecs;
+
+import iVenue.Benchmarks;
+import iVenue.models.BookingSummary;
+import iVenue.repositories.BookingSchema;
+import iVenue.repositories.InMemoryDocumentStore;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bytes transferred and decode cost of the "My Bookings" table on 50k bookings:
+ * full documents decoded as Document (before) versus the BookingSummaryCodec projection (after).
+ * The projected rows come from the in-memory engine's projection, which keeps the same fields the server would.
+ */
+class ProjectionBenchmark {
+
+    private static final int ROWS = 50_000;
+    private static final DecoderContext CONTEXT = DecoderContext.builder().build();
+
+    private static List<RawBsonDocument> full;
+    private static List<RawBsonDocument> projected;
+    private static long sink;
+
+    @BeforeAll
+    static void buildRows() {
+        InMemoryDocumentStore store = new InMemoryDocumentStore("bookings_bench", List.of("bookingId"), List.of("userId"));
+        List<Document> docs = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) docs.add(booking(i));
+        store.insertMany(docs);
+
+        full = new ArrayList<>(ROWS);
+        for (Document doc : store.find(new Document())) full.add(raw(doc));
+        projected = new ArrayList<>(ROWS);
+        for (Document doc : store.find(new Document(), ModelCodecs.projection(BookingSummaryCodec.FIELDS), Document.class)) {
+            projected.add(raw(doc));
+        }
+    }
+
+    @Test
+    void projectionKeepsOnlyTheTableColumns() {
+        assertEquals(ROWS, projected.size());
+        for (RawBsonDocument row : projected.subList(0, 100)) {
+            assertEquals(Set.of(BookingSummaryCodec.FIELDS), row.keySet());
+        }
+    }
+
+    @Test
+    void projectedRowsAreSmallerAndCheaperToDecode() {
+        long fullBytes = 0, projectedBytes = 0;
+        for (RawBsonDocument row : full) fullBytes += row.getByteBuffer().remaining();
+        for (RawBsonDocument row : projected) projectedBytes += row.getByteBuffer().remaining();
+        System.out.printf("Transferred: full %.1f MB (%d B/row), projected %.1f MB (%d B/row)%n",
+                fullBytes / 1e6, fullBytes / ROWS, projectedBytes / 1e6, projectedBytes / ROWS);
+
+        DocumentCodec documents = new DocumentCodec();
+        Codec<BookingSummary> summaries = ModelCodecs.REGISTRY.get(BookingSummary.class);
+        Benchmarks.Result before = Benchmarks.measure("full Document", ROWS, () -> {
+            for (RawBsonDocument row : full) sink += documents.decode(reader(row), CONTEXT).size();
+        });
+        Benchmarks.Result after = Benchmarks.measure("projected BookingSummary", ROWS, () -> {
+            for (RawBsonDocument row : projected) sink += summaries.decode(reader(row), CONTEXT).getBookingId();
+        });
+
+        // amenities and bookedBy are most of each booking
+        assertTrue(projectedBytes * 2 < fullBytes, "projected " + projectedBytes + " B, full " + fullBytes + " B");
+        if (after.allocatedBytes() >= 0) {
+            assertTrue(after.bytesPerRow() < before.bytesPerRow(),
+                    "projected decode allocated " + after.bytesPerRow() + " B/row, full " + before.bytesPerRow());
+        }
+    }
+
+    /** Same shape BookingPipeline writes: bookedBy profile and three amenity lines. */
+    private static Document booking(int id) {
+        List<Document> amenities = new ArrayList<>();
+        for (int a = 1; a <= 3; a++) {
+            amenities.add(new Document("amenityId", a).append("quantity", 2).append("price", 150.0 * a));
+        }
+        Document bookedBy = new Document("userId", id % 500)
+                .append("username", "customer" + id % 500)
+                .append("firstName", "First" + id % 500)
+                .append("lastName", "Last" + id % 500)
+                .append("contactNumber", "0917" + (1_000_000 + id % 500))
+                .append("email", "customer" + id % 500 + "@example.com");
+        return new Document("bookingId", id)
+                .append("venueId", id % 200)
+                .append("venueName", "Venue " + id % 200)
+                .append("userId", id % 500)
+                .append("bookedBy", bookedBy)
+                .append("date", new Date(1_700_000_000_000L + id * 86_400_000L))
+                .append("paymentStatus", "PAID")
+                .append("bookingStatus", "BOOKED")
+                .append("purpose", "Event " + id)
+                .append("amenities", amenities)
+                .append("price", 5000.0)
+                .append("isFree", false)
+                .append("schemaVersion", BookingSchema.CURRENT_VERSION);
+    }
+
+    private static RawBsonDocument raw(Document doc) {
+        return new RawBsonDocument(doc, new DocumentCodec());
+    }
+
+    private static BsonBinaryReader reader(RawBsonDocument raw) {
+        return new BsonBinaryReader(raw.getByteBuffer().asNIO());
+    }
+}
@@ -0,0 +1,131 @@
+package iVenue.services;
+
+import iVenue.Benchmarks;
+import iVenue.models.Booking;
+import iVenue.models.BookingStatus;
+import iVenue.models.PaymentStatus;
+import iVenue.models.Venue;
+import iVenue.repositories.CountingDocumentStore;
+import iVenue.repositories.InMemoryDocumentStore;
+import iVenue.repositories.Stores;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Admin update/delete: the find-then-write path the services used before versus the single call they
+ * make now (matched/deleted count, findOneAndDelete). The services write to a CountingDocumentStore, so
+ * the assertions are on calls per operation, i.e. round trips on MongoDB; the timings are printed only.
+ */
+class AdminWritePathBenchmark {
+
+    private static final int ROWS = 2_000;
+    /** Far above the IDs other tests allocate, since the services' search indexes are shared */
+    private static final int FIRST_ID = 1_000_000;
+
+    @BeforeAll
+    static void useInMemoryStore() {
+        System.setProperty("ivenue.store", "memory");
+        assertTrue(Stores.isInMemory(), "benchmarks must not run against MongoDB");
+    }
+
+    @Test
+    void venueUpdateAndDeleteTakeOneCall() {
+        CountingDocumentStore store = counting("venues_bench", "venueId");
+        VenueAdmin admin = new VenueAdmin(store);
+        Runnable seed = () -> seed(store, i -> new Document("venueId", FIRST_ID + i).append("name", "Hall " + i)
+                .append("capacity", 100).append("availability", true).append("price", 1000.0));
+        IntFunction<Venue> edited = i -> new Venue(FIRST_ID + i, "Hall " + i, "renovated", 150, true, "Pasig", 1200);
+
+        compare("venue update", store, seed,
+                i -> {
+                    Document filter = new Document("venueId", FIRST_ID + i);
+                    if (store.findOne(filter) != null) {
+                        store.updateOne(filter, new Document("$set", new Document("capacity", 150).append("price", 1200.0)));
+                    }
+                },
+                i -> assertTrue(admin.update(edited.apply(i))));
+        compare("venue delete", store, seed,
+                i -> {
+                    Document filter = new Document("venueId", FIRST_ID + i);
+                    if (store.findOne(filter) != null) store.deleteOne(filter);
+                },
+                i -> assertTrue(admin.delete(FIRST_ID + i)));
+    }
+
+    @Test
+    void bookingUpdateAndDeleteTakeOneCall() {
+        CountingDocumentStore store = counting("bookings_bench", "bookingId");
+        BookingAdmin admin = new BookingAdmin(store);
+        Runnable seed = () -> seed(store, i -> new Document("bookingId", FIRST_ID + i).append("venueId", FIRST_ID)
+                .append("paymentStatus", "UNPAID").append("bookingStatus", "PENDING").append("purpose", "bench")
+                .append("bookedBy", new Document("username", "bench")));
+        IntFunction<Booking> paid = i -> new Booking(FIRST_ID + i, null, null, PaymentStatus.PAID, BookingStatus.BOOKED, "bench", "bench");
+
+        compare("booking update", store, seed,
+                i -> {
+                    Document filter = new Document("bookingId", FIRST_ID + i);
+                    if (store.findOne(filter) != null) {
+                        store.updateOne(filter, new Document("$set", new Document("bookingStatus", "BOOKED").append("paymentStatus", "PAID")));
+                    }
+                },
+                i -> assertTrue(admin.update(paid.apply(i))));
+        compare("booking delete", store, seed,
+                i -> {
+                    Document filter = new Document("bookingId", FIRST_ID + i);
+                    if (store.findOne(filter) != null) store.deleteOne(filter);
+                },
+                i -> assertTrue(admin.delete(FIRST_ID + i)));
+    }
+
+    // ==============================
+    // Helpers
+    // ==============================
+
+    /** Count the calls of one pass of each path, then time both (the reseed is part of every timed run). */
+    private static void compare(String label, CountingDocumentStore store, Runnable seed, IntConsumer before, IntConsumer after) {
+        seed.run();
+        store.reset();
+        for (int i = 0; i < ROWS; i++) before.accept(i);
+        long beforeCalls = store.getCalls();
+
+        seed.run();
+        store.reset();
+        for (int i = 0; i < ROWS; i++) after.accept(i);
+        long afterCalls = store.getCalls();
+
+        Benchmarks.Result slow = Benchmarks.measure(label + ", find then write", ROWS, () -> {
+            seed.run();
+            for (int i = 0; i < ROWS; i++) before.accept(i);
+        });
+        Benchmarks.Result fast = Benchmarks.measure(label + ", one call", ROWS, () -> {
+            seed.run();
+            for (int i = 0; i < ROWS; i++) after.accept(i);
+        });
+        System.out.printf("%s: %.1f calls/op before, %.1f after (%.0f vs %.0f ns/op)%n", label,
+                (double) beforeCalls / ROWS, (double) afterCalls / ROWS, slow.nanosPerRow(), fast.nanosPerRow());
+
+        assertEquals(2L * ROWS, beforeCalls, label + " before");
+        assertEquals(ROWS, afterCalls, label + " after");
+    }
+
+    private static CountingDocumentStore counting(String name, String idField) {
+        return new CountingDocumentStore(new InMemoryDocumentStore(name, List.of(idField), List.of()));
+    }
+
+    /** Replace the store's contents with ROWS documents, without counting. */
+    private static void seed(CountingDocumentStore store, IntFunction<Document> doc) {
+        store.delegate().deleteMany(new Document());
+        List<Document> docs = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) docs.add(doc.apply(i));
+        store.delegate().insertMany(docs);
+    }
+}
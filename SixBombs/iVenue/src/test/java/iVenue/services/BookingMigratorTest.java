@@ -0,0 +1,88 @@
+package iVenue.services;
+
+import iVenue.repositories.BookingSchema;
+import iVenue.repositories.CountingDocumentStore;
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.InMemoryDocumentStore;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * BookingMigrator on a store of its own: rows are upcast in place, and a row written by someone else
+ * between the read and the guarded update is left as that writer stored it.
+ */
+class BookingMigratorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 5);
+
+    @Test
+    void legacyRowsAreRewrittenInTheCurrentShape() {
+        DocumentStore store = new InMemoryDocumentStore("bookings_migrate_" + System.nanoTime(), List.of("bookingId"), List.of());
+        store.insert(legacy(1, "2024-03-05"));
+        store.insert(legacy(2, "Tue Mar 05 14:30:00 PHT 2024"));
+        store.insert(legacy(3, "sometime in March"));
+        long migrated = BookingMigrator.getMigrated();
+
+        BookingMigrator.run(store);
+
+        assertEquals(migrated + 3, BookingMigrator.getMigrated());
+        for (int id = 1; id <= 3; id++) {
+            Document row = store.findOne(new Document("bookingId", id));
+            assertEquals(BookingSchema.CURRENT_VERSION, row.getInteger("schemaVersion"));
+            assertEquals(new Document("username", "ana"), row.get("bookedBy"));
+            assertEquals(1500.0, row.get("price"));
+        }
+        assertEquals(BookingSchema.toStoredDay(DAY), store.findOne(new Document("bookingId", 2)).get("date"));
+        Document unreadable = store.findOne(new Document("bookingId", 3));
+        assertFalse(unreadable.containsKey("date"));
+        assertEquals("sometime in March", unreadable.getString("legacyDate"));
+    }
+
+    @Test
+    void rowChangedConcurrentlyIsSkipped() {
+        Date concurrent = BookingSchema.toStoredDay(DAY.plusDays(7));
+        InMemoryDocumentStore backing = new InMemoryDocumentStore("bookings_race_" + System.nanoTime(), List.of("bookingId"), List.of());
+        // The first guarded update finds row 1 already rescheduled by another writer
+        DocumentStore racing = new CountingDocumentStore(backing) {
+            private boolean raced;
+
+            @Override
+            public long updateOne(Document filter, Document update) {
+                if (!raced && Integer.valueOf(1).equals(filter.get("bookingId"))) {
+                    raced = true;
+                    delegate().updateOne(new Document("bookingId", 1), new Document("$set", new Document("date", concurrent)));
+                }
+                return super.updateOne(filter, update);
+            }
+        };
+        backing.insert(legacy(1, "2024-03-05"));
+        backing.insert(legacy(2, "2024-03-05"));
+        long migrated = BookingMigrator.getMigrated();
+        long skipped = BookingMigrator.getSkipped();
+
+        BookingMigrator.run(racing);
+
+        assertEquals(skipped + 1, BookingMigrator.getSkipped());
+        assertEquals(migrated + 1, BookingMigrator.getMigrated());
+        Document raced = backing.findOne(new Document("bookingId", 1));
+        assertEquals(concurrent, raced.get("date"));
+        assertEquals("ana", raced.get("bookedBy"));
+        assertFalse(raced.containsKey("schemaVersion"));
+        assertEquals(BookingSchema.CURRENT_VERSION, backing.findOne(new Document("bookingId", 2)).getInteger("schemaVersion"));
+    }
+
+    /** Version 1 booking: no schemaVersion, username as text, integer price, date as text. */
+    private static Document legacy(int id, String date) {
+        return new Document("bookingId", id)
+                .append("bookedBy", "ana")
+                .append("price", 1500)
+                .append("date", date);
+    }
+}
@@ -0,0 +1,130 @@
+package iVenue.services;
+
+import iVenue.models.Customer;
+import iVenue.models.PaymentStatus;
+import iVenue.models.Venue;
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.IdAllocator;
+import iVenue.repositories.InMemoryDocumentStore;
+import iVenue.repositories.Stores;
+import iVenue.repositories.UserStore;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * p50/p99 of placing a booking on top of 10k existing ones: the five sequential calls the booking form
+ * made before (max-ID scan, venue lock, users read, insert, date/payment patch) versus BookingPipeline.submit
+ * (allocated ID, then venue read + reservation + insert in one transaction).
+ *
+ * Runs on the in-memory engine, so the numbers are the work per booking without network; on MongoDB
+ * every removed call is also one round trip less.
+ */
+class BookingPipelineBenchmark {
+
+    private static final int EXISTING = 10_000;
+    private static final int WARMUP = 50;
+    private static final int SAMPLES = 200;
+
+    private static Customer customer;
+    private static Venue venue;
+    /** Collections the old path wrote to, seeded like the shared ones so its max-ID scan sees as many rows */
+    private static DocumentStore oldBookings;
+    private static DocumentStore oldVenues;
+    private static DocumentStore oldUsers;
+
+    @BeforeAll
+    static void seed() {
+        System.setProperty("ivenue.store", "memory");
+        assertTrue(Stores.isInMemory(), "benchmarks must not run against MongoDB");
+
+        customer = UserStore.registerCustomer("bench" + System.nanoTime(), "secret1", "Bench", "Mark",
+                "09170000000", "bench@example.com");
+        VenueAdmin venues = new VenueAdmin();
+        String name = "Benchmark Hall " + System.nanoTime();
+        venues.create(new Venue(0, name, "hall", 200, true, "Pasig", 5000));
+        venue = venues.getAll().stream().filter(v -> v.getName().equals(name)).findFirst().orElseThrow();
+
+        oldBookings = new InMemoryDocumentStore("bookings_before", List.of("bookingId"), List.of("venueId", "userId"));
+        oldVenues = new InMemoryDocumentStore("venues_before", List.of("venueId"), List.of());
+        oldUsers = new InMemoryDocumentStore("users_before", List.of("userId"), List.of());
+        oldVenues.insert(new Document("venueId", venue.getVenueId()).append("availability", true));
+        oldUsers.insert(new Document("userId", customer.getUserId()).append("username", customer.getUsername())
+                .append("firstName", customer.getFirstName()).append("lastName", customer.getLastName()));
+
+        List<Document> existing = new ArrayList<>(EXISTING);
+        List<Document> copies = new ArrayList<>(EXISTING);
+        for (int i = 0; i < EXISTING; i++) {
+            Document doc = new Document("bookingId", IdAllocator.next("bookings", "bookingId"))
+                    .append("venueId", -1).append("userId", -1).append("bookingStatus", "FINISHED")
+                    .append("paymentStatus", "PAID").append("purpose", "seed");
+            existing.add(doc);
+            copies.add(new Document(doc));
+        }
+        Stores.get("bookings").insertMany(existing);
+        oldBookings.insertMany(copies);
+    }
+
+    @Test
+    void pipelineAgainstTheOldFiveCallPath() {
+        LatencyStats before = new LatencyStats("booking, five calls");
+        LatencyStats after = new LatencyStats("booking, pipeline");
+        LocalDate first = LocalDate.now().plusDays(400);
+
+        for (int i = 0; i < WARMUP + SAMPLES; i++) {
+            long start = System.nanoTime();
+            oldCreateBooking(first.plusDays(i));
+            if (i >= WARMUP) before.record(System.nanoTime() - start);
+        }
+        for (int i = 0; i < WARMUP + SAMPLES; i++) {
+            BookingCommand command = new BookingCommand(customer, venue, first.plusDays(i), PaymentStatus.PAID, List.of(), "bench");
+            long start = System.nanoTime();
+            BookingPipeline.submit(command);
+            if (i >= WARMUP) after.record(System.nanoTime() - start);
+        }
+
+        System.out.println(before);
+        System.out.println(after);
+        assertEquals(SAMPLES, before.getCount());
+        assertEquals(SAMPLES, after.getCount());
+        assertEquals(WARMUP + SAMPLES, Stores.get("bookings").find(new Document("venueId", venue.getVenueId())).size());
+    }
+
+    /** What Booking.createBookingGUI and the form's follow-up patch did per booking before the pipeline. */
+    private static void oldCreateBooking(LocalDate day) {
+        List<Document> last = oldBookings.findSorted(new Document(), new Document("bookingId", -1), 1, Document.class);
+        int bookingId = (last.isEmpty() ? 0 : last.get(0).getInteger("bookingId")) + 1;
+
+        oldVenues.updateOne(new Document("venueId", venue.getVenueId()),
+                new Document("$set", new Document("availability", false)));
+
+        Document user = oldUsers.findOne(new Document("userId", customer.getUserId()));
+        Document bookedBy = new Document("userId", customer.getUserId())
+                .append("username", customer.getUsername())
+                .append("firstName", user.getString("firstName"))
+                .append("lastName", user.getString("lastName"));
+
+        oldBookings.insert(new Document("bookingId", bookingId)
+                .append("venueId", venue.getVenueId())
+                .append("venueName", venue.getName())
+                .append("userId", customer.getUserId())
+                .append("bookedBy", bookedBy)
+                .append("date", new Date().toString())
+                .append("paymentStatus", "UNPAID")
+                .append("bookingStatus", "BOOKED")
+                .append("purpose", "bench"));
+
+        // BookingFormsPanel then patched in the chosen day and payment
+        oldBookings.updateOne(new Document("bookingId", bookingId),
+                new Document("$set", new Document("date", Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant())).append("paymentStatus", "PAID")));
+    }
+}
@@ -0,0 +1,124 @@
+package iVenue.services;
+
+import iVenue.models.Booking;
+import iVenue.models.BookingStatus;
+import iVenue.models.Customer;
+import iVenue.models.PaymentStatus;
+import iVenue.models.Venue;
+import iVenue.repositories.Stores;
+import iVenue.repositories.Transactions;
+import iVenue.repositories.UserStore;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cancelling, finishing or deleting a booking frees its day in the same transaction, so the day
+ * can be booked again right away. Every test books its own venue on the in-memory store.
+ */
+class BookingReleaseTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(10);
+
+    private static Customer customer;
+    private Venue venue;
+
+    @BeforeAll
+    static void useInMemoryStore() {
+        System.setProperty("ivenue.store", "memory");
+        assertTrue(Stores.isInMemory(), "tests must not run against MongoDB");
+        customer = UserStore.registerCustomer("release" + System.nanoTime(), "secret1", "Rel", "Ease",
+                "09170000000", "release@example.com");
+    }
+
+    @BeforeEach
+    void freshVenue() {
+        VenueAdmin venues = new VenueAdmin();
+        String name = "Release Hall " + System.nanoTime();
+        assertTrue(venues.create(new Venue(0, name, "test hall", 100, true, "Pasig", 1000)));
+        venue = venues.getAll().stream().filter(v -> v.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void cancelledBookingFreesItsDay() {
+        Booking booking = book();
+
+        assertTrue(Booking.cancelBookingGUI(customer, booking.getBookingId()));
+
+        assertDayFreeAndBookableAgain();
+    }
+
+    @Test
+    void finishedBookingFreesItsDay() {
+        Booking booking = book();
+
+        assertTrue(Booking.finishBookingGUI(booking.getBookingId()));
+
+        assertDayFreeAndBookableAgain();
+    }
+
+    @Test
+    void adminStatusChangeToCancelledFreesItsDay() {
+        Booking booking = book();
+        booking.setBookingStatus(BookingStatus.CANCELLED);
+        booking.setPaymentStatus(PaymentStatus.CANCELLED);
+
+        assertTrue(new BookingAdmin().update(booking));
+
+        assertEquals("CANCELLED", bookingDoc(booking.getBookingId()).getString("bookingStatus"));
+        assertDayFreeAndBookableAgain();
+    }
+
+    @Test
+    void adminDeleteFreesItsDay() {
+        Booking booking = book();
+
+        assertTrue(new BookingAdmin().delete(booking.getBookingId()));
+
+        assertDayFreeAndBookableAgain();
+    }
+
+    @Test
+    void failedTransactionKeepsBookingAndDay() {
+        Booking booking = book();
+
+        assertThrows(IllegalStateException.class, () -> Transactions.inTransaction(() -> {
+            ReservationEngine.deleteAndRelease(Stores.get("bookings"), new Document("bookingId", booking.getBookingId()));
+            throw new IllegalStateException("fails after the delete");
+        }));
+
+        assertNotNull(bookingDoc(booking.getBookingId()), "booking was not restored");
+        assertFalse(ReservationEngine.isFree(venue.getVenueId(), DAY, DAY.plusDays(1)));
+        assertEquals(1, Stores.get("reservations").find(new Document("bookingId", booking.getBookingId())).size());
+    }
+
+    // ==============================
+    // Helpers
+    // ==============================
+
+    private Booking book() {
+        Booking booking = BookingPipeline.submit(new BookingCommand(customer, venue, DAY, PaymentStatus.UNPAID, List.of(), "test"));
+        assertFalse(ReservationEngine.isFree(venue.getVenueId(), DAY, DAY.plusDays(1)));
+        return booking;
+    }
+
+    private void assertDayFreeAndBookableAgain() {
+        assertTrue(ReservationEngine.isFree(venue.getVenueId(), DAY, DAY.plusDays(1)));
+        assertFalse(OccupancyCalendar.forVenue(venue.getVenueId(), DAY, DAY).isBooked(DAY));
+        assertNotNull(BookingPipeline.submit(new BookingCommand(customer, venue, DAY, PaymentStatus.UNPAID, List.of(), "again")));
+    }
+
+    private static Document bookingDoc(int bookingId) {
+        return Stores.get("bookings").findOne(new Document("bookingId", bookingId));
+    }
+}
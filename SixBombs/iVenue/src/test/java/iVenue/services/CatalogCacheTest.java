@@ -0,0 +1,123 @@
+package iVenue.services;
+
+import iVenue.models.Venue;
+import iVenue.repositories.Stores;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CatalogCache over a plain list of venues, counting the loads it makes.
+ * Every test uses its own catalog name, so version stamps never carry over between tests.
+ */
+class CatalogCacheTest {
+
+    private final List<Venue> table = new ArrayList<>();
+    private final AtomicInteger fullLoads = new AtomicInteger();
+    private final AtomicInteger idLoads = new AtomicInteger();
+
+    @BeforeAll
+    static void useInMemoryStore() {
+        System.setProperty("ivenue.store", "memory");
+        assertTrue(Stores.isInMemory(), "tests must not run against MongoDB");
+    }
+
+    @Test
+    void editingAReturnedRowDoesNotChangeTheCache() {
+        seed(3);
+        CatalogCache<Venue> cache = cache(10);
+
+        cache.getById(1).setName("edited by one caller");
+        cache.getAll().get(1).setCapacity(-1);
+
+        assertEquals("Venue 1", cache.getById(1).getName());
+        assertEquals(102, cache.getAll().get(1).getCapacity());
+        assertEquals(1, fullLoads.get());
+    }
+
+    @Test
+    void editingALruRowDoesNotChangeTheCache() {
+        seed(5);
+        CatalogCache<Venue> cache = cache(2);
+        assertEquals(5, cache.getAll().size());
+        assertTrue(cache.isOverCapacity());
+
+        cache.getById(4).setName("edited by one caller");
+
+        assertEquals("Venue 4", cache.getById(4).getName());
+        assertEquals(1, idLoads.get());
+    }
+
+    @Test
+    void writeKeepsOverCapacityAndTheOtherLruRows() {
+        seed(5);
+        CatalogCache<Venue> cache = cache(2);
+        cache.getAll();
+        cache.getById(1);
+        cache.getById(2);
+        int loads = fullLoads.get();
+
+        table.get(0).setName("renamed");
+        cache.invalidate(1);
+
+        assertTrue(cache.isOverCapacity());
+        assertEquals("renamed", cache.getById(1).getName());
+        assertEquals("Venue 2", cache.getById(2).getName());
+        // Only the written row was read again, and no full load was needed to find the catalog too large
+        assertEquals(3, idLoads.get());
+        assertEquals(loads, fullLoads.get());
+    }
+
+    @Test
+    void shrunkCatalogIsCachedWholeAgain() {
+        seed(5);
+        CatalogCache<Venue> cache = cache(2);
+        cache.getAll();
+        assertTrue(cache.isOverCapacity());
+
+        table.subList(2, 5).clear();
+        cache.invalidate(3);
+        assertEquals(2, cache.getAll().size());
+        assertFalse(cache.isOverCapacity());
+
+        int loads = fullLoads.get();
+        cache.getAll();
+        cache.getById(1);
+        assertEquals(loads + 1, fullLoads.get()); // one load for the snapshot, then served from it
+    }
+
+    // ==============================
+    // Helpers
+    // ==============================
+
+    private void seed(int venues) {
+        for (int i = 1; i <= venues; i++) table.add(new Venue(i, "Venue " + i, "hall", 100 + i, true, "Pasig", 1000));
+    }
+
+    private CatalogCache<Venue> cache(int maxEntries) {
+        return new CatalogCache<>("test" + System.nanoTime(), this::loadAll, this::loadByIds,
+                Venue::getVenueId, Venue::new, maxEntries, 60_000);
+    }
+
+    private List<Venue> loadAll() {
+        fullLoads.incrementAndGet();
+        List<Venue> out = new ArrayList<>();
+        for (Venue v : table) out.add(new Venue(v));
+        return out;
+    }
+
+    private List<Venue> loadByIds(Collection<Integer> ids) {
+        idLoads.incrementAndGet();
+        List<Venue> out = new ArrayList<>();
+        for (Venue v : table) if (ids.contains(v.getVenueId())) out.add(new Venue(v));
+        return out;
+    }
+}
@@ -0,0 +1,104 @@
+package iVenue.services;
+
+import iVenue.repositories.Stores;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * OccupancyCalendar kept in step by ReservationEngine, on the in-memory store.
+ * Every test works on a venue ID of its own, so no calendar is cached before the test starts.
+ */
+class OccupancyCalendarTest {
+
+    private static final AtomicInteger IDS = new AtomicInteger(800_000);
+    private static final LocalDate DAY = LocalDate.of(2032, 7, 4);
+
+    private int venueId;
+
+    @BeforeAll
+    static void useInMemoryStore() {
+        System.setProperty("ivenue.store", "memory");
+        assertTrue(Stores.isInMemory(), "tests must not run against MongoDB");
+    }
+
+    @BeforeEach
+    void freshVenue() {
+        venueId = IDS.incrementAndGet();
+    }
+
+    @Test
+    void reserveSetsAndReleaseClearsTheBit() {
+        assertFalse(calendar().isBooked(DAY)); // builds and stores the year
+        int bookingId = IDS.incrementAndGet();
+
+        ReservationEngine.reserve(venueId, DAY, DAY.plusDays(1), bookingId);
+        assertTrue(calendar().isBooked(DAY));
+        assertFalse(calendar().isBooked(DAY.plusDays(1)));
+        assertTrue(storedBit(DAY));
+
+        ReservationEngine.release(bookingId);
+        assertFalse(calendar().isBooked(DAY));
+        assertFalse(storedBit(DAY));
+    }
+
+    @Test
+    void yearBuiltLaterIncludesEarlierReservations() {
+        ReservationEngine.reserve(venueId, DAY, DAY.plusDays(2), IDS.incrementAndGet());
+
+        OccupancyCalendar calendar = calendar();
+        assertTrue(calendar.isBooked(DAY));
+        assertTrue(calendar.isBooked(DAY.plusDays(1)));
+        assertTrue(storedBit(DAY.plusDays(1)));
+    }
+
+    @Test
+    void anotherInstancesBookingShowsOnceTheCachedYearExpires() {
+        assertFalse(calendar().isBooked(DAY));
+
+        // Another app instance sets the bit in the stored calendar
+        int bit = DAY.getDayOfYear() - 1;
+        Stores.get("venue_calendars").updateOne(new Document("key", venueId + ":" + DAY.getYear()),
+                new Document("$bit", new Document("w" + (bit >>> 6), new Document("or", 1L << bit))));
+        assertFalse(calendar().isBooked(DAY), "cached year within the TTL is not read again");
+
+        long ttl = OccupancyCalendar.ttlMillis;
+        OccupancyCalendar.ttlMillis = 0;
+        try {
+            sleepPastNow();
+            assertTrue(calendar().isBooked(DAY));
+        } finally {
+            OccupancyCalendar.ttlMillis = ttl;
+        }
+    }
+
+    // ==============================
+    // Helpers
+    // ==============================
+
+    private OccupancyCalendar calendar() {
+        return OccupancyCalendar.forVenue(venueId, DAY, DAY.plusDays(30));
+    }
+
+    private boolean storedBit(LocalDate day) {
+        Document doc = Stores.get("venue_calendars").findOne(new Document("key", venueId + ":" + day.getYear()));
+        int bit = day.getDayOfYear() - 1;
+        return doc != null && (doc.getLong("w" + (bit >>> 6)) & (1L << bit)) != 0;
+    }
+
+    /** Let the clock move on, so a TTL of 0 has expired. */
+    private static void sleepPastNow() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
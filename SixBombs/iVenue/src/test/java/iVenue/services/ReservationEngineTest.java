@@ -0,0 +1,106 @@
+package iVenue.services;
+
+import iVenue.repositories.BookingSchema;
+import iVenue.repositories.Stores;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ReservationEngine on the in-memory store. Reservations do not need the venue to exist, so every
+ * test works on a venue ID of its own that no other test (or earlier load) has touched.
+ */
+class ReservationEngineTest {
+
+    private static final AtomicInteger IDS = new AtomicInteger(700_000);
+    private static final LocalDate DAY = LocalDate.of(2031, 3, 10);
+
+    private int venueId;
+
+    @BeforeAll
+    static void useInMemoryStore() {
+        System.setProperty("ivenue.store", "memory");
+        assertTrue(Stores.isInMemory(), "tests must not run against MongoDB");
+    }
+
+    @BeforeEach
+    void freshVenue() {
+        venueId = IDS.incrementAndGet();
+    }
+
+    @Test
+    void doubleBookingOfADayIsRejected() {
+        int first = IDS.incrementAndGet();
+        ReservationEngine.reserve(venueId, DAY, DAY.plusDays(1), first);
+
+        assertThrows(IllegalStateException.class,
+                () -> ReservationEngine.reserve(venueId, DAY, DAY.plusDays(1), IDS.incrementAndGet()));
+        assertThrows(IllegalStateException.class,
+                () -> ReservationEngine.reserve(venueId, DAY.minusDays(1), DAY.plusDays(2), IDS.incrementAndGet()));
+
+        List<Document> held = Stores.get("reservations").find(new Document("venueId", venueId));
+        assertEquals(1, held.size());
+        assertEquals(first, held.get(0).getInteger("bookingId"));
+        // The days either side are still free
+        ReservationEngine.reserve(venueId, DAY.plusDays(1), DAY.plusDays(2), IDS.incrementAndGet());
+    }
+
+    @Test
+    void dayTakenThroughAnotherInstanceIsRejectedByTheUniqueKey() {
+        assertTrue(ReservationEngine.isFree(venueId, DAY, DAY.plusDays(1))); // calendar loaded, day free
+        Stores.get("reservations").insert(new Document("key", venueId + ":" + DAY).append("venueId", venueId)
+                .append("day", DAY.toString()).append("bookingId", IDS.incrementAndGet()));
+
+        assertThrows(IllegalStateException.class,
+                () -> ReservationEngine.reserve(venueId, DAY, DAY.plusDays(1), IDS.incrementAndGet()));
+        // The stale calendar was dropped and reloaded with the other instance's reservation
+        assertFalse(ReservationEngine.isFree(venueId, DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    void releaseFreesTheDay() {
+        int bookingId = IDS.incrementAndGet();
+        ReservationEngine.reserve(venueId, DAY, DAY.plusDays(2), bookingId);
+        assertEquals(Set.of(DAY, DAY.plusDays(1)), ReservationEngine.bookedDays(venueId, DAY.minusDays(5), DAY.plusDays(5)));
+
+        assertTrue(ReservationEngine.release(bookingId));
+
+        assertTrue(ReservationEngine.isFree(venueId, DAY, DAY.plusDays(2)));
+        assertTrue(ReservationEngine.bookedDays(venueId, DAY.minusDays(5), DAY.plusDays(5)).isEmpty());
+        assertTrue(Stores.get("reservations").find(new Document("bookingId", bookingId)).isEmpty());
+        assertFalse(ReservationEngine.release(bookingId));
+        ReservationEngine.reserve(venueId, DAY, DAY.plusDays(1), IDS.incrementAndGet());
+    }
+
+    @Test
+    void backfillSkipsClosedStatuses() {
+        // Bookings made before reservations existed, at a venue whose calendar is not loaded yet
+        insertLegacyBooking(DAY, "BOOKED");
+        insertLegacyBooking(DAY.plusDays(1), "CANCELLED");
+        insertLegacyBooking(DAY.plusDays(2), "finished"); // older rows may differ in case
+        insertLegacyBooking(DAY.plusDays(3), "PENDING");
+
+        assertEquals(Set.of(DAY, DAY.plusDays(3)), ReservationEngine.bookedDays(venueId, DAY, DAY.plusDays(7)));
+        assertEquals(2, Stores.get("reservations").find(new Document("venueId", venueId)).size());
+    }
+
+    private void insertLegacyBooking(LocalDate day, String status) {
+        Stores.get("bookings").insert(new Document("bookingId", IDS.incrementAndGet())
+                .append("venueId", venueId)
+                .append("date", BookingSchema.toStoredDay(day))
+                .append("paymentStatus", "UNPAID")
+                .append("bookingStatus", status)
+                .append("schemaVersion", BookingSchema.CURRENT_VERSION));
+    }
+}
@@ -0,0 +1,92 @@
+package iVenue.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SearchIndex over a plain list: ranking tiers, field weights, and writes applied to a loaded index.
+ */
+class SearchIndexTest {
+
+    private record Item(int id, String name, String location) {}
+
+    private final List<Item> rows = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private SearchIndex<Item> index;
+
+    @BeforeEach
+    void buildIndex() {
+        rows.add(new Item(1, "Garden Hall", "Makati"));
+        rows.add(new Item(2, "Hall", "Makati"));
+        rows.add(new Item(3, "Hallway Room", "Makati"));
+        rows.add(new Item(4, "Townhall", "Makati"));
+        rows.add(new Item(6, "Annex", "Hall District"));
+        rows.add(new Item(7, "Gardn Pavilion", "Makati"));
+        index = new SearchIndex<>("items", Item::id, () -> {
+            loads.incrementAndGet();
+            return List.copyOf(rows);
+        }, List.of(Item::name, Item::location));
+    }
+
+    @Test
+    void exactThenPrefixThenWordStartThenSubstring() {
+        // A prefix in the second field sits between a word start and a substring in the first
+        assertEquals(List.of(2, 3, 1, 6, 4), ids(index.search("hall", 10)));
+        assertEquals(List.of(2, 3), ids(index.search("  HALL ", 2)));
+    }
+
+    @Test
+    void nearMatchesRankBelowRealOnes() {
+        assertEquals(List.of(1, 7), ids(index.search("garden", 10)));
+    }
+
+    @Test
+    void everyQueryWordHasToMatch() {
+        assertEquals(List.of(1, 7), ids(index.search("garden makati", 10)));
+        assertTrue(index.search("garden cebu", 10).isEmpty());
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+
+    @Test
+    void putAndRemoveAfterLoadAreSearchable() {
+        assertEquals(6, index.size());
+
+        index.put(new Item(8, "Grand Hall", "Taguig"));
+        index.put(new Item(2, "Ballroom", "Makati"));
+        index.remove(3);
+
+        assertEquals(List.of(8), ids(index.search("grand", 10)));
+        assertEquals(List.of(2), ids(index.search("ballroom", 10)));
+        // Equal tiers go to the shorter name; "ballroom" is now one typo away from "hall"
+        assertEquals(List.of(8, 1, 6, 4, 2), ids(index.search("hall", 10)));
+        assertNull(index.get(3));
+        assertEquals(6, index.size());
+        // Kept current in place, never read from the list again
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidateReloads() {
+        index.search("hall", 10);
+        rows.add(new Item(9, "Sky Hall", "Pasig"));
+
+        assertTrue(index.search("sky", 10).isEmpty());
+        index.invalidate();
+        assertEquals(List.of(9), ids(index.search("sky", 10)));
+        assertEquals(2, loads.get());
+    }
+
+    private static List<Integer> ids(List<Item> items) {
+        List<Integer> out = new ArrayList<>();
+        for (Item item : items) out.add(item.id());
+        return out;
+    }
+}
@@ -0,0 +1,98 @@
+package iVenue.services;
+
+import iVenue.repositories.CountingDocumentStore;
+import iVenue.repositories.DocumentStore;
+import iVenue.repositories.InMemoryDocumentStore;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * WriteBehindQueue on an in-memory store of its own: flush() and shutdown() only return once the
+ * queue is written, and a batch that hits a duplicate key still counts as written.
+ */
+class WriteBehindQueueTest {
+
+    private WriteBehindQueue queue;
+
+    @AfterEach
+    void stopFlusher() {
+        if (queue != null) queue.shutdown(10_000);
+    }
+
+    @Test
+    void flushWaitsForEverythingSubmitted() {
+        DocumentStore store = newStore();
+        List<Document> notified = Collections.synchronizedList(new ArrayList<>());
+        queue = new WriteBehindQueue(store, 10_000, notified::addAll);
+        int records = WriteBehindQueue.BATCH_SIZE * 2 + 100;
+
+        for (int i = 1; i <= records; i++) queue.submit(record(i));
+        queue.flush();
+
+        assertEquals(records, store.find(new Document()).size());
+        assertEquals(records, queue.getWritten());
+        assertEquals(0, queue.getFailed());
+        assertTrue(queue.getBatches() >= 3, queue.getBatches() + " batches");
+        assertEquals(records, notified.size());
+        assertEquals(0, queue.getQueueDepth());
+    }
+
+    @Test
+    void shutdownDrainsTheQueue() {
+        InMemoryDocumentStore backing = newStore();
+        // A slow store, so most records are still queued when shutdown starts
+        DocumentStore slow = new CountingDocumentStore(backing) {
+            @Override
+            public void insertMany(List<Document> docs) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.insertMany(docs);
+            }
+        };
+        queue = new WriteBehindQueue(slow, 10_000, null);
+        int records = WriteBehindQueue.BATCH_SIZE * 4;
+
+        for (int i = 1; i <= records; i++) queue.submit(record(i));
+        queue.shutdown(10_000);
+
+        assertEquals(records, backing.find(new Document()).size());
+        assertEquals(records, queue.getWritten());
+        assertEquals(0, queue.getQueueDepth());
+        assertThrows(IllegalStateException.class, () -> queue.submit(record(records + 1)));
+    }
+
+    @Test
+    void batchWithADuplicateKeyCountsAsWritten() {
+        InMemoryDocumentStore store = newStore();
+        store.insert(record(2));
+        queue = new WriteBehindQueue(store, 10_000, null);
+
+        for (int i = 1; i <= 3; i++) queue.submit(record(i));
+        queue.flush();
+
+        // The duplicate is already stored, the rest of the batch went in around it
+        assertEquals(3, queue.getWritten());
+        assertEquals(0, queue.getFailed());
+        assertEquals(3, store.find(new Document()).size());
+    }
+
+    private static InMemoryDocumentStore newStore() {
+        return new InMemoryDocumentStore("history_" + System.nanoTime(), List.of("entryId"), List.of());
+    }
+
+    private static Document record(int id) {
+        return new Document("entryId", id).append("action", "BOOKED");
+    }
+}
@@ -0,0 +1,169 @@
+package iVenue.ui;
+
+import iVenue.Benchmarks;
+import iVenue.models.Admin;
+import iVenue.models.Venue;
+import iVenue.services.VenueAdmin;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Opens VenuesPanel on 10k venues and scrolls through all of them: time to the first page, time to page
+ * through the catalog, scene-graph size and heap. The grid is virtualized, so the number of cards must
+ * stay at what fits on screen however many venues were scrolled past.
+ *
+ * Not headless: it needs a real JavaFX display and is skipped when the toolkit cannot start, so a plain
+ * mvn test -Pbenchmarks on a machine without one reports it as skipped. To measure on such a machine,
+ * run it under a virtual X server:
+ *
+ *   xvfb-run -a mvn test -Pbenchmarks -Dtest=VenuesPanelBenchmark
+ */
+class VenuesPanelBenchmark {
+
+    private static final int VENUES = 10_000;
+    /** Grid rows of two cards a 800 px window can show, with room for the cells ListView keeps around */
+    private static final int MAX_CARDS = 2 * 12;
+
+    private static Stage stage;
+
+    @BeforeAll
+    static void startToolkitAndSeed() throws Exception {
+        System.setProperty("ivenue.store", "memory");
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyRunning) {
+            started.countDown();
+        } catch (UnsupportedOperationException | UnsatisfiedLinkError e) {
+            assumeTrue(false, "no JavaFX display: " + e.getMessage());
+        }
+        assertTrue(started.await(10, TimeUnit.SECONDS), "JavaFX did not start");
+        Platform.setImplicitExit(false);
+
+        VenueAdmin venues = new VenueAdmin();
+        for (int i = 1; i <= VENUES; i++) {
+            venues.create(new Venue(0, "Venue " + i, "Function hall number " + i, 50 + i % 450,
+                    true, "City " + i % 100, (i % 10) * 1000));
+        }
+    }
+
+    @AfterAll
+    static void closeStage() throws Exception {
+        if (stage != null) onFx(() -> {
+            stage.close();
+            return null;
+        });
+    }
+
+    @Test
+    void cardCountStaysFlatWhileScrollingThroughTheCatalog() throws Exception {
+        long heapBefore = Benchmarks.usedHeapAfterGc();
+
+        long start = System.nanoTime();
+        ListView<?> grid = onFx(() -> {
+            VBox panel = VenuesPanel.get(new Admin());
+            stage = new Stage();
+            stage.setScene(new Scene(panel, 1200, 800));
+            stage.show();
+            return findGrid(panel);
+        });
+        waitFor(() -> onFxQuietly(() -> !grid.getItems().isEmpty()), 30);
+        long firstPageNanos = System.nanoTime() - start;
+        int cardsOnFirstPage = onFx(() -> {
+            stage.getScene().getRoot().layout();
+            return count(stage.getScene().getRoot(), "VenueCard");
+        });
+
+        // Scrolling near the end of what is loaded pulls in the next page
+        start = System.nanoTime();
+        int rows = (VENUES + 1) / 2;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (onFx(() -> grid.getItems().size()) < rows) {
+            if (System.nanoTime() > deadline) fail("only " + onFx(() -> grid.getItems().size()) + " of " + rows + " rows loaded");
+            onFx(() -> {
+                grid.scrollTo(grid.getItems().size() - 1);
+                grid.layout();
+                return null;
+            });
+            Thread.sleep(20);
+        }
+        long scrollNanos = System.nanoTime() - start;
+
+        int cardsAtEnd = onFx(() -> {
+            stage.getScene().getRoot().applyCss();
+            stage.getScene().getRoot().layout();
+            return count(stage.getScene().getRoot(), "VenueCard");
+        });
+        int nodesAtEnd = onFx(() -> count(stage.getScene().getRoot(), null));
+        long heapAfter = Benchmarks.usedHeapAfterGc();
+
+        System.out.printf("VenuesPanel, %d venues: first page %.1f ms, all pages %.1f ms, "
+                        + "%d nodes (%d cards, %d on the first page), heap +%.1f MB%n",
+                VENUES, firstPageNanos / 1e6, scrollNanos / 1e6, nodesAtEnd, cardsAtEnd, cardsOnFirstPage,
+                (heapAfter - heapBefore) / 1e6);
+
+        assertEquals(rows, onFx(() -> grid.getItems().size()));
+        assertTrue(cardsAtEnd <= MAX_CARDS, cardsAtEnd + " cards for " + VENUES + " venues");
+    }
+
+    // ==============================
+    // Helpers
+    // ==============================
+
+    private static ListView<?> findGrid(Parent root) {
+        for (Node child : root.getChildrenUnmodifiable()) {
+            if (child instanceof ListView<?> list) return list;
+        }
+        throw new AssertionError("VenuesPanel has no ListView");
+    }
+
+    /** Nodes in the tree, or only those whose class has the given simple name. */
+    private static int count(Node node, String simpleName) {
+        int n = simpleName == null || node.getClass().getSimpleName().equals(simpleName) ? 1 : 0;
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) n += count(child, simpleName);
+        }
+        return n;
+    }
+
+    private static <T> T onFx(Callable<T> work) throws Exception {
+        FutureTask<T> task = new FutureTask<>(work);
+        Platform.runLater(task);
+        return task.get(30, TimeUnit.SECONDS);
+    }
+
+    private static boolean onFxQuietly(Callable<Boolean> check) {
+        try {
+            return onFx(check);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("timed out after " + seconds + " s");
+            Thread.sleep(20);
+        }
+    }
+}